@@ -119,6 +119,7 @@ if [ "$SETUP_INFRA" = true ]; then
     kubectl create configmap grafana-dashboards \
       --namespace springboot-graalvm \
       --from-file=jvm-micrometer.json=k8s/infra/monitoring/provisioning/dashboards/jvm-micrometer.json \
+      --from-file=product-service.json=k8s/infra/monitoring/provisioning/dashboards/product-service.json \
       --dry-run=client -o yaml | kubectl apply -f -
     
     kubectl apply -f k8s/infra/monitoring/grafana.yaml
@@ -145,6 +146,7 @@ fi
 chmod +x ./scripts/build/gvm.aot.sh
 chmod +x ./scripts/build/gvm.jit.sh
 chmod +x ./scripts/reporting/get_startup_time.sh
+chmod +x ./scripts/reporting/get_first_request_time.sh
 chmod +x ./k8s/deploy.sh
 
 # Docker login once before parallel builds (avoids TTY issues)
@@ -176,6 +178,13 @@ fi
 
 echo "✅ Both AOT and JIT builds completed successfully!"
 
+# Restart each app once more to time its first request (before chaos experiments start)
+echo "⏱️ Measuring time to first request..."
+mkdir -p report
+./scripts/reporting/get_first_request_time.sh springboot-graalvm-aot > report/first_request_time_aot.txt
+./scripts/reporting/get_first_request_time.sh springboot-graalvm-jit > report/first_request_time_jit.txt
+echo "  AOT: $(cat report/first_request_time_aot.txt) ms, JIT: $(cat report/first_request_time_jit.txt) ms"
+
 # Apply Kubernetes-level chaos if requested
 if [ "$CHAOS_MODE" = true ]; then
     echo ""
@@ -0,0 +1,117 @@
+#!/bin/bash
+
+# Profile-guided optimization pipeline for the native image, run locally
+# Usage: ./scripts/build/native_pgo.sh
+#
+# 1. Builds the JVM jar, a plain native binary and an instrumented native binary
+# 2. Runs the create/get/list/search mix against the instrumented binary and
+#    keeps the profile it writes on exit in pgo/default.iprof
+# 3. Rebuilds the native binary with that profile
+# 4. Runs the same mix against plain AOT, PGO AOT and JIT and writes
+#    report/pgo_comparison.md (see scripts/reporting/compare_pgo.sh)
+#
+# Needs Oracle GraalVM as JAVA_HOME (PGO is not part of GraalVM Community) and a
+# PostgreSQL reachable at SPRING_R2DBC_URL. G1 is used where native image
+# supports it (Linux on amd64 and aarch64), the serial GC elsewhere.
+
+set -e
+
+TRAIN_DURATION=${TRAIN_DURATION:-PT2M}
+WARMUP_DURATION=${WARMUP_DURATION:-PT1M}
+BENCH_DURATION=${BENCH_DURATION:-PT2M}
+VUS=${VUS:-100}
+PORT=8080
+URL="http://localhost:${PORT}/api/products"
+WORK_DIR="target/pgo"
+BINARY="target/springboot-graalvm-lambda"
+
+export SPRING_R2DBC_URL=${SPRING_R2DBC_URL:-r2dbc:postgresql://localhost:5432/productdb}
+
+if ! native-image --version 2>/dev/null | grep -q "Oracle GraalVM"; then
+    echo "❌ Profile-guided optimization needs Oracle GraalVM; native-image reports:"
+    native-image --version 2>&1 | head -1
+    exit 1
+fi
+
+case "$(uname -s)/$(uname -m)" in
+    Linux/x86_64|Linux/amd64|Linux/aarch64|Linux/arm64) NATIVE_GC=G1 ;;
+    *) NATIVE_GC=serial ;;
+esac
+echo "🗑️ Native image GC: ${NATIVE_GC}"
+
+# Start an application command in the background and wait until the API answers
+start_app() {
+    "$@" --server.port=${PORT} > "${WORK_DIR}/$(basename "$1").log" 2>&1 &
+    APP_PID=$!
+    for _ in $(seq 1 120); do
+        if curl -sf -o /dev/null "${URL}?limit=1"; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "❌ $1 did not start, see ${WORK_DIR}/$(basename "$1").log"
+    kill ${APP_PID} 2>/dev/null || true
+    exit 1
+}
+
+stop_app() {
+    kill -TERM ${APP_PID}
+    wait ${APP_PID} || true
+    APP_PID=""
+}
+
+APP_PID=""
+trap '[ -n "${APP_PID}" ] && kill ${APP_PID} 2>/dev/null' EXIT
+
+# Drive the running application: run_load <type> <duration> <report-dir>
+run_load() {
+    ./mvnw -B -q exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.mrin.gvm.perf.LoadGenerator \
+        -Dharness.url=${URL} -Dharness.type=$1 -Dharness.duration=$2 -Dharness.reportDir=$3 \
+        -Dharness.vus=${VUS} -Dharness.thinkTime=false -Dharness.search=true \
+        -Dharness.adapter=r2dbc -Dharness.pid=${APP_PID}
+}
+
+rm -rf ${WORK_DIR}
+mkdir -p ${WORK_DIR} pgo report
+
+echo "🔨 Building the JVM jar and the load generator..."
+./mvnw -B -q -Dmaven.test.skip=true package
+./mvnw -B -q test-compile
+cp target/springboot-graalvm-lambda-*.jar ${WORK_DIR}/app.jar
+
+echo "🔨 Building the plain native image..."
+./mvnw -B -q -Pnative -Dnative.gc=${NATIVE_GC} -Dmaven.test.skip=true native:compile
+cp ${BINARY} ${WORK_DIR}/app-aot
+
+echo "🔨 Building the instrumented native image..."
+./mvnw -B -q -Pnative,pgo-instrument -Dnative.gc=${NATIVE_GC} -Dmaven.test.skip=true native:compile
+cp ${BINARY} ${WORK_DIR}/app-instrumented
+
+echo "🏋️ Collecting the profile (${TRAIN_DURATION})..."
+# The instrumented binary writes its profile when it exits
+start_app ${WORK_DIR}/app-instrumented -XX:ProfilesDumpFile=${WORK_DIR}/default.iprof
+run_load pgo-training ${TRAIN_DURATION} ${WORK_DIR}
+stop_app
+mv ${WORK_DIR}/default.iprof pgo/default.iprof
+echo "  Profile written to pgo/default.iprof"
+
+echo "🔨 Building the optimized native image..."
+./mvnw -B -q -Pnative,pgo -Dnative.gc=${NATIVE_GC} -Dpgo.profile="$(pwd)/pgo/default.iprof" \
+    -Dmaven.test.skip=true native:compile
+cp ${BINARY} ${WORK_DIR}/app-aot-pgo
+
+# Same warm-up and measured run for each variant, so the JIT is compared at steady state
+for TYPE in aot aot-pgo jit; do
+    echo "⚡ Measuring ${TYPE}..."
+    if [ "${TYPE}" = "jit" ]; then
+        start_app java -jar ${WORK_DIR}/app.jar
+    else
+        start_app ${WORK_DIR}/app-${TYPE}
+    fi
+    run_load warmup-${TYPE} ${WARMUP_DURATION} ${WORK_DIR}
+    run_load ${TYPE} ${BENCH_DURATION} report
+    stop_app
+done
+
+chmod +x ./scripts/reporting/compare_pgo.sh
+./scripts/reporting/compare_pgo.sh
@@ -0,0 +1,60 @@
+#!/bin/bash
+
+# Compare plain AOT, PGO AOT and JIT runs of the load generator
+# Usage: ./compare_pgo.sh
+#
+# Reads report/harness_report_{aot,aot-pgo,jit}.json (written by
+# scripts/build/native_pgo.sh) and writes report/pgo_comparison.md with
+# throughput, latency and peak RSS, relative to plain AOT.
+
+set -e
+
+REPORT_DIR="report"
+OUTPUT_FILE="${REPORT_DIR}/pgo_comparison.md"
+
+for TYPE in aot aot-pgo jit; do
+    if [ ! -f "${REPORT_DIR}/harness_report_${TYPE}.json" ]; then
+        echo "Missing ${REPORT_DIR}/harness_report_${TYPE}.json, run scripts/build/native_pgo.sh first"
+        exit 1
+    fi
+done
+
+python3 - "${REPORT_DIR}" > "${OUTPUT_FILE}" <<'PYEOF'
+import json
+import sys
+
+runs = [("aot", "AOT"), ("aot-pgo", "AOT + PGO"), ("jit", "JIT")]
+reports = {t: json.load(open(f"{sys.argv[1]}/harness_report_{t}.json")) for t, _ in runs}
+base = reports["aot"]
+
+def delta(value, reference):
+    if value is None or not reference:
+        return ""
+    return f" ({(value - reference) / reference * 100:+.1f}%)"
+
+def rss(report):
+    return report.get("peakRssMb")
+
+print("# 🎯 Profile-Guided Optimization: AOT vs AOT + PGO vs JIT\n")
+print(f"Create/get/list/search mix, {base['virtualUsers']} virtual users without think time, "
+      f"{base['durationSeconds']:.0f}s per run after a warm-up run. Changes are relative to plain AOT.\n")
+print("| Run | Requests | Throughput | p50 | p95 | p99 | Peak RSS | Failures |")
+print("| :--- | :--- | :--- | :--- | :--- | :--- | :--- | :--- |")
+for t, label in runs:
+    r = reports[t]
+    # No change column for the reference run itself
+    d = delta if t != "aot" else (lambda value, reference: "")
+    lat = r["latencyMs"]["all"]
+    base_lat = base["latencyMs"]["all"]
+    peak = f"{rss(r):.0f}MB{d(rss(r), rss(base))}" if rss(r) is not None else "n/a"
+    print(f"| **{label}** | {r['requests']} "
+          f"| {r['throughputPerSec']:.2f}/s{d(r['throughputPerSec'], base['throughputPerSec'])} "
+          f"| {lat['p50']:.2f}ms{d(lat['p50'], base_lat['p50'])} "
+          f"| {lat['p95']:.2f}ms{d(lat['p95'], base_lat['p95'])} "
+          f"| {lat['p99']:.2f}ms{d(lat['p99'], base_lat['p99'])} "
+          f"| {peak} | {r['failures']} |")
+print("\n---\n")
+print("*🤖 Generated automatically by scripts/reporting/compare_pgo.sh*")
+PYEOF
+
+echo "Report generated at ${OUTPUT_FILE}"
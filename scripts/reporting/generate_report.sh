@@ -129,6 +129,7 @@ else
     AOT_IMAGE_SIZE="N/A"
 fi
 AOT_STARTUP_TIME=$(cat "${REPORT_DIR}/startup_time_aot.txt" 2>/dev/null || echo "N/A")
+AOT_FIRST_REQUEST_TIME=$(cat "${REPORT_DIR}/first_request_time_aot.txt" 2>/dev/null || echo "N/A")
 
 # Read JIT Metrics (with error handling)
 if [ -f "${REPORT_DIR}/k6_report_jit.txt" ]; then
@@ -165,6 +166,7 @@ else
     JIT_IMAGE_SIZE="N/A"
 fi
 JIT_STARTUP_TIME=$(cat "${REPORT_DIR}/startup_time_jit.txt" 2>/dev/null || echo "N/A")
+JIT_FIRST_REQUEST_TIME=$(cat "${REPORT_DIR}/first_request_time_jit.txt" 2>/dev/null || echo "N/A")
 
 # Calculate Comparisons (higher is better)
 CMP_REQS=$(calc_comparison "$AOT_REQS" "$JIT_REQS" "higher_better")
@@ -180,6 +182,7 @@ CMP_IMAGE_SIZE=$(calc_comparison "$AOT_IMAGE_SIZE" "$JIT_IMAGE_SIZE" "lower_bett
 CMP_PUSH_TIME=$(calc_comparison "$AOT_PUSH_TIME" "$JIT_PUSH_TIME" "lower_better")
 CMP_DEPLOY_TIME=$(calc_comparison "$AOT_DEPLOY_TIME" "$JIT_DEPLOY_TIME" "lower_better")
 CMP_STARTUP_TIME=$(calc_comparison "$AOT_STARTUP_TIME" "$JIT_STARTUP_TIME" "lower_better")
+CMP_FIRST_REQUEST_TIME=$(calc_comparison "$AOT_FIRST_REQUEST_TIME" "$JIT_FIRST_REQUEST_TIME" "lower_better")
 
 # Extract winner and improvement from comparison results
 WIN_REQS=$(echo "$CMP_REQS" | cut -d'|' -f1)
@@ -204,6 +207,8 @@ WIN_DEPLOY_TIME=$(echo "$CMP_DEPLOY_TIME" | cut -d'|' -f1)
 IMP_DEPLOY_TIME=$(echo "$CMP_DEPLOY_TIME" | cut -d'|' -f2)
 WIN_STARTUP_TIME=$(echo "$CMP_STARTUP_TIME" | cut -d'|' -f1)
 IMP_STARTUP_TIME=$(echo "$CMP_STARTUP_TIME" | cut -d'|' -f2)
+WIN_FIRST_REQUEST_TIME=$(echo "$CMP_FIRST_REQUEST_TIME" | cut -d'|' -f1)
+IMP_FIRST_REQUEST_TIME=$(echo "$CMP_FIRST_REQUEST_TIME" | cut -d'|' -f2)
 
 # Add emojis to winners
 add_winner_emoji() {
@@ -253,6 +258,30 @@ WIN_DEPLOY_TIME_EMOJI=$(add_winner_emoji "$WIN_DEPLOY_TIME")
 IMP_DEPLOY_TIME_ICON=$(add_improvement_indicator "$IMP_DEPLOY_TIME")
 WIN_STARTUP_TIME_EMOJI=$(add_winner_emoji "$WIN_STARTUP_TIME")
 IMP_STARTUP_TIME_ICON=$(add_improvement_indicator "$IMP_STARTUP_TIME")
+WIN_FIRST_REQUEST_TIME_EMOJI=$(add_winner_emoji "$WIN_FIRST_REQUEST_TIME")
+IMP_FIRST_REQUEST_TIME_ICON=$(add_improvement_indicator "$IMP_FIRST_REQUEST_TIME")
+
+# Local harness results (report/harness_report_<type>.json, written by LoadGenerator)
+HARNESS_SECTION=""
+if ls ${REPORT_DIR}/harness_report_*.json >/dev/null 2>&1; then
+    HARNESS_SECTION=$(python3 - ${REPORT_DIR}/harness_report_*.json <<'PYEOF'
+import json
+import sys
+
+print("## 🧪 Local Harness Results\n")
+print("| Run | Adapter | Virtual Users | Requests | Throughput | p50 | p95 | p99 | Peak RSS | Failures |")
+print("| :--- | :--- | :--- | :--- | :--- | :--- | :--- | :--- | :--- | :--- |")
+for path in sys.argv[1:]:
+    r = json.load(open(path))
+    lat = r["latencyMs"]["all"]
+    rss = f"{r['peakRssMb']:.0f}MB" if r.get("peakRssMb") is not None else "n/a"
+    print(f"| **{r['type']}** | {r.get('adapter', 'r2dbc')} | {r['virtualUsers']} | {r['requests']} "
+          f"| {r['throughputPerSec']:.2f}/s | {lat['p50']:.2f}ms | {lat['p95']:.2f}ms | {lat['p99']:.2f}ms "
+          f"| {rss} | {r['failures']} |")
+print("\n---")
+PYEOF
+)
+fi
 
 # Generate Markdown
 cat <<EOF > "${OUTPUT_FILE}"
@@ -278,6 +307,7 @@ This report compares the performance of the **AOT** (Ahead-of-Time, GraalVM Nati
 | **📤 Docker Push Time** | ${AOT_PUSH_TIME} | ${JIT_PUSH_TIME} | ${WIN_PUSH_TIME_EMOJI} | ${IMP_PUSH_TIME_ICON} |
 | **☸️ K8s Deployment Time** | ${AOT_DEPLOY_TIME} | ${JIT_DEPLOY_TIME} | ${WIN_DEPLOY_TIME_EMOJI} | ${IMP_DEPLOY_TIME_ICON} |
 | **🚦 Pod Startup Time** | ${AOT_STARTUP_TIME} ms | ${JIT_STARTUP_TIME} ms | ${WIN_STARTUP_TIME_EMOJI} | ${IMP_STARTUP_TIME_ICON} |
+| **⏱️ Time to First Request** | ${AOT_FIRST_REQUEST_TIME} ms | ${JIT_FIRST_REQUEST_TIME} ms | ${WIN_FIRST_REQUEST_TIME_EMOJI} | ${IMP_FIRST_REQUEST_TIME_ICON} |
 
 ---
 
@@ -300,8 +330,13 @@ This report compares the performance of the **AOT** (Ahead-of-Time, GraalVM Nati
 5. **🚦 Startup Time**: AOT **${AOT_STARTUP_TIME} ms** vs JIT **${JIT_STARTUP_TIME} ms**
    - Winner: **${WIN_STARTUP_TIME}** with **${IMP_STARTUP_TIME}** improvement
 
+6. **⏱️ Time to First Request**: AOT **${AOT_FIRST_REQUEST_TIME} ms** vs JIT **${JIT_FIRST_REQUEST_TIME} ms**
+   - Winner: **${WIN_FIRST_REQUEST_TIME}** with **${IMP_FIRST_REQUEST_TIME}** improvement
+
 ---
 
+${HARNESS_SECTION}
+
 ## 📌 Legend
 - 🏆 = Winner (Best Performance)
 - 🥈 = Second Place
@@ -0,0 +1,55 @@
+#!/bin/bash
+
+# Get time to first request in milliseconds: restarts the app's pod and measures, inside the
+# new container, from the start of its process to the first successful API response.
+# Unlike the pod startup time it does not wait for the readiness probe schedule.
+# Usage: ./get_first_request_time.sh <app-label> [request-path]
+
+APP_LABEL=$1
+REQUEST_PATH=${2:-/api/products?limit=1}
+NAMESPACE="springboot-graalvm"
+TIMEOUT_SEC=${TIMEOUT_SEC:-300}
+
+# Get the most recent pod
+OLD_POD=$(kubectl get pods -n ${NAMESPACE} -l app=${APP_LABEL} --sort-by=.metadata.creationTimestamp -o jsonpath='{.items[-1].metadata.name}' 2>/dev/null)
+
+if [ -z "$OLD_POD" ]; then
+    echo "0"
+    exit 0
+fi
+
+kubectl delete pod ${OLD_POD} -n ${NAMESPACE} --wait=false >/dev/null 2>&1
+
+# Wait for the replacement container to be running
+NEW_POD=""
+for i in $(seq 1 $((TIMEOUT_SEC * 5))); do
+    NEW_POD=$(kubectl get pods -n ${NAMESPACE} -l app=${APP_LABEL} --field-selector=status.phase=Running \
+        -o jsonpath='{range .items[*]}{.metadata.name}{"\n"}{end}' 2>/dev/null | grep -v "^${OLD_POD}$" | head -1)
+    [ -n "$NEW_POD" ] && break
+    sleep 0.2
+done
+
+if [ -z "$NEW_POD" ]; then
+    echo "0"
+    exit 0
+fi
+
+# Poll from inside the container, then compute the age of its main process (PID 1)
+# from /proc, in clock ticks since boot, to the nearest 10 ms
+FIRST_REQUEST_MS=$(kubectl exec -n ${NAMESPACE} ${NEW_POD} -- sh -c "
+    tries=0
+    until curl -sf -o /dev/null 'http://localhost:8080${REQUEST_PATH}'; do
+        tries=\$((tries + 1))
+        [ \$tries -gt $((TIMEOUT_SEC * 20)) ] && exit 1
+        sleep 0.05
+    done
+    awk -v start=\"\$(cut -d' ' -f22 /proc/1/stat)\" -v hz=\"\$(getconf CLK_TCK 2>/dev/null || echo 100)\" \
+        '{ printf \"%d\", (\$1 - start / hz) * 1000 }' /proc/uptime
+" 2>/dev/null)
+
+if [ -z "$FIRST_REQUEST_MS" ]; then
+    echo "0"
+    exit 0
+fi
+
+echo $FIRST_REQUEST_MS
@@ -0,0 +1,67 @@
+#!/bin/bash
+
+# Run the JMH micro-benchmarks and keep the results per commit
+# Usage: ./run_jmh.sh [benchmark-regex] [baseline-sha]
+#
+# Results are written to report/jmh/<short-sha>.json. When a baseline sha is
+# given, report/jmh/<baseline>_vs_<short-sha>.md compares the two runs.
+
+set -e
+
+INCLUDE=${1:-com.mrin.gvm.jmh}
+BASELINE=$2
+REPORT_DIR="report/jmh"
+
+SHA=$(git rev-parse --short HEAD)
+if [ -n "$(git status --porcelain -- src pom.xml)" ]; then
+    SHA="${SHA}-dirty"
+fi
+
+mkdir -p ${REPORT_DIR}
+RESULT="${REPORT_DIR}/${SHA}.json"
+
+echo "Running JMH benchmarks matching '${INCLUDE}' at ${SHA}..."
+mvn -B -q -Pjmh test-compile exec:exec -Djmh.include="${INCLUDE}" -Djmh.result="$(pwd)/${RESULT}"
+echo "Results written to ${RESULT}"
+
+if [ -z "$BASELINE" ]; then
+    exit 0
+fi
+
+BASELINE_RESULT="${REPORT_DIR}/${BASELINE}.json"
+if [ ! -f "$BASELINE_RESULT" ]; then
+    echo "No results for baseline ${BASELINE} in ${REPORT_DIR}"
+    exit 1
+fi
+
+COMPARISON="${REPORT_DIR}/${BASELINE}_vs_${SHA}.md"
+python3 - "$BASELINE_RESULT" "$RESULT" "$BASELINE" "$SHA" > "$COMPARISON" <<'PYEOF'
+import json
+import sys
+
+def load(path):
+    rows = {}
+    for run in json.load(open(path)):
+        params = ",".join(f"{k}={v}" for k, v in sorted(run.get("params", {}).items()))
+        name = run["benchmark"].rsplit(".", 2)[-2:]
+        key = ".".join(name) + (f" ({params})" if params else "")
+        alloc = run.get("secondaryMetrics", {}).get("gc.alloc.rate.norm", {}).get("score")
+        rows[key] = (run["primaryMetric"]["score"], run["primaryMetric"]["scoreUnit"], alloc)
+    return rows
+
+base, head = load(sys.argv[1]), load(sys.argv[2])
+print(f"# JMH: {sys.argv[3]} vs {sys.argv[4]}\n")
+print("| Benchmark | Unit | Baseline | Current | Change | Alloc B/op (baseline -> current) |")
+print("|-----------|------|----------|---------|--------|----------------------------------|")
+for key in sorted(set(base) | set(head)):
+    b, h = base.get(key), head.get(key)
+    if b is None or h is None:
+        unit = (h or b)[1]
+        fmt = lambda r: f"{r[0]:.4g}" if r else "-"
+        print(f"| {key} | {unit} | {fmt(b)} | {fmt(h)} | n/a | |")
+        continue
+    change = (h[0] - b[0]) / b[0] * 100 if b[0] else 0.0
+    alloc = f"{b[2]:.0f} -> {h[2]:.0f}" if b[2] is not None and h[2] is not None else ""
+    print(f"| {key} | {h[1]} | {b[0]:.4g} | {h[0]:.4g} | {change:+.1f}% | {alloc} |")
+PYEOF
+echo "Comparison written to ${COMPARISON}"
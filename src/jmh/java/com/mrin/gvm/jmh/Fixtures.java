@@ -0,0 +1,48 @@
+package com.mrin.gvm.jmh;
+
+import com.mrin.gvm.adapter.in.web.dto.ProductDTO;
+import com.mrin.gvm.domain.model.Product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test data shared by the benchmarks, shaped like the k6 load test payloads.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * The k6 create payload for name number {@code i}: the same description,
+     * price and quantity for every product, without an ID. Nothing is random,
+     * so every fork of a benchmark sees the same data.
+     */
+    static Product product(int i) {
+        return new Product(null, "Load Test Product " + i, "Created by K6", new BigDecimal("99.99"), 100);
+    }
+
+    /**
+     * Products 0 to {@code count - 1} with IDs 1 to {@code count}, as if stored.
+     */
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = product(i);
+            product.setId((long) i + 1);
+            products.add(product);
+        }
+        return products;
+    }
+
+    static List<ProductDTO> dtos(int count) {
+        List<ProductDTO> dtos = new ArrayList<>(count);
+        for (Product product : products(count)) {
+            dtos.add(new ProductDTO(product.getId(), product.getName(), product.getDescription(),
+                    product.getPrice(), product.getQuantity()));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,189 @@
+package com.mrin.gvm.jmh;
+
+import com.mrin.gvm.domain.model.InventoryStats;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.model.UpsertedProduct;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ProductPersistencePort backed by a sorted map, so the application service's
+ * operator chains can be benchmarked without a database.
+ */
+public class InMemoryProductPersistencePort implements ProductPersistencePort {
+
+    private final ConcurrentSkipListMap<Long, Product> products = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return Mono.fromSupplier(() -> store(product));
+    }
+
+    @Override
+    public Mono<Product> upsertByName(Product product) {
+        return Mono.fromSupplier(() -> upsert(product).product());
+    }
+
+    @Override
+    public Flux<UpsertedProduct> upsertAllByName(List<Product> batch) {
+        return Flux.fromIterable(batch).map(this::upsert);
+    }
+
+    @Override
+    public Flux<Product> updateAll(List<Product> batch) {
+        return Flux.fromIterable(batch)
+                .filter(product -> products.containsKey(product.getId()))
+                .map(this::store);
+    }
+
+    @Override
+    public Flux<Long> deleteAllById(List<Long> ids) {
+        return Flux.fromIterable(ids).filter(id -> products.remove(id) != null);
+    }
+
+    @Override
+    public Mono<Product> reserveStock(Long id, int quantity) {
+        return Mono.fromSupplier(() -> adjustStock(id, -quantity));
+    }
+
+    @Override
+    public Mono<Product> releaseStock(Long id, int quantity) {
+        return Mono.fromSupplier(() -> adjustStock(id, quantity));
+    }
+
+    @Override
+    public Flux<Product> findAll() {
+        return Flux.fromIterable(products.values());
+    }
+
+    @Override
+    public Flux<Product> findPage(long afterId, int limit) {
+        return Flux.fromIterable(products.tailMap(afterId, false).values()).take(limit);
+    }
+
+    @Override
+    public Mono<Product> findById(Long id) {
+        return Mono.justOrEmpty(products.get(id));
+    }
+
+    @Override
+    public Flux<Product> findAllById(Collection<Long> ids) {
+        return Flux.fromIterable(ids).mapNotNull(products::get);
+    }
+
+    @Override
+    public Mono<Product> findByName(String name) {
+        return Flux.fromIterable(products.values()).filter(product -> product.getName().equals(name)).next();
+    }
+
+    @Override
+    public Flux<Product> searchByName(String term, SearchMode mode, int limit) {
+        String lower = term.toLowerCase(Locale.ROOT);
+        return Flux.fromIterable(products.values())
+                .filter(product -> {
+                    String name = product.getName().toLowerCase(Locale.ROOT);
+                    return mode == SearchMode.PREFIX ? name.startsWith(lower) : name.contains(lower);
+                })
+                .take(limit);
+    }
+
+    @Override
+    public Mono<InventoryStats> computeStats(int lowStockThreshold, int lowStockLimit) {
+        return Mono.fromSupplier(() -> {
+            Collection<Product> all = products.values();
+            List<Product> lowStock = all.stream()
+                    .filter(product -> product.getQuantity() < lowStockThreshold)
+                    .sorted(Comparator.comparingInt(Product::getQuantity).thenComparing(Product::getId))
+                    .toList();
+            return new InventoryStats(all.size(),
+                    all.stream().mapToLong(Product::getQuantity).sum(),
+                    all.stream()
+                            .map(product -> product.getPrice().multiply(BigDecimal.valueOf(product.getQuantity())))
+                            .reduce(BigDecimal.ZERO, BigDecimal::add),
+                    lowStockThreshold, lowStock.size(),
+                    lowStock.stream().limit(lowStockLimit).map(Product::copy).toList(),
+                    Instant.now());
+        });
+    }
+
+    @Override
+    public Mono<Void> delete(Product product) {
+        return Mono.fromRunnable(() -> products.remove(product.getId()));
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(products::clear);
+    }
+
+    private Product store(Product product) {
+        Product stored = product.copy();
+        if (stored.getId() == null) {
+            stored.setId(sequence.incrementAndGet());
+        }
+        stored.setVersion(stored.getVersion() == null ? 0L : stored.getVersion() + 1);
+        stored.setUpdatedAt(Instant.now());
+        products.put(stored.getId(), stored);
+        return stored;
+    }
+
+    /**
+     * Apply a stock change unless it would go negative.
+     *
+     * @return the updated product, or null if absent or the stock is too low
+     */
+    private Product adjustStock(Long id, int delta) {
+        boolean[] applied = new boolean[1];
+        Product updated = products.computeIfPresent(id, (key, existing) -> {
+            if (existing.getQuantity() + delta < 0) {
+                return existing;
+            }
+            applied[0] = true;
+            Product copy = existing.copy();
+            copy.setQuantity(existing.getQuantity() + delta);
+            copy.setVersion(existing.getVersion() + 1);
+            return copy;
+        });
+        return applied[0] ? updated : null;
+    }
+
+    private UpsertedProduct upsert(Product product) {
+        for (Map.Entry<Long, Product> entry : products.entrySet()) {
+            if (entry.getValue().getName().equals(product.getName())) {
+                Product existing = entry.getValue().copy();
+                existing.setDescription(product.getDescription());
+                existing.setPrice(product.getPrice());
+                existing.addQuantity(product.getQuantity());
+                return new UpsertedProduct(store(existing), false);
+            }
+        }
+        return new UpsertedProduct(store(product), true);
+    }
+
+    /**
+     * Fill the store with {@code count} products as built by {@link Fixtures#product},
+     * named "Load Test Product 0" to "Load Test Product n-1" and given IDs 1 to n
+     * in that order.
+     */
+    public List<Product> seed(int count) {
+        List<Product> seeded = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            seeded.add(store(Fixtures.product(i)));
+        }
+        return seeded;
+    }
+}
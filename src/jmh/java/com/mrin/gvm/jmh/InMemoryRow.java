@@ -0,0 +1,113 @@
+package com.mrin.gvm.jmh;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Type;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Minimal in-memory R2DBC {@link Row} so mapping code can be benchmarked
+ * without a database or driver.
+ */
+public final class InMemoryRow implements Row {
+
+    private final Metadata metadata;
+    private final Object[] values;
+
+    public InMemoryRow(String[] columns, Object... values) {
+        this.metadata = new Metadata(columns, values);
+        this.values = values;
+    }
+
+    @Override
+    public RowMetadata getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public <T> T get(int index, Class<T> type) {
+        return type.cast(values[index]);
+    }
+
+    @Override
+    public <T> T get(String name, Class<T> type) {
+        return get(metadata.indexOf(name), type);
+    }
+
+    private static final class Metadata implements RowMetadata {
+
+        private final String[] names;
+        private final List<Column> columns;
+
+        private Metadata(String[] names, Object[] values) {
+            this.names = names;
+            Column[] columns = new Column[names.length];
+            for (int i = 0; i < names.length; i++) {
+                Class<?> javaType = values[i] == null ? Object.class : values[i].getClass();
+                columns[i] = new Column(names[i], javaType);
+            }
+            this.columns = Arrays.asList(columns);
+        }
+
+        private int indexOf(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            throw new NoSuchElementException(name);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(int index) {
+            return columns.get(index);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(String name) {
+            return columns.get(indexOf(name));
+        }
+
+        @Override
+        public List<? extends ColumnMetadata> getColumnMetadatas() {
+            return columns;
+        }
+
+        @Override
+        public boolean contains(String columnName) {
+            for (String name : names) {
+                if (name.equalsIgnoreCase(columnName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Column(String name, Class<?> javaType) implements ColumnMetadata {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Type getType() {
+            return new Type.InferredType() {
+                @Override
+                public Class<?> getJavaType() {
+                    return javaType;
+                }
+
+                @Override
+                public String getName() {
+                    return javaType.getSimpleName();
+                }
+            };
+        }
+    }
+}
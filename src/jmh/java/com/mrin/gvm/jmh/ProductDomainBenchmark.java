@@ -0,0 +1,65 @@
+package com.mrin.gvm.jmh;
+
+import com.mrin.gvm.adapter.out.persistence.entity.ProductEntity;
+import com.mrin.gvm.adapter.out.persistence.mapper.ProductMapper;
+import com.mrin.gvm.domain.model.Product;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request domain work: Product.validate() (including its BigDecimal
+ * comparison) and ProductMapper in both directions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductDomainBenchmark {
+
+    private Product product;
+    private Product negativePrice;
+    private ProductEntity entity;
+    private ProductMapper mapper;
+
+    @Setup
+    public void setUp() {
+        product = Fixtures.product(42);
+        product.setId(42L);
+        negativePrice = Fixtures.product(43);
+        negativePrice.setPrice(new BigDecimal("-1.00"));
+        mapper = new ProductMapper();
+        entity = mapper.toEntity(product);
+    }
+
+    @Benchmark
+    public void validate() {
+        product.validate();
+    }
+
+    /**
+     * Rejected input pays for building the exception and its stack trace.
+     */
+    @Benchmark
+    public void validateRejected(Blackhole blackhole) {
+        try {
+            negativePrice.validate();
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public ProductEntity mapperToEntity() {
+        return mapper.toEntity(product);
+    }
+
+    @Benchmark
+    public Product mapperToDomain() {
+        return mapper.toDomain(entity);
+    }
+}
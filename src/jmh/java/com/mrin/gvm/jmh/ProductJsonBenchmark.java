@@ -0,0 +1,57 @@
+package com.mrin.gvm.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrin.gvm.adapter.in.web.dto.ProductDTO;
+import com.mrin.gvm.domain.model.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the JSON bodies served by the API: product lists of
+ * different sizes as domain objects and as DTOs, plus reading one POST body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    @Param({"1", "100", "1000", "10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Product> products;
+    private List<ProductDTO> dtos;
+    private byte[] createBody;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Same defaults Spring Boot applies to the WebFlux codecs
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        products = Fixtures.products(size);
+        dtos = Fixtures.dtos(size);
+        createBody = objectMapper.writeValueAsBytes(Fixtures.product(0));
+    }
+
+    @Benchmark
+    public byte[] serializeProducts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] serializeDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public Product deserializeProduct() throws IOException {
+        return objectMapper.readValue(createBody, Product.class);
+    }
+}
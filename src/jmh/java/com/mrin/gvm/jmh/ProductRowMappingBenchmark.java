@@ -0,0 +1,59 @@
+package com.mrin.gvm.jmh;
+
+import com.mrin.gvm.adapter.out.persistence.entity.ProductEntity;
+import com.mrin.gvm.adapter.out.persistence.mapper.ProductMapper;
+import com.mrin.gvm.adapter.out.persistence.mapper.ProductRowMapper;
+import com.mrin.gvm.domain.model.Product;
+import io.r2dbc.spi.Row;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning one {@code products} row into a domain Product.
+ * <ul>
+ *     <li>{@code entityConverter}: the previous read path, generic Spring Data
+ *     conversion into a ProductEntity followed by ProductMapper.toDomain</li>
+ *     <li>{@code rowMapper}: ProductRowMapper reading the row straight into a Product</li>
+ * </ul>
+ * Compare {@code gc.alloc.rate.norm} (bytes per operation) from the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductRowMappingBenchmark {
+
+    private static final String[] COLUMNS = {"id", "name", "description", "price", "quantity"};
+
+    private Row row;
+    private MappingR2dbcConverter converter;
+    private ProductMapper mapper;
+    private ProductRowMapper rowMapper;
+
+    @Setup
+    public void setUp() {
+        row = new InMemoryRow(COLUMNS, 42L, "Load Test Product 42", "Created by K6", new BigDecimal("99.99"), 100);
+        converter = new MappingR2dbcConverter(new R2dbcMappingContext(),
+                R2dbcCustomConversions.of(PostgresDialect.INSTANCE));
+        mapper = new ProductMapper();
+        rowMapper = new ProductRowMapper();
+    }
+
+    @Benchmark
+    public Product entityConverter() {
+        return mapper.toDomain(converter.read(ProductEntity.class, row, row.getMetadata()));
+    }
+
+    @Benchmark
+    public Product rowMapper() {
+        return rowMapper.apply(row, row.getMetadata());
+    }
+}
@@ -0,0 +1,60 @@
+package com.mrin.gvm.jmh;
+
+import com.mrin.gvm.application.service.ProductService;
+import com.mrin.gvm.domain.model.BulkItemResult;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.ProductPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the Reactor operator chains in ProductService, measured against
+ * an in-memory persistence port so only the service's own work is counted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+
+    private ProductService service;
+    private List<Product> seeded;
+    private long hotId;
+
+    @Setup
+    public void setUp() {
+        InMemoryProductPersistencePort port = new InMemoryProductPersistencePort();
+        seeded = port.seed(CATALOG_SIZE);
+        hotId = seeded.get(CATALOG_SIZE / 2).getId();
+        service = new ProductService(port, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public Product getProductById() {
+        return service.getProductById(hotId).block();
+    }
+
+    @Benchmark
+    public ProductPage getProductsPage() {
+        return service.getProductsPage(null, 100).block();
+    }
+
+    @Benchmark
+    public Product createExistingProduct() {
+        return service.createProduct(Fixtures.product(7)).block();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<BulkItemResult> bulkUpdate1000() {
+        return service.bulkUpdateProducts(Flux.fromIterable(seeded.subList(0, 1000))).collectList().block();
+    }
+}
@@ -0,0 +1,80 @@
+package com.mrin.gvm.jmh;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrin.gvm.domain.model.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost and size of a product list in each wire format the API negotiates:
+ * JSON, Smile and CBOR. {@code encode} and {@code decode} give the time per
+ * list; the {@code encodedBytes} counter of {@code encode} gives the output
+ * rate in bytes per second, which divided by its operation rate is the
+ * payload size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductWireFormatBenchmark {
+
+    private static final TypeReference<List<Product>> PRODUCT_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Product> products;
+    private byte[] body;
+
+    /**
+     * Bytes written by {@code encode}, reported as a rate next to its operations.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Output {
+
+        public long encodedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            encodedBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same defaults Spring Boot applies to the WebFlux codecs
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        products = Fixtures.products(size);
+        body = objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] encode(Output output) throws IOException {
+        byte[] encoded = objectMapper.writeValueAsBytes(products);
+        output.encodedBytes += encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public List<Product> decode() throws IOException {
+        return objectMapper.readValue(body, PRODUCT_LIST);
+    }
+}
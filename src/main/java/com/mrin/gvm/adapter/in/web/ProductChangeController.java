@@ -0,0 +1,64 @@
+package com.mrin.gvm.adapter.in.web;
+
+import com.mrin.gvm.application.service.ProductChangeProperties;
+import com.mrin.gvm.application.service.ProductChangeService.ChangeOffsetExpiredException;
+import com.mrin.gvm.domain.model.ChangeOffset;
+import com.mrin.gvm.domain.model.ProductChange;
+import com.mrin.gvm.domain.port.in.ProductChangeUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.util.Locale;
+
+/**
+ * REST Controller for the product change feed.
+ * Lets consumers follow writes incrementally over server-sent events instead
+ * of polling the product list.
+ */
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+public class ProductChangeController {
+
+    private final ProductChangeUseCase productChangeUseCase;
+    private final ProductChangeProperties properties;
+
+    /**
+     * Stream product changes as server-sent events.
+     * Each event's ID is its offset and its name the change type ("upsert" or
+     * "delete"). Browsers' EventSource resends the last ID as
+     * {@code Last-Event-ID} on reconnect, which takes precedence over
+     * {@code since}. Idle streams receive a keep-alive comment.
+     *
+     * @param since       offset of the last change seen, "0" for all retained
+     *                    changes, absent for changes from now on
+     * @param lastEventId offset sent by a reconnecting EventSource
+     * @return never-ending flux of change events, or HTTP 410 if changes after
+     * the offset have been deleted
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ProductChange>> streamChanges(
+            @RequestParam(required = false) String since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        String resumeFrom = lastEventId != null && !lastEventId.isBlank() ? lastEventId : since;
+        ChangeOffset offset = resumeFrom == null || resumeFrom.isBlank() ? null : ChangeOffset.parse(resumeFrom);
+
+        Flux<ServerSentEvent<ProductChange>> changes = productChangeUseCase.streamChanges(offset)
+                .onErrorMap(ChangeOffsetExpiredException.class,
+                        e -> new ResponseStatusException(HttpStatus.GONE, e.getMessage(), e))
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(change.getOffset().toString())
+                        .event(change.getType().name().toLowerCase(Locale.ROOT))
+                        .build());
+        // Ticks nobody has requested yet are dropped rather than queued behind the changes
+        Flux<ServerSentEvent<ProductChange>> heartbeats = Flux.interval(properties.getHeartbeat())
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<ProductChange>builder().comment("keep-alive").build());
+        return Flux.merge(changes, heartbeats);
+    }
+}
@@ -1,24 +1,74 @@
 package com.mrin.gvm.adapter.in.web;
 
+import com.mrin.gvm.adapter.in.web.codec.BinaryMediaTypes;
+import com.mrin.gvm.adapter.in.web.dto.StockRequest;
+import com.mrin.gvm.adapter.in.web.page.ProductPageCache;
+import com.mrin.gvm.domain.model.BulkItemResult;
+import com.mrin.gvm.domain.model.InventoryStats;
 import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.ProductPage;
+import com.mrin.gvm.domain.model.SearchMode;
 import com.mrin.gvm.domain.port.in.ProductUseCase;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
 /**
  * REST Controller for Product operations.
  * This is the inbound adapter (driving adapter) that receives HTTP requests
  * and delegates to the ProductUseCase port.
+ * <p>
+ * Single products and pages carry a strong ETag, so clients and caches can
+ * revalidate with {@code If-None-Match} and receive a 304 without a body.
+ * Single products also carry Last-Modified for {@code If-Modified-Since}.
+ * <p>
+ * Bodies are JSON unless the client asks for Smile or CBOR (see
+ * {@link com.mrin.gvm.config.CodecConfig}); responses that may be cached say
+ * so with {@code Vary: Accept}.
  */
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
 
+    /**
+     * Response header carrying the continuation token for the next page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Highest low-stock threshold accepted; each threshold costs an aggregate query.
+     */
+    static final int MAX_LOW_STOCK_THRESHOLD = 1000;
+
+    /**
+     * Caches may store responses but must revalidate them before reuse.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    /**
+     * Formats of single products and pages, the first one preferred when a client accepts several.
+     */
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON,
+            BinaryMediaTypes.APPLICATION_SMILE, MediaType.APPLICATION_CBOR);
+
     private final ProductUseCase productUseCase;
+    private final ProductPageCache pageCache;
+    private final RequestedContentTypeResolver contentTypeResolver;
 
     /**
      * Create a new product.
@@ -33,12 +83,39 @@ public class ProductController {
     }
 
     /**
-     * Get all products.
+     * Get one page of products ordered by ID.
+     * When more products follow, the continuation token for the next page is
+     * returned in the {@value #NEXT_CURSOR_HEADER} response header.
+     * Pages are encoded once per catalog version and then served from their
+     * bytes by the {@link ProductPageCache}.
      *
-     * @return flux of all products
+     * @param cursor continuation token from a previous page, absent for the first page
+     * @param limit  maximum number of products in the page
+     * @return mono of the page of products, or HTTP 304 if the client's copy is current
      */
     @GetMapping
-    public Flux<Product> getAllProducts() {
+    public Mono<ResponseEntity<?>> getProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            ServerWebExchange exchange) {
+        Long afterId = decodeCursor(cursor);
+        long catalogVersion = productUseCase.getCatalogVersion();
+        MediaType format = format(exchange);
+        Mono<ResponseEntity<List<Product>>> page = Mono.defer(() -> productUseCase.getProductsPage(afterId, limit))
+                .map(products -> toPageResponse(products, format));
+        return Mono.<ResponseEntity<?>>from(pageCache.serve(catalogVersion, afterId, limit, exchange, page))
+                .switchIfEmpty(page);
+    }
+
+    /**
+     * Stream all products as NDJSON, a Smile value stream or server-sent events.
+     * Rows are read from the database only as fast as the client consumes them.
+     *
+     * @return flux of all products
+     */
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE,
+            BinaryMediaTypes.APPLICATION_STREAM_SMILE_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Product> streamAllProducts() {
         return productUseCase.getAllProducts();
     }
 
@@ -46,25 +123,72 @@ public class ProductController {
      * Get a product by ID.
      *
      * @param id the product ID
-     * @return mono of the product
+     * @return mono of the product, or HTTP 304 if the client's copy is current
      */
     @GetMapping("/{id}")
-    public Mono<Product> getProductById(@PathVariable Long id) {
-        return productUseCase.getProductById(id);
+    public Mono<ResponseEntity<Product>> getProductById(@PathVariable Long id, ServerWebExchange exchange) {
+        MediaType format = format(exchange);
+        return productUseCase.getProductById(id)
+                .map(product -> toProductResponse(product, format));
     }
 
     /**
      * Update an existing product.
+     * With an {@code If-Match} header holding the product's ETag, the update only
+     * applies if nobody changed the product since that ETag was read; otherwise
+     * concurrent writes are retried on fresh data.
      *
      * @param id      the product ID
+     * @param ifMatch optional ETag the client last read
      * @param product the updated product details
-     * @return mono of the updated product
+     * @return mono of the updated product, HTTP 412 if the If-Match ETag is no longer
+     * current, or HTTP 409 if concurrent writers kept winning
      */
     @PutMapping("/{id}")
-    public Mono<Product> updateProduct(
+    public Mono<ResponseEntity<Product>> updateProduct(
             @PathVariable Long id,
-            @RequestBody Product product) {
-        return productUseCase.updateProduct(id, product);
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Product product,
+            ServerWebExchange exchange) {
+        MediaType format = format(exchange);
+        Mono<Product> updated;
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            updated = productUseCase.updateProduct(id, product)
+                    .onErrorMap(OptimisticLockingFailureException.class, ProductController::conflict);
+        } else {
+            Long expectedVersion = ProductETags.versionFromIfMatch(id, ifMatch);
+            if (expectedVersion == null) {
+                return Mono.error(new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                        "If-Match does not name a version of product " + id));
+            }
+            updated = productUseCase.updateProduct(id, product, expectedVersion);
+        }
+        return updated.map(saved -> toProductResponse(saved, format));
+    }
+
+    /**
+     * Reserve stock of a product, e.g. during checkout.
+     * Runs as a single conditional update, so concurrent reservations never oversell.
+     *
+     * @param id      the product ID
+     * @param request the number of units to reserve
+     * @return mono of the product with its remaining stock, or HTTP 409 if there is not enough
+     */
+    @PostMapping("/{id}/reserve")
+    public Mono<Product> reserveStock(@PathVariable Long id, @RequestBody StockRequest request) {
+        return productUseCase.reserveStock(id, request.getQuantity());
+    }
+
+    /**
+     * Release previously reserved stock of a product.
+     *
+     * @param id      the product ID
+     * @param request the number of units to release
+     * @return mono of the product with its new stock
+     */
+    @PostMapping("/{id}/release")
+    public Mono<Product> releaseStock(@PathVariable Long id, @RequestBody StockRequest request) {
+        return productUseCase.releaseStock(id, request.getQuantity());
     }
 
     /**
@@ -76,18 +200,56 @@ public class ProductController {
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public Mono<Void> deleteProduct(@PathVariable Long id) {
-        return productUseCase.deleteProduct(id);
+        return productUseCase.deleteProduct(id)
+                .onErrorMap(OptimisticLockingFailureException.class, ProductController::conflict);
+    }
+
+    /**
+     * Get aggregate statistics of the inventory: number of products, total
+     * quantity, total value (price times quantity) and the products lowest on
+     * stock. Recomputed in the background about once a second, so they may
+     * trail the latest writes; {@code computedAt} tells how current they are.
+     * Statistics are kept per threshold, so thresholds are bounded, and limits
+     * beyond the maximum are capped.
+     *
+     * @param lowStockThreshold products with a quantity below it count as low on stock
+     *                          (0 to {@value #MAX_LOW_STOCK_THRESHOLD})
+     * @param lowStockLimit     the maximum number of low-stock products listed (at most 100)
+     * @return mono of the statistics, or HTTP 400 if the threshold is out of range
+     */
+    @GetMapping("/stats")
+    public Mono<InventoryStats> getInventoryStats(
+            @RequestParam(defaultValue = "10") int lowStockThreshold,
+            @RequestParam(defaultValue = "20") int lowStockLimit) {
+        if (lowStockThreshold < 0 || lowStockThreshold > MAX_LOW_STOCK_THRESHOLD) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "lowStockThreshold must be between 0 and " + MAX_LOW_STOCK_THRESHOLD));
+        }
+        return productUseCase.getInventoryStats(lowStockThreshold, lowStockLimit);
     }
 
     /**
-     * Search products by name.
+     * Search products by name (case-insensitive).
      *
-     * @param name the name to search for
-     * @return flux of matching products
+     * @param name  the name to search for
+     * @param mode  "prefix" to match the start of names, "contains" to match anywhere
+     *              (at least 3 characters)
+     * @param limit the maximum number of results (at most 100)
+     * @return flux of matching products, ordered by name for prefixes and by ID for
+     * substrings, or HTTP 400 for a substring shorter than 3 characters
      */
     @GetMapping("/search")
-    public Flux<Product> searchProducts(@RequestParam String name) {
-        return productUseCase.searchProductsByName(name);
+    public Flux<Product> searchProducts(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "contains") String mode,
+            @RequestParam(defaultValue = "20") int limit) {
+        SearchMode searchMode;
+        try {
+            searchMode = SearchMode.fromValue(mode);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return productUseCase.searchProductsByName(name, searchMode, limit);
     }
 
     /**
@@ -100,4 +262,109 @@ public class ProductController {
     public Mono<Void> deleteAllProducts() {
         return productUseCase.deleteAllProducts();
     }
+
+    /**
+     * Create or merge many products from a JSON, Smile or CBOR array or an NDJSON stream.
+     * Items are validated individually and written in transactional chunks.
+     *
+     * @param products the products to create
+     * @return flux with one result per submitted product, in submission order
+     */
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    BinaryMediaTypes.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    BinaryMediaTypes.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Flux<BulkItemResult> bulkCreateProducts(@RequestBody Flux<Product> products) {
+        return productUseCase.bulkCreateProducts(products);
+    }
+
+    /**
+     * Update many products, each identified by its ID, from an array or an NDJSON stream.
+     *
+     * @param products the products to update
+     * @return flux with one result per submitted product, in submission order
+     */
+    @PutMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    BinaryMediaTypes.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    BinaryMediaTypes.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Flux<BulkItemResult> bulkUpdateProducts(@RequestBody Flux<Product> products) {
+        return productUseCase.bulkUpdateProducts(products);
+    }
+
+    /**
+     * Delete many products by ID from an array or an NDJSON stream of IDs.
+     *
+     * @param ids the IDs of the products to delete
+     * @return flux with one result per submitted ID, in submission order
+     */
+    @DeleteMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    BinaryMediaTypes.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    BinaryMediaTypes.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Flux<BulkItemResult> bulkDeleteProducts(@RequestBody Flux<Long> ids) {
+        return productUseCase.bulkDeleteProducts(ids);
+    }
+
+    /**
+     * The format the response body will be written in, which its ETag depends on.
+     */
+    private MediaType format(ServerWebExchange exchange) {
+        for (MediaType requested : contentTypeResolver.resolveMediaTypes(exchange)) {
+            for (MediaType format : FORMATS) {
+                if (requested.isCompatibleWith(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private ResponseEntity<List<Product>> toPageResponse(ProductPage page, MediaType format) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(ProductETags.of(page, format))
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT);
+        // No Last-Modified: the newest write on a page does not change when a product is
+        // deleted from it or the page boundary shifts, so only the ETag validates a page
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, encodeCursor(page.getNextAfterId()));
+        }
+        // For GET the result handler answers 304 instead when the ETag matches If-None-Match
+        return response.body(page.getItems());
+    }
+
+    private ResponseEntity<Product> toProductResponse(Product product, MediaType format) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(ProductETags.of(product, format))
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT);
+        if (product.getUpdatedAt() != null) {
+            response.lastModified(product.getUpdatedAt());
+        }
+        return response.body(product);
+    }
+
+    private static ResponseStatusException conflict(OptimisticLockingFailureException e) {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Product was modified concurrently, retry the request", e);
+    }
+
+    private static String encodeCursor(Long afterId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(afterId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
 }
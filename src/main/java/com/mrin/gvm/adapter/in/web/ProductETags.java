@@ -0,0 +1,93 @@
+package com.mrin.gvm.adapter.in.web;
+
+import com.mrin.gvm.adapter.in.web.codec.BinaryMediaTypes;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.ProductPage;
+import org.springframework.http.ETag;
+import org.springframework.http.MediaType;
+
+/**
+ * Strong entity tags for product responses.
+ * A product's tag is its ID and version, which the database bumps on every
+ * write, so it is known without serializing or hashing the body.
+ * <p>
+ * A strong tag names the exact bytes of one representation, so Smile and CBOR
+ * bodies carry the format as a suffix; JSON bodies carry none, which keeps
+ * the tags clients already hold valid.
+ */
+final class ProductETags {
+
+    private ProductETags() {
+    }
+
+    /**
+     * Tag of a single product, e.g. {@code "42-7"} in JSON or {@code "42-7-cbor"} in CBOR.
+     *
+     * @param format the media type the body is written in
+     */
+    static String of(Product product, MediaType format) {
+        return "\"" + product.getId() + "-" + product.getVersion() + suffix(format) + "\"";
+    }
+
+    /**
+     * Tag of a page: a hash over the ID and version of every item and the
+     * continuation cursor, so any write to a product on the page, or a product
+     * entering or leaving it, changes the tag.
+     *
+     * @param format the media type the body is written in
+     */
+    static String of(ProductPage page, MediaType format) {
+        long hash = mix(page.getItems().size());
+        for (Product product : page.getItems()) {
+            hash = mix(hash ^ product.getId());
+            hash = mix(hash ^ product.getVersion());
+        }
+        hash = mix(hash ^ (page.getNextAfterId() == null ? -1L : page.getNextAfterId()));
+        return "\"p" + Long.toHexString(hash) + suffix(format) + "\"";
+    }
+
+    /**
+     * Find the version of the given product named in an {@code If-Match} header.
+     * The tag of any format names the version, as all formats of a version
+     * carry the same state.
+     *
+     * @param id      the product ID
+     * @param ifMatch the header value, one or more entity tags
+     * @return the version, or null if no strong tag in the header belongs to the product
+     */
+    static Long versionFromIfMatch(Long id, String ifMatch) {
+        String prefix = id + "-";
+        for (ETag etag : ETag.parse(ifMatch)) {
+            // If-Match uses the strong comparison, so weak tags never match
+            if (!etag.weak() && etag.tag().startsWith(prefix)) {
+                String version = etag.tag().substring(prefix.length());
+                int suffix = version.indexOf('-');
+                try {
+                    return Long.parseLong(suffix < 0 ? version : version.substring(0, suffix));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String suffix(MediaType format) {
+        if (format.equalsTypeAndSubtype(BinaryMediaTypes.APPLICATION_SMILE)) {
+            return "-smile";
+        }
+        if (format.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+            return "-cbor";
+        }
+        return "";
+    }
+
+    /**
+     * Bit mixer from SplitMix64; spreads small ID and version changes over the whole hash.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
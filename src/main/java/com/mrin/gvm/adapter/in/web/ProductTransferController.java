@@ -0,0 +1,79 @@
+package com.mrin.gvm.adapter.in.web;
+
+import com.mrin.gvm.adapter.in.web.dto.ImportSummary;
+import com.mrin.gvm.adapter.in.web.transfer.CatalogFormat;
+import com.mrin.gvm.adapter.in.web.transfer.ProductCatalogCodec;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.port.in.ProductUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST Controller for exporting and importing the whole catalog.
+ * Both directions stream: the export writes rows as they are read from the
+ * database cursor, and the import writes the upload in chunks as it arrives.
+ */
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+public class ProductTransferController {
+
+    private final ProductUseCase productUseCase;
+    private final ProductCatalogCodec codec;
+
+    /**
+     * Download all products ordered by ID.
+     * Rows are read from the database only as fast as the client consumes them.
+     *
+     * @param format   "ndjson" (default) or "csv"
+     * @param response the response the rows are written to
+     * @return mono completing when the last row is written
+     */
+    @GetMapping("/export")
+    public Mono<Void> exportProducts(@RequestParam(defaultValue = "ndjson") String format,
+                                     ServerHttpResponse response) {
+        CatalogFormat catalogFormat = CatalogFormat.fromValue(format);
+        response.getHeaders().setContentType(catalogFormat.getMediaType());
+        response.getHeaders().setContentDisposition(ContentDisposition.attachment()
+                .filename("products." + catalogFormat.getExtension())
+                .build());
+        return response.writeWith(codec.encode(productUseCase.getAllProducts(), catalogFormat,
+                response.bufferFactory()));
+    }
+
+    /**
+     * Create or merge products from an NDJSON upload, with the same semantics
+     * as the bulk create: an existing name gets the new description and price
+     * and the quantity added.
+     *
+     * @param products the uploaded products, parsed as the body arrives
+     * @return mono of the import summary
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ImportSummary> importNdjson(@RequestBody Flux<Product> products) {
+        return importProducts(products);
+    }
+
+    /**
+     * Create or merge products from a CSV upload with a header line, such as the
+     * one produced by the CSV export. Unknown columns, including {@code id}, are
+     * ignored.
+     *
+     * @param lines the uploaded lines, split as the body arrives
+     * @return mono of the import summary, or HTTP 400 at the first malformed record
+     */
+    @PostMapping(value = "/import", consumes = CatalogFormat.TEXT_CSV_VALUE)
+    public Mono<ImportSummary> importCsv(@RequestBody Flux<String> lines) {
+        return importProducts(codec.decodeCsv(lines));
+    }
+
+    private Mono<ImportSummary> importProducts(Flux<Product> products) {
+        return productUseCase.bulkCreateProducts(products)
+                .reduceWith(ImportSummary::new, ImportSummary::add);
+    }
+}
@@ -0,0 +1,37 @@
+package com.mrin.gvm.adapter.in.web;
+
+import com.mrin.gvm.domain.model.ReadStaleness;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Marks responses built from last-known-good data rather than the database.
+ * Every request gets a {@link ReadStaleness} in its Reactor context; if the
+ * persistence layer served a snapshot, the response carries
+ * {@code Warning: 110 - "Response is Stale"} and an {@code Age} header with
+ * the snapshot's age in seconds.
+ */
+@Component
+public class StaleResponseFilter implements WebFilter {
+
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ReadStaleness staleness = new ReadStaleness();
+        exchange.getResponse().beforeCommit(() -> {
+            staleness.age().ifPresent(age -> {
+                HttpHeaders headers = exchange.getResponse().getHeaders();
+                headers.set(HttpHeaders.WARNING, STALE_WARNING);
+                headers.set(HttpHeaders.AGE, String.valueOf(age.toSeconds()));
+            });
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(ReadStaleness.class, staleness));
+    }
+}
@@ -0,0 +1,25 @@
+package com.mrin.gvm.adapter.in.web.codec;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Media types of the binary formats the API serves next to JSON. CBOR has
+ * its constant in {@link MediaType}.
+ */
+public final class BinaryMediaTypes {
+
+    /**
+     * Jackson's Smile, a binary JSON with back-references to repeated names and values.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * A stream of Smile values, one per element, as NDJSON is for JSON.
+     */
+    public static final String APPLICATION_STREAM_SMILE_VALUE = "application/stream+x-jackson-smile";
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    private BinaryMediaTypes() {
+    }
+}
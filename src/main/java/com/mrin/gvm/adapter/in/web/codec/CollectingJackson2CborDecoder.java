@@ -0,0 +1,33 @@
+package com.mrin.gvm.adapter.in.web.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CBOR decoder that also reads Flux request bodies, such as bulk writes, from
+ * one CBOR array. Spring's decoder only reads single values; the array is
+ * read whole, within the codec's in-memory limit.
+ */
+public class CollectingJackson2CborDecoder extends Jackson2CborDecoder {
+
+    public CollectingJackson2CborDecoder(ObjectMapper mapper) {
+        super(mapper, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
+                               MimeType mimeType, Map<String, Object> hints) {
+        ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return decodeToMono(input, listType, mimeType, hints)
+                .flatMapIterable(list -> (List<?>) list);
+    }
+}
@@ -0,0 +1,53 @@
+package com.mrin.gvm.adapter.in.web.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * CBOR encoder that also writes Flux bodies, such as search results and bulk
+ * results, as one CBOR array, the way the JSON encoder writes them as one
+ * JSON array. Spring's encoder only writes single values.
+ * <p>
+ * The array is written with indefinite length: a start marker, each element
+ * as it arrives, and a break marker. So, unlike a collected list, a large or
+ * slow Flux is never held in memory; decoders read it as any other array.
+ */
+public class StreamingJackson2CborEncoder extends Jackson2CborEncoder {
+
+    /**
+     * Major type 4 (array) with additional information 31 (indefinite length).
+     */
+    private static final byte START_ARRAY = (byte) 0x9F;
+
+    private static final byte BREAK = (byte) 0xFF;
+
+    public StreamingJackson2CborEncoder(ObjectMapper mapper) {
+        super(mapper, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono<?> mono) {
+            return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+        }
+        return Flux.concat(
+                Mono.fromCallable(() -> marker(bufferFactory, START_ARRAY)),
+                Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)),
+                Mono.fromCallable(() -> marker(bufferFactory, BREAK)));
+    }
+
+    private static DataBuffer marker(DataBufferFactory bufferFactory, byte marker) {
+        return bufferFactory.wrap(new byte[]{marker});
+    }
+}
@@ -0,0 +1,52 @@
+package com.mrin.gvm.adapter.in.web.dto;
+
+import com.mrin.gvm.domain.model.BulkItemResult;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a catalog import.
+ * Holds counters plus the first {@value #MAX_REPORTED_ERRORS} failed items, so
+ * its size does not grow with the upload.
+ */
+@Data
+public class ImportSummary {
+
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private long received;
+    private long written;
+    private long invalid;
+    private long failed;
+    private List<BulkItemResult> errors = new ArrayList<>();
+
+    /**
+     * Count one item result.
+     *
+     * @param result the result of one imported item
+     * @return this summary
+     */
+    public ImportSummary add(BulkItemResult result) {
+        received++;
+        switch (result.getStatus()) {
+            case CREATED, UPDATED -> written++;
+            case INVALID -> {
+                invalid++;
+                reportError(result);
+            }
+            default -> {
+                failed++;
+                reportError(result);
+            }
+        }
+        return this;
+    }
+
+    private void reportError(BulkItemResult result) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(result);
+        }
+    }
+}
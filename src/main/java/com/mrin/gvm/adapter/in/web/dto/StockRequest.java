@@ -0,0 +1,15 @@
+package com.mrin.gvm.adapter.in.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request body for reserving or releasing product stock.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockRequest {
+    private int quantity;
+}
@@ -0,0 +1,193 @@
+package com.mrin.gvm.adapter.in.web.limit;
+
+import com.mrin.gvm.domain.model.Tenant;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for the product API. Requests beyond the current
+ * {@link GradientConcurrencyLimit} are rejected straight away with
+ * {@code 503 Service Unavailable} and a {@code Retry-After} header, instead of
+ * queueing for database connections until the pool's acquire timeout.
+ * <p>
+ * Bulk writes, imports and deleting all products only get a share of the
+ * limit, so single reads and writes keep being served when they pile up.
+ * Only single requests are latency samples, since batches take longer by
+ * design; a cancelled request counts with the time it took until then.
+ * Requests of either kind that fail on the server side, with an error or a
+ * 5xx status, shrink the limit instead. Long-lived streams (change feed,
+ * catalog stream and export) are not limited.
+ * <p>
+ * Each {@link Tenant} may also hold only {@code tenantShare} of the limit, and
+ * of that only the batch share for batch requests, so one tenant's bulk load
+ * cannot take the connections every other tenant needs. Requests over their
+ * tenant's quota are rejected with {@code 429 Too Many Requests} instead.
+ */
+public class ConcurrencyLimitFilter implements WebFilter, Ordered {
+
+    static final String LIMIT_METRIC = "products.limiter.limit";
+    static final String IN_FLIGHT_METRIC = "products.limiter.inflight";
+    static final String REJECTED_METRIC = "products.limiter.rejected";
+    static final String QUOTA_REJECTED_METRIC = "products.limiter.quota.rejected";
+    static final String TENANTS_METRIC = "products.limiter.tenants";
+
+    private static final String API_PATH = "/api/products";
+    private static final Set<String> UNLIMITED_PATHS =
+            Set.of(API_PATH + "/changes", API_PATH + "/stream", API_PATH + "/export");
+
+    enum Priority { SINGLE, BATCH }
+
+    private final ConcurrencyLimitProperties properties;
+    private final GradientConcurrencyLimit limit;
+    private final String retryAfter;
+    private final Map<Priority, Counter> rejections = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> quotaRejections = new EnumMap<>(Priority.class);
+    private final Map<Tenant, Integer> tenantsInFlight = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limit = new GradientConcurrencyLimit(properties);
+        this.retryAfter = String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds()));
+        Gauge.builder(LIMIT_METRIC, limit, GradientConcurrencyLimit::getLimit)
+                .description("Requests allowed in flight")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, limit, GradientConcurrencyLimit::getInFlight)
+                .description("Admitted requests in flight")
+                .register(meterRegistry);
+        Gauge.builder(TENANTS_METRIC, tenantsInFlight, Map::size)
+                .description("Tenants with admitted requests in flight")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            rejections.put(priority, Counter.builder(REJECTED_METRIC)
+                    .description("Requests rejected by the concurrency limit")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+            quotaRejections.put(priority, Counter.builder(QUOTA_REJECTED_METRIC)
+                    .description("Requests rejected because their tenant was at its share of the limit")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Priority priority = properties.isEnabled() ? priority(exchange.getRequest()) : null;
+        if (priority == null) {
+            return chain.filter(exchange);
+        }
+        return Mono.deferContextual(context -> {
+            Tenant tenant = Tenant.of(context);
+            double share = priority == Priority.BATCH ? properties.getBatchShare() : 1.0;
+            if (!limit.tryAcquire(share)) {
+                rejections.get(priority).increment();
+                return reject(exchange.getResponse(), HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            // Checked second, so that with a tenant share of 1 overload is still reported as 503
+            if (!tryAcquireQuota(tenant, share)) {
+                limit.release();
+                quotaRejections.get(priority).increment();
+                return reject(exchange.getResponse(), HttpStatus.TOO_MANY_REQUESTS);
+            }
+            long start = System.nanoTime();
+            AtomicBoolean failed = new AtomicBoolean();
+            return chain.filter(exchange)
+                    .doOnError(error -> failed.set(isServerError(error)))
+                    .doFinally(signal -> {
+                        releaseQuota(tenant);
+                        if (failed.get() || (signal == SignalType.ON_COMPLETE && isServerError(exchange.getResponse()))) {
+                            limit.releaseDropped();
+                        } else if (priority == Priority.SINGLE) {
+                            limit.release(System.nanoTime() - start);
+                        } else {
+                            limit.release();
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        // Ahead of other filters, so rejected requests cost as little as possible
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    GradientConcurrencyLimit getLimit() {
+        return limit;
+    }
+
+    int getInFlight(Tenant tenant) {
+        return tenantsInFlight.getOrDefault(tenant, 0);
+    }
+
+    /**
+     * Admit a request of the tenant if it has fewer than its quota in flight:
+     * the given share of its share of the current limit.
+     */
+    private boolean tryAcquireQuota(Tenant tenant, double share) {
+        int quota = Math.max(1, (int) (limit.getLimit() * properties.getTenantShare() * share));
+        boolean[] acquired = new boolean[1];
+        tenantsInFlight.compute(tenant, (key, inFlight) -> {
+            int current = inFlight == null ? 0 : inFlight;
+            if (current >= quota) {
+                return inFlight;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private void releaseQuota(Tenant tenant) {
+        // Tenants leave the map once idle, so it only holds those with requests in flight
+        tenantsInFlight.computeIfPresent(tenant, (key, inFlight) -> inFlight == 1 ? null : inFlight - 1);
+    }
+
+    /**
+     * Errors that get this far are not mapped by the controller advice; only
+     * those naming a client error status are not the server's fault.
+     */
+    private static boolean isServerError(Throwable error) {
+        return !(error instanceof ResponseStatusException status && status.getStatusCode().is4xxClientError());
+    }
+
+    private static boolean isServerError(ServerHttpResponse response) {
+        return response.getStatusCode() != null && response.getStatusCode().is5xxServerError();
+    }
+
+    /**
+     * @return the priority of a request to the product API, or null if it is not limited
+     */
+    static Priority priority(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        if (!path.startsWith(API_PATH) || UNLIMITED_PATHS.contains(path)) {
+            return null;
+        }
+        boolean deleteAll = request.getMethod() == HttpMethod.DELETE && path.equals(API_PATH);
+        return deleteAll || path.endsWith("/bulk") || path.endsWith("/import") ? Priority.BATCH : Priority.SINGLE;
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, HttpStatus status) {
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+        return response.setComplete();
+    }
+}
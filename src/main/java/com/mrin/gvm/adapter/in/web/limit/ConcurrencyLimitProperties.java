@@ -0,0 +1,83 @@
+package com.mrin.gvm.adapter.in.web.limit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the adaptive concurrency limit of the product API.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.limiter")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Whether requests beyond the limit are rejected. When disabled every
+     * request is let through and the limit is not adjusted.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Requests in flight allowed at startup, before any latency is observed.
+     */
+    private int initialLimit = 50;
+
+    /**
+     * Lowest limit, however slow the database gets.
+     */
+    private int minLimit = 10;
+
+    /**
+     * Highest limit, however fast the database is.
+     */
+    private int maxLimit = 500;
+
+    /**
+     * How much slower than the long-term average a request may be before the
+     * limit shrinks; 1.5 tolerates 50% more latency.
+     */
+    private double tolerance = 1.5;
+
+    /**
+     * Weight of each new estimate in the limit, between 0 and 1. Higher
+     * values react faster and fluctuate more.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Factor the limit is multiplied by for each request that fails on the
+     * server side, between 0 and 1. Lower values back off faster.
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Number of requests the recent latency average spans, which is compared
+     * with the long-term one. Smooths out single slow requests.
+     */
+    private int shortLatencyWindow = 20;
+
+    /**
+     * Number of requests the long-term latency average spans.
+     */
+    private int longLatencyWindow = 600;
+
+    /**
+     * Fraction of the limit that bulk writes, imports and deleting all
+     * products may take up, so they cannot crowd out single reads and writes.
+     */
+    private double batchShare = 0.25;
+
+    /**
+     * Fraction of the limit a single tenant may take up, batch requests
+     * included, so one tenant cannot crowd out the others. The default of 1
+     * leaves a tenant the whole limit, as fits a single-tenant deployment;
+     * deployments shared by several tenants should lower it.
+     */
+    private double tenantShare = 1.0;
+
+    /**
+     * Value of the Retry-After header on rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
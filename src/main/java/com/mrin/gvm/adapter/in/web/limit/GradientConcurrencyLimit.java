@@ -0,0 +1,110 @@
+package com.mrin.gvm.adapter.in.web.limit;
+
+/**
+ * Concurrency limit that follows the latency of the requests it admits.
+ * <p>
+ * A short-term moving average of latency is compared with a long-term one.
+ * While recent requests stay within {@code tolerance} of the long-term
+ * average the limit grows by about its square root, leaving room for a small
+ * queue; once requests get slower, as when they wait for database
+ * connections, the limit shrinks in proportion, by at most half per request.
+ * New estimates are blended in with {@code smoothing} and clamped to the
+ * configured bounds. The limit is only adjusted while at least half of it is
+ * in use, so an idle service does not grow it without evidence that it copes.
+ * <p>
+ * Requests that fail on the server side, as when the database refuses
+ * connections or times out, shrink the limit by {@code backoffRatio} each:
+ * such failures are often fast, so their latency would read as good health.
+ */
+public class GradientConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final double shortWeight;
+    private final double longWeight;
+
+    private double limit;
+    private double shortLatency;
+    private double longLatency;
+    private int inFlight;
+
+    public GradientConcurrencyLimit(ConcurrencyLimitProperties properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.tolerance = properties.getTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.shortWeight = 2.0 / (properties.getShortLatencyWindow() + 1);
+        this.longWeight = 2.0 / (properties.getLongLatencyWindow() + 1);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+    }
+
+    /**
+     * Admit a request if fewer than the given share of the limit are in flight.
+     *
+     * @param share fraction of the limit available to this kind of request
+     * @return true if admitted, in which case {@link #release} must follow
+     */
+    public synchronized boolean tryAcquire(double share) {
+        if (inFlight >= Math.max(1, (int) (limit * share))) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Release an admitted request without a latency sample, e.g. because it
+     * is a batch, which takes longer by design.
+     */
+    public synchronized void release() {
+        inFlight--;
+    }
+
+    /**
+     * Release an admitted request that failed on the server side and shrink
+     * the limit, however busy the service is.
+     */
+    public synchronized void releaseDropped() {
+        inFlight--;
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+
+    /**
+     * Release an admitted request and adjust the limit to its latency.
+     *
+     * @param latencyNanos time from admission to completion
+     */
+    public synchronized void release(long latencyNanos) {
+        int inFlightAtCompletion = inFlight--;
+        double sample = Math.max(1, latencyNanos);
+        if (longLatency == 0) {
+            shortLatency = sample;
+            longLatency = sample;
+        } else {
+            shortLatency += (sample - shortLatency) * shortWeight;
+            longLatency += (sample - longLatency) * longWeight;
+        }
+        // After a slow period the long-term average lags behind; let it catch up with recovered latency faster
+        if (longLatency > 2 * shortLatency) {
+            longLatency *= 0.95;
+        }
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longLatency / shortLatency));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + estimate * smoothing));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,290 @@
+package com.mrin.gvm.adapter.in.web.page;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mrin.gvm.adapter.in.web.codec.BinaryMediaTypes;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.ReadStaleness;
+import com.mrin.gvm.domain.model.Tenant;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves product list pages from bytes encoded once per catalog version
+ * rather than once per request. Each page is kept per format (JSON, Smile,
+ * CBOR) with its response headers and, when large enough, a gzip copy,
+ * whose ETag carries a {@code -gzip} suffix; the bytes are wrapped into the
+ * response without copying.
+ * <p>
+ * Pages are keyed by the catalog version of the use case, so any write
+ * through this instance makes the next request encode afresh; pages of
+ * earlier versions are evicted by age or size. The version is kept per
+ * instance, so writes through other instances go unseen until the page
+ * expires: for up to {@link ProductPageCacheProperties#getTtl()} such pages,
+ * and 304s for their ETags, are served stale. Concurrent requests for a page
+ * that is not there yet share one read and one encoding. Pages read from a
+ * last-known-good snapshot are served once but not kept. Pages are kept per
+ * {@link Tenant}; the catalog version is shared, so a write by one tenant also
+ * has the others' next requests encode afresh.
+ */
+public class ProductPageCache {
+
+    static final String CACHE_NAME = "product-pages";
+
+    static final String BYTES_METRIC = "products.pages.bytes";
+
+    private static final ResolvableType PAGE_TYPE = ResolvableType.forClassWithGenerics(List.class, Product.class);
+
+    /**
+     * Formats pages are kept in, the first one preferred when a client accepts several.
+     */
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON,
+            BinaryMediaTypes.APPLICATION_SMILE, MediaType.APPLICATION_CBOR);
+
+    private record PageKey(Tenant tenant, long catalogVersion, Long afterId, int limit, MediaType format) {
+    }
+
+    /**
+     * One page in one format, with the headers of its response.
+     *
+     * @param gzip     the compressed body, null if the page is too small to compress
+     * @param staleAge age of the snapshot the page was read from, null if it was read fresh
+     */
+    private record SerializedPage(HttpHeaders headers, byte[] identity, byte[] gzip, Duration staleAge) {
+
+        int weight() {
+            return identity.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    private final ProductPageCacheProperties properties;
+    private final RequestedContentTypeResolver contentTypeResolver;
+    private final Map<MediaType, Encoder<Object>> encoders;
+    private final AsyncCache<PageKey, SerializedPage> pages;
+    private final Counter cachedIdentityBytes;
+    private final Counter cachedGzipBytes;
+    private final Counter encodedIdentityBytes;
+    private final Counter encodedGzipBytes;
+
+    public ProductPageCache(ProductPageCacheProperties properties,
+                            ServerCodecConfigurer codecConfigurer,
+                            RequestedContentTypeResolver contentTypeResolver,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.contentTypeResolver = contentTypeResolver;
+        this.encoders = encoders(codecConfigurer.getWriters());
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((PageKey key, SerializedPage page) -> page.weight())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages.synchronous(), CACHE_NAME);
+        this.cachedIdentityBytes = bytes(meterRegistry, "cache", "identity");
+        this.cachedGzipBytes = bytes(meterRegistry, "cache", "gzip");
+        this.encodedIdentityBytes = bytes(meterRegistry, "encoded", "identity");
+        this.encodedGzipBytes = bytes(meterRegistry, "encoded", "gzip");
+    }
+
+    /**
+     * Answer a page request from its serialized bytes, reading and encoding the
+     * page first if this catalog version has not been served in the requested format yet.
+     *
+     * @param catalogVersion the catalog version before the page is read
+     * @param page           reads the page and builds its response
+     * @return the response, or empty if the cache is off or the client accepts
+     * none of its formats; the caller then responds as usual
+     */
+    public Mono<ResponseEntity<DataBuffer>> serve(long catalogVersion, Long afterId, int limit,
+                                                  ServerWebExchange exchange,
+                                                  Mono<ResponseEntity<List<Product>>> page) {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.deferContextual(context -> {
+            MediaType format = negotiate(exchange);
+            if (format == null) {
+                return Mono.empty();
+            }
+            Tenant tenant = Tenant.of(context);
+            PageKey key = new PageKey(tenant, catalogVersion, afterId, limit, format);
+            AtomicBoolean encodedHere = new AtomicBoolean();
+            CompletableFuture<SerializedPage> future = pages.get(key, (k, executor) -> {
+                encodedHere.set(true);
+                // The read is shared by every waiting request of the tenant, so it gets its own
+                // staleness record and runs in the tenant's context rather than this request's
+                ReadStaleness staleness = new ReadStaleness();
+                return page.contextWrite(c -> c.put(Tenant.class, tenant).put(ReadStaleness.class, staleness))
+                        .map(response -> serialize(response, format, staleness))
+                        .toFuture();
+            });
+            // The shared future must survive one request cancelling, so cancellation is not propagated to it
+            return Mono.fromFuture(future, true)
+                    .map(serialized -> {
+                        if (serialized.staleAge() != null) {
+                            pages.asMap().remove(key, future);
+                            context.<ReadStaleness>getOrEmpty(ReadStaleness.class)
+                                    .ifPresent(read -> read.record(serialized.staleAge()));
+                        }
+                        return respond(serialized, format, exchange, encodedHere.get());
+                    });
+        });
+    }
+
+    private MediaType negotiate(ServerWebExchange exchange) {
+        for (MediaType requested : contentTypeResolver.resolveMediaTypes(exchange)) {
+            for (MediaType format : encoders.keySet()) {
+                if (requested.isCompatibleWith(format)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    private SerializedPage serialize(ResponseEntity<List<Product>> response, MediaType format,
+                                     ReadStaleness staleness) {
+        DataBuffer buffer = encoders.get(format).encodeValue(response.getBody(),
+                DefaultDataBufferFactory.sharedInstance, PAGE_TYPE, format, Map.of());
+        byte[] identity = new byte[buffer.readableByteCount()];
+        buffer.read(identity);
+        DataBufferUtils.release(buffer);
+        long gzipMinSize = properties.getGzipMinSize().toBytes();
+        byte[] gzip = gzipMinSize >= 0 && identity.length >= gzipMinSize ? gzip(identity) : null;
+        return new SerializedPage(response.getHeaders(), identity, gzip, staleness.age().orElse(null));
+    }
+
+    private ResponseEntity<DataBuffer> respond(SerializedPage page, MediaType format,
+                                               ServerWebExchange exchange, boolean encodedHere) {
+        boolean gzip = page.gzip() != null && acceptsGzip(exchange.getRequest());
+        byte[] body = gzip ? page.gzip() : page.identity();
+        Counter served = encodedHere
+                ? (gzip ? encodedGzipBytes : encodedIdentityBytes)
+                : (gzip ? cachedGzipBytes : cachedIdentityBytes);
+        // Counted once the status is final, as conditional requests get a 304 without the body
+        exchange.getResponse().beforeCommit(() -> {
+            if (!HttpStatus.NOT_MODIFIED.equals(exchange.getResponse().getStatusCode())) {
+                served.increment(body.length);
+            }
+            return Mono.empty();
+        });
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .headers(headers -> {
+                    // Copied value by value, as the page's header values are read-only
+                    headers.addAll(page.headers());
+                    if (page.gzip() != null) {
+                        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                    }
+                    if (gzip && headers.getETag() != null) {
+                        // A strong tag names the exact bytes, so the compressed copy gets its own
+                        headers.setETag(gzipETag(headers.getETag()));
+                    }
+                })
+                .contentType(format);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        // Wrapping shares the cached array with the response instead of copying it
+        return response.body(exchange.getResponse().bufferFactory().wrap(body));
+    }
+
+    private static String gzipETag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    private static boolean acceptsGzip(ServerHttpRequest request) {
+        for (String header : request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : StringUtils.tokenizeToStringArray(header, ",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim();
+                if ((name.equalsIgnoreCase("gzip") || name.equals("*")) && !refused(parts)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a coding is listed with {@code q=0}, which means the client refuses it.
+     */
+    private static boolean refused(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * The encoders the server would pick for a page in each format it has one for.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<MediaType, Encoder<Object>> encoders(List<HttpMessageWriter<?>> writers) {
+        Map<MediaType, Encoder<Object>> encoders = new LinkedHashMap<>();
+        for (MediaType format : FORMATS) {
+            writers.stream()
+                    .filter(writer -> writer instanceof EncoderHttpMessageWriter<?>
+                            && writer.canWrite(PAGE_TYPE, format))
+                    .findFirst()
+                    .ifPresent(writer -> encoders.put(format,
+                            (Encoder<Object>) ((EncoderHttpMessageWriter<?>) writer).getEncoder()));
+        }
+        return encoders;
+    }
+
+    private static Counter bytes(MeterRegistry meterRegistry, String source, String encoding) {
+        return Counter.builder(BYTES_METRIC)
+                .description("Body bytes of product list pages, served from serialized pages or freshly encoded")
+                .baseUnit("bytes")
+                .tag("source", source)
+                .tag("encoding", encoding)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.mrin.gvm.adapter.in.web.page;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the serialized product list pages.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.page-cache")
+public class ProductPageCacheProperties {
+
+    /**
+     * Serve list pages from their serialized bytes while the catalog is
+     * unchanged. Checked per request, so it can be switched in the native image too.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a serialized page is served at most. Writes through this
+     * instance replace pages at once, but the catalog version is not shared
+     * between instances: after a write through another instance, this
+     * instance serves the old page, and answers 304 to clients holding its
+     * ETag, for up to this long. Lower it where replicas must agree sooner.
+     */
+    private Duration ttl = Duration.ofSeconds(10);
+
+    /**
+     * Memory held by serialized pages, counting every format and encoding.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Keep a gzip copy of pages of at least this size for clients that accept it.
+     * Negative to never compress.
+     */
+    private DataSize gzipMinSize = DataSize.ofKilobytes(2);
+}
@@ -0,0 +1,66 @@
+package com.mrin.gvm.adapter.in.web.tenant;
+
+import com.mrin.gvm.domain.model.Tenant;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the {@link Tenant} of every product API request from a header and
+ * puts it into the Reactor context, where the concurrency limit and the
+ * persistence layer pick it up. Requests without the header act for the
+ * default tenant, unless {@code app.tenancy.required} is set; malformed IDs
+ * are rejected with {@code 400 Bad Request}.
+ */
+public class TenantFilter implements WebFilter, Ordered {
+
+    private static final String API_PATH = "/api/products";
+
+    /**
+     * Fits the tenant_id columns and keeps IDs safe to log and to use in keys.
+     */
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_.-]{0,63}");
+
+    private final TenantProperties properties;
+
+    public TenantFilter(TenantProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!request.getPath().pathWithinApplication().value().startsWith(API_PATH)) {
+            return chain.filter(exchange);
+        }
+        String id = request.getHeaders().getFirst(properties.getHeader());
+        Tenant tenant;
+        if (id == null || id.isBlank()) {
+            if (properties.isRequired()) {
+                return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Missing tenant header " + properties.getHeader()));
+            }
+            tenant = Tenant.DEFAULT;
+        } else if (TENANT_ID.matcher(id).matches()) {
+            tenant = new Tenant(id);
+        } else {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid tenant ID in header " + properties.getHeader()));
+        }
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(Tenant.class, tenant));
+    }
+
+    @Override
+    public int getOrder() {
+        // Ahead of the concurrency limit, which applies quotas per tenant
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
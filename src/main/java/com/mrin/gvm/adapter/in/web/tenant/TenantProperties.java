@@ -0,0 +1,23 @@
+package com.mrin.gvm.adapter.in.web.tenant;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for resolving the tenant of product API requests.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.tenancy")
+public class TenantProperties {
+
+    /**
+     * Request header carrying the tenant ID.
+     */
+    private String header = "X-Tenant-Id";
+
+    /**
+     * Reject product API requests without the header. When false they act
+     * for the default tenant, as in a single-tenant deployment.
+     */
+    private boolean required = false;
+}
@@ -0,0 +1,56 @@
+package com.mrin.gvm.adapter.in.web.transfer;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Wire format of a catalog export or import.
+ */
+public enum CatalogFormat {
+
+    /**
+     * One JSON product per line.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON),
+
+    /**
+     * RFC 4180 CSV with a header line.
+     */
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    CatalogFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * File name extension used for downloads.
+     */
+    public String getExtension() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parse a format from its lower-case API value.
+     *
+     * @param value "ndjson" or "csv"
+     * @return the matching format
+     * @throws IllegalArgumentException if the value is unknown
+     */
+    public static CatalogFormat fromValue(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown catalog format: " + value);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.mrin.gvm.adapter.in.web.transfer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mrin.gvm.domain.model.Product;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Encodes product streams for export and decodes CSV uploads for import.
+ * Rows are written straight into response buffers, a small group at a time,
+ * so memory use does not depend on the size of the catalog.
+ */
+@Component
+public class ProductCatalogCodec {
+
+    /**
+     * Rows encoded into one buffer. Large enough to amortize the per-write cost
+     * of the server, small enough that the first bytes go out without delay.
+     */
+    static final int ROWS_PER_BUFFER = 64;
+
+    private static final int ESTIMATED_ROW_BYTES = 160;
+
+    private final JsonFactory jsonFactory;
+    private final ObjectWriter productWriter;
+
+    public ProductCatalogCodec(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.productWriter = objectMapper.writerFor(Product.class);
+    }
+
+    /**
+     * Encode products in the given format.
+     *
+     * @param products      the products, consumed as the returned buffers are requested
+     * @param format        the output format
+     * @param bufferFactory the factory of the response the buffers are written to
+     * @return flux of buffers, each holding whole rows
+     */
+    public Flux<DataBuffer> encode(Flux<Product> products, CatalogFormat format, DataBufferFactory bufferFactory) {
+        Flux<DataBuffer> rows = products
+                .buffer(ROWS_PER_BUFFER)
+                .map(chunk -> format == CatalogFormat.CSV
+                        ? encodeCsv(chunk, bufferFactory)
+                        : encodeNdjson(chunk, bufferFactory));
+        if (format == CatalogFormat.CSV) {
+            rows = Flux.concat(Mono.fromSupplier(() -> bufferFactory.wrap(
+                    ProductCsv.HEADER.getBytes(StandardCharsets.UTF_8))), rows);
+        }
+        return rows.doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Decode the lines of a CSV upload into products.
+     *
+     * @param lines the upload split into lines, without line breaks
+     * @return flux of products; errors with an IllegalArgumentException naming
+     * the line of the first malformed record
+     */
+    public Flux<Product> decodeCsv(Flux<String> lines) {
+        return Flux.defer(() -> {
+            ProductCsv.RecordReader reader = new ProductCsv.RecordReader();
+            return lines.<Product>handle((line, sink) -> {
+                        Product product = reader.next(line);
+                        if (product != null) {
+                            sink.next(product);
+                        }
+                    })
+                    .concatWith(Mono.fromRunnable(reader::finish));
+        });
+    }
+
+    private DataBuffer encodeNdjson(List<Product> chunk, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(chunk.size() * ESTIMATED_ROW_BYTES);
+        boolean release = true;
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer.asOutputStream())) {
+            // Rows are separated by the explicit line breaks, not by Jackson's default space
+            generator.setRootValueSeparator(null);
+            for (Product product : chunk) {
+                productWriter.writeValue(generator, product);
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            release = false;
+            return buffer;
+        } catch (IOException e) {
+            throw new EncodingException("Could not encode products as NDJSON", e);
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    private static DataBuffer encodeCsv(List<Product> chunk, DataBufferFactory bufferFactory) {
+        StringBuilder rows = new StringBuilder(chunk.size() * ESTIMATED_ROW_BYTES);
+        for (Product product : chunk) {
+            ProductCsv.appendRow(rows, product);
+        }
+        DataBuffer buffer = bufferFactory.allocateBuffer(rows.length());
+        return buffer.write(rows, StandardCharsets.UTF_8);
+    }
+}
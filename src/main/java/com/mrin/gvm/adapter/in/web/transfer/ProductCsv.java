@@ -0,0 +1,204 @@
+package com.mrin.gvm.adapter.in.web.transfer;
+
+import com.mrin.gvm.domain.model.Product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV layout of a product row (RFC 4180: comma separated, fields containing a
+ * comma, quote or line break are quoted, quotes are doubled).
+ */
+final class ProductCsv {
+
+    static final String HEADER = "id,name,description,price,quantity\n";
+
+    /**
+     * Upper bound for one record, so a missing closing quote cannot make the
+     * importer buffer the rest of the upload.
+     */
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private ProductCsv() {
+    }
+
+    /**
+     * Append one product as a CSV line, including the line break.
+     */
+    static void appendRow(StringBuilder out, Product product) {
+        out.append(product.getId() == null ? "" : product.getId().toString()).append(',');
+        appendField(out, product.getName());
+        out.append(',');
+        appendField(out, product.getDescription());
+        out.append(',');
+        out.append(product.getPrice() == null ? "" : product.getPrice().toPlainString()).append(',');
+        out.append(product.getQuantity() == null ? "" : product.getQuantity().toString()).append('\n');
+    }
+
+    private static void appendField(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    /**
+     * Turns the lines of one upload into products. The first record is the
+     * header; columns are matched by name, so their order is free and unknown
+     * ones (such as {@code id}) are ignored. A quoted field may span lines, in
+     * which case the record is completed by the following lines.
+     * <p>
+     * Not thread-safe: create one reader per upload.
+     */
+    static final class RecordReader {
+
+        private final StringBuilder pending = new StringBuilder();
+        private long lineNumber;
+        private long recordStart;
+        private Map<String, Integer> columns;
+
+        /**
+         * Consume one line.
+         *
+         * @return the product of the record this line completes, or null if the
+         * line was the header, blank, or part of an unfinished record
+         * @throws IllegalArgumentException if the record is malformed
+         */
+        Product next(String line) {
+            lineNumber++;
+            if (pending.isEmpty()) {
+                if (line.isBlank()) {
+                    return null;
+                }
+                recordStart = lineNumber;
+            } else {
+                pending.append('\n');
+            }
+            pending.append(line);
+
+            List<String> fields = split(pending);
+            if (fields == null) {
+                if (pending.length() > MAX_RECORD_LENGTH) {
+                    throw malformed("record exceeds " + MAX_RECORD_LENGTH + " characters");
+                }
+                return null;
+            }
+            pending.setLength(0);
+
+            if (columns == null) {
+                columns = header(fields);
+                return null;
+            }
+            return toProduct(fields);
+        }
+
+        /**
+         * Check that the upload did not end inside a quoted field.
+         */
+        void finish() {
+            if (!pending.isEmpty()) {
+                throw malformed("unterminated quoted field");
+            }
+        }
+
+        private Map<String, Integer> header(List<String> fields) {
+            Map<String, Integer> byName = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                byName.put(fields.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : List.of("name", "price", "quantity")) {
+                if (!byName.containsKey(required)) {
+                    throw malformed("header has no '" + required + "' column");
+                }
+            }
+            return byName;
+        }
+
+        private Product toProduct(List<String> fields) {
+            if (fields.size() != columns.size()) {
+                throw malformed("expected " + columns.size() + " fields but found " + fields.size());
+            }
+            try {
+                String price = field(fields, "price");
+                String quantity = field(fields, "quantity");
+                return new Product(null,
+                        field(fields, "name"),
+                        field(fields, "description"),
+                        price == null ? null : new BigDecimal(price.trim()),
+                        quantity == null ? null : Integer.valueOf(quantity.trim()));
+            } catch (NumberFormatException e) {
+                throw malformed("invalid number");
+            }
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null) {
+                return null;
+            }
+            String value = fields.get(index);
+            return value.isEmpty() ? null : value;
+        }
+
+        private IllegalArgumentException malformed(String reason) {
+            return new IllegalArgumentException("Malformed CSV record at line " + recordStart + ": " + reason);
+        }
+    }
+
+    /**
+     * Split a record into its fields.
+     *
+     * @return the fields, or null if the record ends inside a quoted field
+     */
+    private static List<String> split(CharSequence record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,104 @@
+package com.mrin.gvm.adapter.out.persistence;
+
+import com.mrin.gvm.domain.model.InventoryStats;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.model.UpsertedProduct;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Base class for decorators of the ProductPersistencePort.
+ * Every call is forwarded to the wrapped port; subclasses override only the
+ * operations they add behaviour to.
+ */
+@RequiredArgsConstructor
+public abstract class ForwardingProductPersistencePort implements ProductPersistencePort {
+
+    protected final ProductPersistencePort delegate;
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return delegate.save(product);
+    }
+
+    @Override
+    public Mono<Product> upsertByName(Product product) {
+        return delegate.upsertByName(product);
+    }
+
+    @Override
+    public Flux<UpsertedProduct> upsertAllByName(List<Product> products) {
+        return delegate.upsertAllByName(products);
+    }
+
+    @Override
+    public Flux<Product> updateAll(List<Product> products) {
+        return delegate.updateAll(products);
+    }
+
+    @Override
+    public Flux<Long> deleteAllById(List<Long> ids) {
+        return delegate.deleteAllById(ids);
+    }
+
+    @Override
+    public Mono<Product> reserveStock(Long id, int quantity) {
+        return delegate.reserveStock(id, quantity);
+    }
+
+    @Override
+    public Mono<Product> releaseStock(Long id, int quantity) {
+        return delegate.releaseStock(id, quantity);
+    }
+
+    @Override
+    public Flux<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Flux<Product> findPage(long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public Mono<Product> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Flux<Product> findAllById(Collection<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Mono<Product> findByName(String name) {
+        return delegate.findByName(name);
+    }
+
+    @Override
+    public Flux<Product> searchByName(String term, SearchMode mode, int limit) {
+        return delegate.searchByName(term, mode, limit);
+    }
+
+    @Override
+    public Mono<InventoryStats> computeStats(int lowStockThreshold, int lowStockLimit) {
+        return delegate.computeStats(lowStockThreshold, lowStockLimit);
+    }
+
+    @Override
+    public Mono<Void> delete(Product product) {
+        return delegate.delete(product);
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return delegate.deleteAll();
+    }
+}
@@ -0,0 +1,115 @@
+package com.mrin.gvm.adapter.out.persistence;
+
+import com.mrin.gvm.adapter.out.persistence.mapper.ProductRowMapper;
+import com.mrin.gvm.domain.model.ChangeOffset;
+import com.mrin.gvm.domain.model.ProductChange;
+import com.mrin.gvm.domain.model.Tenant;
+import com.mrin.gvm.domain.port.out.ProductChangePort;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Reads the product_changes outbox written by {@link ProductPersistenceAdapter}.
+ * This is the secondary adapter for the change feed port.
+ * Subscribers only see the changes of the {@link Tenant} in their context.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductChangeAdapter implements ProductChangePort {
+
+    // Only transactions older than the oldest running one are final: no change
+    // can be committed before them later. The product is joined in its current state.
+    private static final String FIND_AFTER_SQL = """
+            SELECT c.txid, c.id AS change_id, c.product_id, c.change_type, c.version AS change_version,
+                   c.changed_at, p.*
+            FROM product_changes c
+            LEFT JOIN products p ON p.id = c.product_id AND c.change_type = 'UPSERT'
+            WHERE c.tenant_id = :tenantId
+              AND (c.txid, c.id) > (:txid, :id)
+              AND c.txid < txid_snapshot_xmin(txid_current_snapshot())
+            ORDER BY c.txid, c.id
+            LIMIT :limit
+            """;
+
+    private static final String FIND_HEAD_SQL = "SELECT txid_snapshot_xmin(txid_current_snapshot()) AS xmin";
+
+    private static final String FIND_HORIZON_SQL =
+            "SELECT txid, id FROM product_change_horizons WHERE tenant_id = :tenantId";
+
+    // The horizon moves in the same statement as the delete, so no consumer can see
+    // changes gone without the horizon past them. It never moves back.
+    private static final String DELETE_BEFORE_SQL = """
+            WITH pruned AS (
+                DELETE FROM product_changes WHERE changed_at < :cutoff
+                RETURNING tenant_id, txid, id
+            ), latest AS (
+                SELECT DISTINCT ON (tenant_id) tenant_id, txid, id
+                FROM pruned
+                ORDER BY tenant_id, txid DESC, id DESC
+            ), horizons AS (
+                INSERT INTO product_change_horizons AS h (tenant_id, txid, id)
+                SELECT tenant_id, txid, id FROM latest
+                ON CONFLICT (tenant_id) DO UPDATE SET txid = EXCLUDED.txid, id = EXCLUDED.id
+                WHERE (EXCLUDED.txid, EXCLUDED.id) > (h.txid, h.id)
+            )
+            SELECT count(*) AS deleted FROM pruned
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final ProductRowMapper rowMapper;
+
+    @Override
+    public Flux<ProductChange> findChangesAfter(ChangeOffset after, int limit) {
+        return Flux.deferContextual(context -> databaseClient.sql(FIND_AFTER_SQL)
+                .bind("tenantId", Tenant.of(context).id())
+                .bind("txid", after.transaction())
+                .bind("id", after.sequence())
+                .bind("limit", limit)
+                .map(this::toChange)
+                .all());
+    }
+
+    @Override
+    public Mono<ChangeOffset> findHead() {
+        // Every change of a transaction at or after xmin is still to come
+        return databaseClient.sql(FIND_HEAD_SQL)
+                .map(row -> new ChangeOffset(row.get("xmin", Long.class) - 1, Long.MAX_VALUE))
+                .one();
+    }
+
+    @Override
+    public Mono<ChangeOffset> findHorizon() {
+        return Mono.deferContextual(context -> databaseClient.sql(FIND_HORIZON_SQL)
+                .bind("tenantId", Tenant.of(context).id())
+                .map(row -> new ChangeOffset(row.get("txid", Long.class), row.get("id", Long.class)))
+                .one());
+    }
+
+    @Override
+    public Mono<Long> deleteChangesBefore(Instant cutoff) {
+        return databaseClient.sql(DELETE_BEFORE_SQL)
+                .bind("cutoff", cutoff)
+                .map(row -> row.get("deleted", Long.class))
+                .one();
+    }
+
+    private ProductChange toChange(Row row, RowMetadata metadata) {
+        ProductChange change = new ProductChange();
+        change.setOffset(new ChangeOffset(row.get("txid", Long.class), row.get("change_id", Long.class)));
+        change.setProductId(row.get("product_id", Long.class));
+        change.setType(ProductChange.Type.valueOf(row.get("change_type", String.class)));
+        change.setVersion(row.get("change_version", Long.class));
+        change.setChangedAt(row.get("changed_at", Instant.class));
+        if (row.get("id", Long.class) != null) {
+            change.setProduct(rowMapper.apply(row, metadata));
+        }
+        return change;
+    }
+}
@@ -1,68 +1,487 @@
 package com.mrin.gvm.adapter.out.persistence;
 
+import com.mrin.gvm.adapter.out.persistence.entity.ProductEntity;
 import com.mrin.gvm.adapter.out.persistence.mapper.ProductMapper;
+import com.mrin.gvm.adapter.out.persistence.mapper.ProductRowMapper;
 import com.mrin.gvm.adapter.out.persistence.repository.ProductR2dbcRepository;
+import com.mrin.gvm.adapter.out.persistence.routing.ReadYourWrites;
+import com.mrin.gvm.domain.model.InventoryStats;
 import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.model.Tenant;
+import com.mrin.gvm.domain.model.UpsertedProduct;
 import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 /**
  * Persistence adapter implementing the ProductPersistencePort.
  * This is the outbound adapter that connects the hexagon to PostgreSQL via
  * R2DBC.
- * It translates between domain models and persistence entities.
+ * Writes of whole products go through the Spring Data repository and its
+ * entities; reads and set-based statements use SQL mapped straight to the
+ * domain model by {@link ProductRowMapper}.
+ * When read replicas are configured, reads are routed to them by
+ * {@link ReadYourWrites} and every write notes the products it touched there.
+ * Every statement is scoped to the {@link Tenant} in the subscriber context.
+ * The {@code jdbc} profile replaces it with the blocking JDBC adapter.
  */
 @Component
+@Profile("!jdbc")
+@Qualifier("productStore")
 @RequiredArgsConstructor
 public class ProductPersistenceAdapter implements ProductPersistencePort {
 
+    /**
+     * Rows fetched per cursor round trip when streaming the whole table.
+     */
+    private static final int STREAM_FETCH_SIZE = 256;
+
     private final ProductR2dbcRepository repository;
     private final ProductMapper mapper;
+    private final ProductRowMapper rowMapper;
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final ReadYourWrites readYourWrites;
+
+    private static final String FIND_BY_ID_SQL = "SELECT * FROM products WHERE id = :id AND tenant_id = :tenantId";
+
+    private static final String FIND_ALL_BY_ID_SQL =
+            "SELECT * FROM products WHERE id = ANY(:ids) AND tenant_id = :tenantId";
+
+    private static final String FIND_BY_NAME_SQL =
+            "SELECT * FROM products WHERE tenant_id = :tenantId AND name = :name";
+
+    private static final String FIND_PAGE_SQL = """
+            SELECT * FROM products
+            WHERE tenant_id = :tenantId AND id > :afterId
+            ORDER BY id
+            LIMIT :limit
+            """;
+
+    private static final String FIND_ALL_SQL = "SELECT * FROM products WHERE tenant_id = :tenantId ORDER BY id";
+
+    // Served in order by the "C"-collated prefix index (see schema.sql)
+    private static final String SEARCH_PREFIX_SQL = """
+            SELECT * FROM products
+            WHERE tenant_id = :tenantId AND lower(name) COLLATE "C" LIKE :pattern
+            ORDER BY lower(name) COLLATE "C"
+            LIMIT :limit
+            """;
+
+    // Ordered by ID rather than name: a bitmap scan of the trigram index returns matches
+    // unordered, so sorting by name would read every match before the LIMIT applies. By
+    // ID, PostgreSQL can instead walk the (tenant_id, id) index and stop at the LIMIT when
+    // the term is common, and use the trigram index when it is rare.
+    private static final String SEARCH_CONTAINS_SQL = """
+            SELECT * FROM products
+            WHERE lower(name) LIKE :pattern AND tenant_id = :tenantId
+            ORDER BY id
+            LIMIT :limit
+            """;
+
+    // One statement, so the totals and the listed products come from the same snapshot.
+    // Both parts are served by the (tenant_id, quantity, id) index, which includes the
+    // price so the totals can be read from the index alone (see schema.sql). Every row
+    // carries the totals; without low-stock products there is one row with a null product.
+    private static final String STATS_SQL = """
+            WITH totals AS (
+                SELECT count(*) AS count,
+                    coalesce(sum(quantity), 0) AS total_quantity,
+                    coalesce(sum(price * quantity), 0) AS total_value,
+                    count(*) FILTER (WHERE quantity < :threshold) AS low_stock_count
+                FROM products
+                WHERE tenant_id = :tenantId
+            ), low_stock AS (
+                SELECT * FROM products
+                WHERE tenant_id = :tenantId AND quantity < :threshold
+                ORDER BY quantity, id
+                LIMIT :limit
+            )
+            SELECT totals.*, low_stock.*
+            FROM totals LEFT JOIN low_stock ON true
+            ORDER BY low_stock.quantity, low_stock.id
+            """;
+
+    // Every write also appends to the product_changes outbox (see schema.sql). The SQL
+    // writes do it in a data-modifying CTE, so the change is part of the same statement.
+    private static final String RESERVE_STOCK_SQL = """
+            WITH stored AS (
+                UPDATE products SET quantity = quantity - :quantity, version = version + 1, updated_at = now()
+                WHERE id = :id AND tenant_id = :tenantId AND quantity >= :quantity
+                RETURNING *
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'UPSERT', version FROM stored
+            )
+            SELECT * FROM stored
+            """;
+
+    // Matches nothing rather than failing with "integer out of range" when the
+    // quantity column would overflow
+    private static final String RELEASE_STOCK_SQL = """
+            WITH stored AS (
+                UPDATE products SET quantity = quantity + :quantity, version = version + 1, updated_at = now()
+                WHERE id = :id AND tenant_id = :tenantId AND quantity <= 2147483647 - :quantity
+                RETURNING *
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'UPSERT', version FROM stored
+            )
+            SELECT * FROM stored
+            """;
+
+    // xmax is only set on the row version a conflict updated, so "inserted" tells a
+    // new product from a merged one
+    private static final String UPSERT_BY_NAME_SQL = """
+            WITH stored AS (
+                INSERT INTO products (name, description, price, quantity, tenant_id)
+                VALUES ($1, $2, $3, $4, $5)
+                ON CONFLICT (tenant_id, name) DO UPDATE SET
+                    description = EXCLUDED.description,
+                    price = EXCLUDED.price,
+                    quantity = products.quantity + EXCLUDED.quantity,
+                    version = products.version + 1,
+                    updated_at = now()
+                RETURNING *, xmax = 0 AS inserted
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'UPSERT', version FROM stored
+            )
+            SELECT * FROM stored
+            """;
+
+    private static final String UPDATE_BY_ID_SQL = """
+            WITH stored AS (
+                UPDATE products SET name = $1, description = $2, price = $3, quantity = $4,
+                    version = version + 1, updated_at = now()
+                WHERE id = $6 AND tenant_id = $5
+                RETURNING *
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'UPSERT', version FROM stored
+            )
+            SELECT * FROM stored
+            """;
+
+    private static final String DELETE_ALL_BY_ID_SQL = """
+            WITH removed AS (
+                DELETE FROM products WHERE id = ANY(:ids) AND tenant_id = :tenantId
+                RETURNING tenant_id, id, version
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'DELETE', version FROM removed
+            )
+            SELECT id FROM removed
+            """;
+
+    private static final String DELETE_ALL_SQL = """
+            WITH removed AS (
+                DELETE FROM products WHERE tenant_id = :tenantId
+                RETURNING tenant_id, id, version
+            )
+            INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+            SELECT tenant_id, id, 'DELETE', version FROM removed
+            """;
+
+    private static final String LOG_CHANGE_SQL = """
+            INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+            VALUES (:tenantId, :id, :type, :version)
+            """;
 
     @Override
     public Mono<Product> save(Product product) {
-        return Mono.just(product)
-                .map(mapper::toEntity)
-                .flatMap(repository::save)
-                .map(mapper::toDomain);
+        return Mono.deferContextual(context -> product.getVersion() == null
+                        ? insert(product, tenantId(context))
+                        : updateVersioned(product, tenantId(context)))
+                .doOnNext(saved -> readYourWrites.written(saved.getId()))
+                // The version that was read is out of date; the retry must not read it again
+                .doOnError(OptimisticLockingFailureException.class, e -> readYourWrites.written(product.getId()));
+    }
+
+    @Override
+    public Mono<Product> upsertByName(Product product) {
+        return execute(UPSERT_BY_NAME_SQL, List.of(product), (statement, p) -> { }).next()
+                .doOnNext(stored -> readYourWrites.written(stored.getId()));
+    }
+
+    @Override
+    public Flux<UpsertedProduct> upsertAllByName(List<Product> products) {
+        return transactionalOperator.transactional(
+                        execute(UPSERT_BY_NAME_SQL, products, (statement, product) -> { },
+                                (row, metadata) -> new UpsertedProduct(rowMapper.apply(row, metadata),
+                                        Boolean.TRUE.equals(row.get("inserted", Boolean.class)))))
+                .doOnNext(stored -> readYourWrites.written(stored.product().getId()));
+    }
+
+    @Override
+    public Flux<Product> updateAll(List<Product> products) {
+        return transactionalOperator.transactional(
+                        execute(UPDATE_BY_ID_SQL, products, (statement, product) -> statement.bind(5, product.getId())))
+                .doOnNext(updated -> readYourWrites.written(updated.getId()));
+    }
+
+    @Override
+    public Flux<Long> deleteAllById(List<Long> ids) {
+        return Flux.deferContextual(context -> databaseClient
+                        .sql(DELETE_ALL_BY_ID_SQL)
+                        .bind("ids", ids.toArray(Long[]::new))
+                        .bind("tenantId", tenantId(context))
+                        .map(row -> row.get("id", Long.class))
+                        .all())
+                .doOnNext(readYourWrites::written);
+    }
+
+    @Override
+    public Mono<Product> reserveStock(Long id, int quantity) {
+        return changeStock(RESERVE_STOCK_SQL, id, quantity)
+                .doOnNext(reserved -> readYourWrites.written(id));
+    }
+
+    @Override
+    public Mono<Product> releaseStock(Long id, int quantity) {
+        return changeStock(RELEASE_STOCK_SQL, id, quantity)
+                .doOnNext(released -> readYourWrites.written(id));
     }
 
     @Override
     public Flux<Product> findAll() {
-        return repository.findAll()
-                .map(mapper::toDomain);
+        // A non-zero fetch size makes the driver read through a portal in
+        // batches driven by downstream demand instead of buffering every row.
+        return Flux.deferContextual(context -> databaseClient
+                        .sql(FIND_ALL_SQL)
+                        .bind("tenantId", tenantId(context))
+                        .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                        .map(rowMapper)
+                        .all())
+                .contextWrite(readYourWrites.read());
+    }
+
+    @Override
+    public Flux<Product> findPage(long afterId, int limit) {
+        return Flux.deferContextual(context -> databaseClient.sql(FIND_PAGE_SQL)
+                        .bind("tenantId", tenantId(context))
+                        .bind("afterId", afterId)
+                        .bind("limit", limit)
+                        .map(rowMapper)
+                        .all())
+                .contextWrite(readYourWrites.read());
     }
 
     @Override
     public Mono<Product> findById(Long id) {
-        return repository.findById(id)
-                .map(mapper::toDomain);
+        return Mono.deferContextual(context -> databaseClient.sql(FIND_BY_ID_SQL)
+                        .bind("id", id)
+                        .bind("tenantId", tenantId(context))
+                        .map(rowMapper)
+                        .one())
+                .contextWrite(readYourWrites.read(id));
+    }
+
+    @Override
+    public Flux<Product> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.deferContextual(context -> databaseClient.sql(FIND_ALL_BY_ID_SQL)
+                        .bind("ids", ids.toArray(Long[]::new))
+                        .bind("tenantId", tenantId(context))
+                        .map(rowMapper)
+                        .all())
+                .contextWrite(readYourWrites.read(ids));
     }
 
     @Override
     public Mono<Product> findByName(String name) {
-        return repository.findByName(name)
-                .map(mapper::toDomain);
+        return readYourWrites.read(Mono.deferContextual(context -> databaseClient.sql(FIND_BY_NAME_SQL)
+                        .bind("tenantId", tenantId(context))
+                        .bind("name", name)
+                        .map(rowMapper)
+                        .one()),
+                Product::getId);
     }
 
     @Override
-    public Flux<Product> findByNameContainingIgnoreCase(String name) {
-        return repository.findByNameContainingIgnoreCase(name)
-                .map(mapper::toDomain);
+    public Flux<Product> searchByName(String term, SearchMode mode, int limit) {
+        String literal = escapeLike(term.toLowerCase(Locale.ROOT));
+        boolean prefix = mode == SearchMode.PREFIX;
+        return Flux.deferContextual(context -> databaseClient.sql(prefix ? SEARCH_PREFIX_SQL : SEARCH_CONTAINS_SQL)
+                        .bind("tenantId", tenantId(context))
+                        .bind("pattern", prefix ? literal + "%" : "%" + literal + "%")
+                        .bind("limit", limit)
+                        .map(rowMapper)
+                        .all())
+                .contextWrite(readYourWrites.read());
+    }
+
+    @Override
+    public Mono<InventoryStats> computeStats(int lowStockThreshold, int lowStockLimit) {
+        return Flux.deferContextual(context -> databaseClient.sql(STATS_SQL)
+                        .bind("tenantId", tenantId(context))
+                        .bind("threshold", lowStockThreshold)
+                        .bind("limit", lowStockLimit)
+                        .map((row, metadata) -> new StatsRow(
+                                new InventoryStats(
+                                        row.get("count", Long.class),
+                                        row.get("total_quantity", Long.class),
+                                        row.get("total_value", BigDecimal.class),
+                                        lowStockThreshold,
+                                        row.get("low_stock_count", Long.class),
+                                        List.of(),
+                                        Instant.now()),
+                                row.get("id", Long.class) == null ? null : rowMapper.apply(row, metadata)))
+                        .all())
+                .collectList()
+                .map(StatsRow::toStats)
+                .contextWrite(readYourWrites.read());
     }
 
     @Override
     public Mono<Void> delete(Product product) {
-        return Mono.just(product)
-                .map(mapper::toEntity)
-                .flatMap(repository::delete);
+        return Mono.deferContextual(context ->
+                        repository.deleteVersioned(product.getId(), tenantId(context), product.getVersion()))
+                .flatMap(deleted -> deleted == 0 && product.getVersion() != null
+                        ? Mono.error(conflict(product))
+                        : Mono.<Void>empty())
+                .doOnSuccess(ignored -> readYourWrites.written(product.getId()));
     }
 
     @Override
     public Mono<Void> deleteAll() {
-        return repository.deleteAll();
+        return Mono.deferContextual(context -> databaseClient.sql(DELETE_ALL_SQL)
+                        .bind("tenantId", tenantId(context))
+                        .then())
+                .doOnSuccess(ignored -> readYourWrites.writtenAll());
+    }
+
+    private Mono<Product> insert(Product product, String tenantId) {
+        ProductEntity entity = mapper.toEntity(product);
+        entity.setTenantId(tenantId);
+        // The SQL writes set updated_at themselves; entity writes carry it.
+        // Truncated to the column's precision so the returned value matches a later read.
+        entity.setUpdatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        return repository.save(entity)
+                .flatMap(saved -> logChange(tenantId, saved.getId(), "UPSERT", saved.getVersion()).thenReturn(saved))
+                .map(mapper::toDomain)
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Product> changeStock(String sql, Long id, int quantity) {
+        return Mono.deferContextual(context -> databaseClient.sql(sql)
+                .bind("id", id)
+                .bind("tenantId", tenantId(context))
+                .bind("quantity", quantity)
+                .map(rowMapper)
+                .one());
+    }
+
+    private Mono<Product> updateVersioned(Product product, String tenantId) {
+        return repository.updateVersioned(product.getId(), tenantId, product.getVersion(), product.getName(),
+                        product.getDescription(), product.getPrice(), product.getQuantity())
+                .map(mapper::toDomain)
+                .switchIfEmpty(Mono.error(() -> conflict(product)));
+    }
+
+    /**
+     * Append a change for a write made through the entity repository; callers
+     * run it in the write's transaction.
+     */
+    private Mono<Void> logChange(String tenantId, Long id, String type, Long version) {
+        return databaseClient.sql(LOG_CHANGE_SQL)
+                .bind("tenantId", tenantId)
+                .bind("id", id)
+                .bind("type", type)
+                .bind("version", version)
+                .then();
+    }
+
+    /**
+     * Run one statement for every product as a single batched execution on one
+     * connection. The first five parameters are always the product's name,
+     * description, price and quantity, and the tenant of the subscriber.
+     */
+    private Flux<Product> execute(String sql, List<Product> products,
+                                  BiConsumer<Statement, Product> extraBindings) {
+        return execute(sql, products, extraBindings, rowMapper);
+    }
+
+    private <T> Flux<T> execute(String sql, List<Product> products,
+                                BiConsumer<Statement, Product> extraBindings,
+                                BiFunction<Row, RowMetadata, T> mapper) {
+        if (products.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.deferContextual(context -> databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(sql);
+            for (int i = 0; i < products.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                Product product = products.get(i);
+                statement.bind(0, product.getName());
+                if (product.getDescription() == null) {
+                    statement.bindNull(1, String.class);
+                } else {
+                    statement.bind(1, product.getDescription());
+                }
+                statement.bind(2, product.getPrice());
+                statement.bind(3, product.getQuantity());
+                statement.bind(4, tenantId(context));
+                extraBindings.accept(statement, product);
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(result -> result.map(mapper));
+        }));
+    }
+
+    /**
+     * One row of the statistics query: the totals, repeated on every row, and a low-stock product, if any.
+     */
+    private record StatsRow(InventoryStats totals, Product lowStock) {
+
+        static InventoryStats toStats(List<StatsRow> rows) {
+            InventoryStats stats = rows.get(0).totals();
+            stats.setLowStock(rows.stream().map(StatsRow::lowStock).filter(Objects::nonNull).toList());
+            return stats;
+        }
+    }
+
+    private static String tenantId(ContextView context) {
+        return Tenant.of(context).id();
+    }
+
+    private static OptimisticLockingFailureException conflict(Product product) {
+        return new OptimisticLockingFailureException("Failed to write product with id '" + product.getId()
+                + "' (version '" + product.getVersion() + "'); was it updated or deleted concurrently?");
+    }
+
+    /**
+     * Escape LIKE wildcards so the search term is matched literally.
+     */
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 }
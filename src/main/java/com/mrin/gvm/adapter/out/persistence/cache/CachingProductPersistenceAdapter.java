@@ -0,0 +1,142 @@
+package com.mrin.gvm.adapter.out.persistence.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mrin.gvm.adapter.out.persistence.ForwardingProductPersistencePort;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.Tenant;
+import com.mrin.gvm.domain.model.UpsertedProduct;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-through cache in front of another ProductPersistencePort.
+ * Lookups by ID are served from a bounded, time-limited in-process cache.
+ * Concurrent misses on the same ID share a single in-flight database call,
+ * and every mutation invalidates the affected entries once it has completed.
+ * Entries are kept per {@link Tenant}, and loads run in the tenant's context.
+ */
+public class CachingProductPersistenceAdapter extends ForwardingProductPersistencePort {
+
+    static final String CACHE_NAME = "products";
+
+    private record ProductKey(Tenant tenant, Long id) {
+    }
+
+    private final AsyncCache<ProductKey, Product> cache;
+
+    public CachingProductPersistenceAdapter(ProductPersistencePort delegate,
+                                            ProductCacheProperties properties,
+                                            MeterRegistry meterRegistry) {
+        super(delegate);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Mono<Product> findById(Long id) {
+        // The shared future must survive one subscriber cancelling, so cancellation is
+        // not propagated to it. Callers get a copy so the cached instance stays untouched.
+        return Mono.deferContextual(context -> {
+                    Tenant tenant = Tenant.of(context);
+                    // The load outlives this subscriber, so it gets the tenant rather than the whole context
+                    return Mono.fromFuture(() -> cache.get(new ProductKey(tenant, id), (key, executor) -> delegate
+                            .findById(key.id())
+                            .contextWrite(loader -> loader.put(Tenant.class, tenant))
+                            .toFuture()), true);
+                })
+                .map(Product::copy);
+    }
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return Mono.deferContextual(context -> delegate.save(product)
+                .doOnSuccess(saved -> {
+                    invalidate(context, product.getId());
+                    if (saved != null) {
+                        invalidate(context, saved.getId());
+                    }
+                })
+                // A version conflict means the cached copy is stale; the caller retries with a fresh read
+                .doOnError(error -> invalidate(context, product.getId())));
+    }
+
+    @Override
+    public Mono<Product> upsertByName(Product product) {
+        return Mono.deferContextual(context -> delegate.upsertByName(product)
+                .doOnSuccess(stored -> {
+                    if (stored != null) {
+                        invalidate(context, stored.getId());
+                    }
+                }));
+    }
+
+    @Override
+    public Mono<Product> reserveStock(Long id, int quantity) {
+        return Mono.deferContextual(context -> delegate.reserveStock(id, quantity)
+                .doOnSuccess(ignored -> invalidate(context, id)));
+    }
+
+    @Override
+    public Mono<Product> releaseStock(Long id, int quantity) {
+        return Mono.deferContextual(context -> delegate.releaseStock(id, quantity)
+                .doOnSuccess(ignored -> invalidate(context, id)));
+    }
+
+    // Batch writes run in a transaction that commits when the delegate completes,
+    // so entries are invalidated on completion rather than per emitted row.
+
+    @Override
+    public Flux<UpsertedProduct> upsertAllByName(List<Product> products) {
+        return Mono.deferContextual(context -> delegate.upsertAllByName(products)
+                        .collectList()
+                        .doOnSuccess(stored -> stored.forEach(upserted -> invalidate(context, upserted.product().getId()))))
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Flux<Product> updateAll(List<Product> products) {
+        return Flux.deferContextual(context -> delegate.updateAll(products)
+                .doOnComplete(() -> products.forEach(product -> invalidate(context, product.getId()))));
+    }
+
+    @Override
+    public Flux<Long> deleteAllById(List<Long> ids) {
+        return Flux.deferContextual(context -> delegate.deleteAllById(ids)
+                .doOnComplete(() -> ids.forEach(id -> invalidate(context, id))));
+    }
+
+    @Override
+    public Mono<Void> delete(Product product) {
+        return Mono.deferContextual(context -> delegate.delete(product)
+                .doOnSuccess(ignored -> invalidate(context, product.getId()))
+                .doOnError(error -> invalidate(context, product.getId())));
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return delegate.deleteAll()
+                .doOnSuccess(ignored -> cache.synchronous().invalidateAll());
+    }
+
+    /**
+     * Drop a product of the tenant in the writer's context; only that tenant can read it.
+     */
+    private void invalidate(ContextView context, Long id) {
+        if (id != null) {
+            // Also drops an in-flight load, so a read racing the write cannot repopulate stale data
+            cache.synchronous().invalidate(new ProductKey(Tenant.of(context), id));
+        }
+    }
+}
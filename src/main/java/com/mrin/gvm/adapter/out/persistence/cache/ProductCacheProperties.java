@@ -0,0 +1,30 @@
+package com.mrin.gvm.adapter.out.persistence.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-process product read-through cache.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.persistence.cache")
+public class ProductCacheProperties {
+
+    /**
+     * Whether product lookups by ID are served through the cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of products held in memory.
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * How long an entry is served before it is re-read from the database.
+     * Bounds staleness for writes made by other instances.
+     */
+    private Duration ttl = Duration.ofSeconds(10);
+}
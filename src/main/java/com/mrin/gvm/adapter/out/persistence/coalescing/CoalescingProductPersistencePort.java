@@ -0,0 +1,146 @@
+package com.mrin.gvm.adapter.out.persistence.coalescing;
+
+import com.mrin.gvm.adapter.out.persistence.ForwardingProductPersistencePort;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.Tenant;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Combines concurrent lookups by ID into batched queries.
+ * The first lookup opens a batch that collects IDs for a short window, or
+ * until it holds {@code maxBatchSize} IDs, and is then sent as a single
+ * {@link ProductPersistencePort#findAllById} query. Each waiting lookup gets
+ * its own copy of the product, so callers may modify it as they would a
+ * product read by themselves, or completes empty if it does not exist. Under load this
+ * turns many single-row queries, each taking its own pool connection, into a
+ * few set-based ones; a batch of one ID still runs as a plain findById.
+ * Each {@link Tenant} has its own batches, sent in that tenant's context.
+ */
+public class CoalescingProductPersistencePort extends ForwardingProductPersistencePort {
+
+    static final String BATCH_SIZE_METRIC = "products.coalescing.batch.size";
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Scheduler scheduler;
+    private final DistributionSummary batchSizes;
+
+    private final Object lock = new Object();
+    private final Map<Tenant, Batch> pending = new HashMap<>();
+
+    public CoalescingProductPersistencePort(ProductPersistencePort delegate,
+                                            ProductCoalescingProperties properties,
+                                            MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, Schedulers.parallel());
+    }
+
+    CoalescingProductPersistencePort(ProductPersistencePort delegate,
+                                     ProductCoalescingProperties properties,
+                                     MeterRegistry meterRegistry,
+                                     Scheduler scheduler) {
+        super(delegate);
+        this.windowNanos = properties.getWindow().toNanos();
+        this.maxBatchSize = properties.getMaxBatchSize();
+        this.scheduler = scheduler;
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC)
+                .description("Distinct IDs per coalesced lookup query")
+                .baseUnit("ids")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Product> findById(Long id) {
+        if (id == null) {
+            return delegate.findById(null);
+        }
+        return Mono.deferContextual(context -> enqueue(Tenant.of(context), id));
+    }
+
+    private Mono<Product> enqueue(Tenant tenant, Long id) {
+        Batch full = null;
+        Mono<Product> result;
+        synchronized (lock) {
+            Batch batch = pending.get(tenant);
+            if (batch == null) {
+                Batch opened = new Batch(tenant);
+                batch = opened;
+                pending.put(tenant, opened);
+                scheduler.schedule(() -> flush(opened), windowNanos, TimeUnit.NANOSECONDS);
+            }
+            // Lookups of the same ID within a batch share one result, copied per subscriber
+            result = batch.waiters.computeIfAbsent(id, key -> Sinks.one()).asMono().map(Product::copy);
+            if (batch.waiters.size() >= maxBatchSize) {
+                full = batch;
+                pending.remove(tenant);
+            }
+        }
+        if (full != null) {
+            flush(full);
+        }
+        return result;
+    }
+
+    /**
+     * Send a batch, either when its window ends or when it is full, whichever
+     * comes first; the later call finds it already sent.
+     */
+    private void flush(Batch batch) {
+        synchronized (lock) {
+            pending.remove(batch.tenant, batch);
+        }
+        if (!batch.sent.compareAndSet(false, true)) {
+            return;
+        }
+
+        Map<Long, Sinks.One<Product>> waiters = batch.waiters;
+        batchSizes.record(waiters.size());
+        if (waiters.size() == 1) {
+            Map.Entry<Long, Sinks.One<Product>> only = waiters.entrySet().iterator().next();
+            delegate.findById(only.getKey()).contextWrite(batch::context).subscribe(
+                    product -> only.getValue().tryEmitValue(product),
+                    error -> only.getValue().tryEmitError(error),
+                    () -> only.getValue().tryEmitEmpty());
+            return;
+        }
+        delegate.findAllById(new ArrayList<>(waiters.keySet())).contextWrite(batch::context).subscribe(
+                product -> {
+                    Sinks.One<Product> waiter = waiters.get(product.getId());
+                    if (waiter != null) {
+                        waiter.tryEmitValue(product);
+                    }
+                },
+                error -> waiters.values().forEach(waiter -> waiter.tryEmitError(error)),
+                // Completes the lookups whose ID was not found; the others already have a value
+                () -> waiters.values().forEach(Sinks.One::tryEmitEmpty));
+    }
+
+    private static final class Batch {
+        private final Tenant tenant;
+        private final Map<Long, Sinks.One<Product>> waiters = new HashMap<>();
+        private final AtomicBoolean sent = new AtomicBoolean();
+
+        Batch(Tenant tenant) {
+            this.tenant = tenant;
+        }
+
+        /**
+         * The query is sent outside any lookup's subscription, so it only carries the tenant.
+         */
+        Context context(Context context) {
+            return context.put(Tenant.class, tenant);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.mrin.gvm.adapter.out.persistence.coalescing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for coalescing concurrent product lookups by ID into batched queries.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.persistence.coalescing")
+public class ProductCoalescingProperties {
+
+    /**
+     * Whether concurrent lookups by ID are combined into one query.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long the first lookup of a batch waits for others to join it.
+     * Adds at most this much latency to a lookup.
+     */
+    private Duration window = Duration.ofMillis(1);
+
+    /**
+     * Number of distinct IDs that sends a batch immediately, without waiting
+     * for the window to end.
+     */
+    private int maxBatchSize = 128;
+}
@@ -5,9 +5,12 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.InsertOnlyProperty;
 import org.springframework.data.relational.core.mapping.Table;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 /**
  * JPA/R2DBC entity for Product persistence.
@@ -23,6 +26,12 @@ public class ProductEntity {
     @Id
     private Long id;
 
+    /**
+     * Owning tenant; set from the request context on insert and never changed.
+     */
+    @InsertOnlyProperty
+    private String tenantId;
+
     @NotBlank(message = "Product name is required")
     @Size(min = 2, max = 100, message = "Product name must be between 2 and 100 characters")
     private String name;
@@ -37,4 +46,9 @@ public class ProductEntity {
     @NotNull(message = "Quantity is required")
     @Min(value = 0, message = "Quantity cannot be negative")
     private Integer quantity;
+
+    @Version
+    private Long version;
+
+    private Instant updatedAt;
 }
@@ -0,0 +1,311 @@
+package com.mrin.gvm.adapter.out.persistence.fallback;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mrin.gvm.adapter.out.persistence.ForwardingProductPersistencePort;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.ReadStaleness;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.model.Tenant;
+import com.mrin.gvm.domain.model.UpsertedProduct;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the last successful result of every lookup by ID, page and search,
+ * and serves it when the database fails or does not answer within the
+ * timeout, so reads keep working through an outage.
+ * <p>
+ * Consecutive failures open a circuit. While it is open, reads with a snapshot
+ * are answered from it straight away; once the open period is over, one of
+ * them at a time revalidates its snapshot in the background, and the first
+ * success closes the circuit. A failed revalidation lets the next read try
+ * again, so the dead connections a pool holds after a database restart are
+ * worked through quickly. Reads without a snapshot always go to the
+ * database. Snapshots are bounded by the number of products they hold and are
+ * dropped when a write through this port touches the product. Whenever stale
+ * data is served, its age is recorded in the {@link ReadStaleness} of the
+ * subscriber context, if there is one. Snapshots are kept per {@link Tenant}.
+ */
+public class FallbackProductPersistencePort extends ForwardingProductPersistencePort {
+
+    static final String CACHE_NAME = "product-snapshots";
+    static final String SERVED_METRIC = "products.fallback.served";
+    static final String STALENESS_METRIC = "products.fallback.staleness";
+    static final String CIRCUIT_METRIC = "products.fallback.circuit.open";
+
+    private record TenantKey(Tenant tenant, Object key) {
+    }
+
+    private record PageKey(long afterId, int limit) {
+    }
+
+    private record SearchKey(String term, SearchMode mode, int limit) {
+    }
+
+    private record Snapshot(Object value, long readAtNanos, int weight) {
+    }
+
+    private final Duration timeout;
+    private final Scheduler scheduler;
+    private final Circuit circuit;
+    private final Cache<Object, Snapshot> snapshots;
+    private final Map<String, Counter> served = new ConcurrentHashMap<>();
+    private final Timer staleness;
+    private final MeterRegistry meterRegistry;
+
+    public FallbackProductPersistencePort(ProductPersistencePort delegate,
+                                          ProductFallbackProperties properties,
+                                          MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, Schedulers.parallel());
+    }
+
+    FallbackProductPersistencePort(ProductPersistencePort delegate,
+                                   ProductFallbackProperties properties,
+                                   MeterRegistry meterRegistry,
+                                   Scheduler scheduler) {
+        super(delegate);
+        this.timeout = properties.getTimeout();
+        this.scheduler = scheduler;
+        this.circuit = new Circuit(properties.getFailureThreshold(), properties.getOpenDuration().toNanos());
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxProducts())
+                .weigher((Object key, Snapshot snapshot) -> snapshot.weight())
+                .recordStats()
+                .build();
+        this.meterRegistry = meterRegistry;
+        this.staleness = Timer.builder(STALENESS_METRIC)
+                .description("Age of snapshots served instead of database reads")
+                .register(meterRegistry);
+        Gauge.builder(CIRCUIT_METRIC, circuit, open -> open.isOpen() ? 1 : 0)
+                .description("Whether reads are served from snapshots without trying the database")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, CACHE_NAME);
+    }
+
+    @Override
+    public Mono<Product> findById(Long id) {
+        if (id == null) {
+            return delegate.findById(null);
+        }
+        return read("findById", id, () -> delegate.findById(id), Product::copy, product -> 1);
+    }
+
+    @Override
+    public Flux<Product> findPage(long afterId, int limit) {
+        return read("findPage", new PageKey(afterId, limit), () -> delegate.findPage(afterId, limit).collectList(),
+                FallbackProductPersistencePort::copyAll, page -> page.size() + 1)
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Flux<Product> searchByName(String term, SearchMode mode, int limit) {
+        return read("searchByName", new SearchKey(term, mode, limit),
+                () -> delegate.searchByName(term, mode, limit).collectList(),
+                FallbackProductPersistencePort::copyAll, results -> results.size() + 1)
+                .flatMapIterable(Function.identity());
+    }
+
+    // Writes drop the snapshot of the products they touch once they have succeeded;
+    // pages and search results are refreshed by their next successful read.
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return Mono.deferContextual(context -> delegate.save(product)
+                .doOnSuccess(saved -> forget(context, product.getId())));
+    }
+
+    @Override
+    public Mono<Product> upsertByName(Product product) {
+        return Mono.deferContextual(context -> delegate.upsertByName(product)
+                .doOnSuccess(stored -> forget(context, stored == null ? null : stored.getId())));
+    }
+
+    @Override
+    public Flux<UpsertedProduct> upsertAllByName(List<Product> products) {
+        return Flux.deferContextual(context -> delegate.upsertAllByName(products)
+                .doOnNext(stored -> forget(context, stored.product().getId())));
+    }
+
+    @Override
+    public Flux<Product> updateAll(List<Product> products) {
+        return Flux.deferContextual(context -> delegate.updateAll(products)
+                .doOnNext(updated -> forget(context, updated.getId())));
+    }
+
+    @Override
+    public Flux<Long> deleteAllById(List<Long> ids) {
+        return Flux.deferContextual(context -> delegate.deleteAllById(ids)
+                .doOnNext(id -> forget(context, id)));
+    }
+
+    @Override
+    public Mono<Product> reserveStock(Long id, int quantity) {
+        return Mono.deferContextual(context -> delegate.reserveStock(id, quantity)
+                .doOnSuccess(ignored -> forget(context, id)));
+    }
+
+    @Override
+    public Mono<Product> releaseStock(Long id, int quantity) {
+        return Mono.deferContextual(context -> delegate.releaseStock(id, quantity)
+                .doOnSuccess(ignored -> forget(context, id)));
+    }
+
+    @Override
+    public Mono<Void> delete(Product product) {
+        return Mono.deferContextual(context -> delegate.delete(product)
+                .doOnSuccess(ignored -> forget(context, product.getId())));
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return delegate.deleteAll()
+                .doOnSuccess(ignored -> snapshots.invalidateAll());
+    }
+
+    boolean isCircuitOpen() {
+        return circuit.isOpen();
+    }
+
+    private <T> Mono<T> read(String query, Object queryKey, Supplier<Mono<T>> call,
+                             UnaryOperator<T> copy, Function<T, Integer> weight) {
+        return Mono.deferContextual(context -> {
+            Tenant tenant = Tenant.of(context);
+            TenantKey key = new TenantKey(tenant, queryKey);
+            Snapshot snapshot = snapshots.getIfPresent(key);
+            if (snapshot == null) {
+                return call.get()
+                        .doOnSuccess(value -> succeeded(key, value, copy, weight))
+                        .doOnError(error -> circuit.failed(now()));
+            }
+            if (circuit.isOpen()) {
+                if (circuit.tryRevalidate(now())) {
+                    call.get()
+                            .timeout(timeout, scheduler)
+                            .doOnSuccess(value -> succeeded(key, value, copy, weight))
+                            // Runs detached from this read, so only the tenant is carried over
+                            .contextWrite(revalidation -> revalidation.put(Tenant.class, tenant))
+                            .subscribe(null, error -> circuit.revalidationFailed());
+                }
+                return serve(query, snapshot, copy);
+            }
+            return call.get()
+                    .timeout(timeout, scheduler)
+                    .doOnSuccess(value -> succeeded(key, value, copy, weight))
+                    .onErrorResume(error -> {
+                        circuit.failed(now());
+                        return serve(query, snapshot, copy);
+                    });
+        });
+    }
+
+    private <T> void succeeded(Object key, T value, UnaryOperator<T> copy, Function<T, Integer> weight) {
+        circuit.succeeded();
+        if (value == null) {
+            // The product is gone; serving it later would resurrect it
+            snapshots.invalidate(key);
+        } else {
+            snapshots.put(key, new Snapshot(copy.apply(value), now(), weight.apply(value)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> serve(String query, Snapshot snapshot, UnaryOperator<T> copy) {
+        return Mono.deferContextual(context -> {
+            Duration age = Duration.ofNanos(now() - snapshot.readAtNanos());
+            context.<ReadStaleness>getOrEmpty(ReadStaleness.class).ifPresent(read -> read.record(age));
+            staleness.record(age);
+            served.computeIfAbsent(query, key -> Counter.builder(SERVED_METRIC)
+                            .description("Reads answered from a snapshot instead of the database")
+                            .tag("method", key)
+                            .register(meterRegistry))
+                    .increment();
+            return Mono.just(copy.apply((T) snapshot.value()));
+        });
+    }
+
+    private void forget(ContextView context, Long id) {
+        if (id != null) {
+            snapshots.invalidate(new TenantKey(Tenant.of(context), id));
+        }
+    }
+
+    private long now() {
+        return scheduler.now(TimeUnit.NANOSECONDS);
+    }
+
+    private static List<Product> copyAll(List<Product> products) {
+        return products.stream().map(Product::copy).toList();
+    }
+
+    /**
+     * Counts consecutive failures and opens after the threshold. Once the open
+     * period is over it is half-open: one revalidation at a time, until one succeeds.
+     */
+    private static final class Circuit {
+
+        private final int failureThreshold;
+        private final long openNanos;
+
+        private int failures;
+        private boolean open;
+        private boolean revalidating;
+        private long retryAtNanos;
+
+        Circuit(int failureThreshold, long openNanos) {
+            this.failureThreshold = failureThreshold;
+            this.openNanos = openNanos;
+        }
+
+        synchronized boolean isOpen() {
+            return open;
+        }
+
+        /**
+         * @return true if the caller should revalidate now; only one caller at a time is told to
+         */
+        synchronized boolean tryRevalidate(long nowNanos) {
+            if (!open || revalidating || nowNanos < retryAtNanos) {
+                return false;
+            }
+            revalidating = true;
+            return true;
+        }
+
+        synchronized void succeeded() {
+            failures = 0;
+            open = false;
+            revalidating = false;
+        }
+
+        synchronized void revalidationFailed() {
+            revalidating = false;
+        }
+
+        synchronized void failed(long nowNanos) {
+            failures++;
+            if (!open && failures >= failureThreshold) {
+                open = true;
+                retryAtNanos = nowNanos + openNanos;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.mrin.gvm.adapter.out.persistence.fallback;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for serving last-known-good reads while the database is unavailable.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.persistence.fallback")
+public class ProductFallbackProperties {
+
+    /**
+     * Whether reads fall back to their last successful result when the
+     * database fails or is too slow.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a read with a snapshot to fall back on may take before the
+     * snapshot is served instead. Reads without one are not cut short.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * Consecutive failed reads that open the circuit. While it is open, reads
+     * with a snapshot are served from it without trying the database.
+     */
+    private int failureThreshold = 5;
+
+    /**
+     * How long the circuit stays open before reads revalidate their snapshots
+     * in the background, one at a time; the first success closes it again.
+     */
+    private Duration openDuration = Duration.ofSeconds(5);
+
+    /**
+     * Maximum number of products held in snapshots, counting every product
+     * of a page or search result.
+     */
+    private long maxProducts = 50_000;
+}
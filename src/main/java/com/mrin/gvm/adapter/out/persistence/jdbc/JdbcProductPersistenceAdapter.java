@@ -0,0 +1,521 @@
+package com.mrin.gvm.adapter.out.persistence.jdbc;
+
+import com.mrin.gvm.domain.model.InventoryStats;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.model.Tenant;
+import com.mrin.gvm.domain.model.UpsertedProduct;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Persistence adapter implementing the ProductPersistencePort with blocking
+ * JDBC over a HikariCP pool, as an alternative to the R2DBC adapter for the
+ * {@code jdbc} profile.
+ * Every call runs on the scheduler from
+ * {@link com.mrin.gvm.config.JdbcPersistenceConfig}, virtual threads where
+ * available, and its result is handed back as a Mono or Flux, so the rest of
+ * the application cannot tell the adapters apart. The SQL matches the R2DBC
+ * adapter, including the product_changes outbox rows written with each change
+ * and the scoping of every statement to the tenant in the subscriber context.
+ */
+@Component
+@Profile("jdbc")
+@Qualifier("productStore")
+public class JdbcProductPersistenceAdapter implements ProductPersistencePort {
+
+    /**
+     * Rows read per keyset query when streaming the whole table.
+     */
+    private static final int STREAM_PAGE_SIZE = 256;
+
+    private static final String FIND_BY_ID_SQL = "SELECT * FROM products WHERE id = :id AND tenant_id = :tenantId";
+
+    private static final String FIND_ALL_BY_ID_SQL =
+            "SELECT * FROM products WHERE id IN (:ids) AND tenant_id = :tenantId";
+
+    private static final String FIND_BY_NAME_SQL =
+            "SELECT * FROM products WHERE tenant_id = :tenantId AND name = :name";
+
+    private static final String FIND_PAGE_SQL = """
+            SELECT * FROM products
+            WHERE tenant_id = :tenantId AND id > :afterId
+            ORDER BY id
+            LIMIT :limit
+            """;
+
+    private static final String SEARCH_PREFIX_SQL = """
+            SELECT * FROM products
+            WHERE tenant_id = :tenantId AND lower(name) COLLATE "C" LIKE :pattern
+            ORDER BY lower(name) COLLATE "C"
+            LIMIT :limit
+            """;
+
+    // By ID, so a common term can stop at the LIMIT (see ProductPersistenceAdapter)
+    private static final String SEARCH_CONTAINS_SQL = """
+            SELECT * FROM products
+            WHERE lower(name) LIKE :pattern AND tenant_id = :tenantId
+            ORDER BY id
+            LIMIT :limit
+            """;
+
+    // One statement, so the totals and the listed products come from the same snapshot.
+    // Every row carries the totals; without low-stock products there is one row with a null product.
+    private static final String STATS_SQL = """
+            WITH totals AS (
+                SELECT count(*) AS count,
+                    coalesce(sum(quantity), 0) AS total_quantity,
+                    coalesce(sum(price * quantity), 0) AS total_value,
+                    count(*) FILTER (WHERE quantity < :threshold) AS low_stock_count
+                FROM products
+                WHERE tenant_id = :tenantId
+            ), low_stock AS (
+                SELECT * FROM products
+                WHERE tenant_id = :tenantId AND quantity < :threshold
+                ORDER BY quantity, id
+                LIMIT :limit
+            )
+            SELECT totals.*, low_stock.*
+            FROM totals LEFT JOIN low_stock ON true
+            ORDER BY low_stock.quantity, low_stock.id
+            """;
+
+    private static final String INSERT_SQL = """
+            WITH stored AS (
+                INSERT INTO products (tenant_id, name, description, price, quantity)
+                VALUES (:tenantId, :name, :description, :price, :quantity)
+                RETURNING *
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'UPSERT', version FROM stored
+            )
+            SELECT * FROM stored
+            """;
+
+    // Optimistic locking as done by Spring Data for @Version entities
+    private static final String UPDATE_VERSIONED_SQL = """
+            WITH stored AS (
+                UPDATE products SET name = :name, description = :description, price = :price,
+                    quantity = :quantity, version = version + 1, updated_at = now()
+                WHERE id = :id AND tenant_id = :tenantId AND version = :version
+                RETURNING *
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'UPSERT', version FROM stored
+            )
+            SELECT * FROM stored
+            """;
+
+    // "inserted" tells a new product from a merged one (see ProductPersistenceAdapter)
+    private static final String UPSERT_BY_NAME_SQL = """
+            WITH stored AS (
+                INSERT INTO products (tenant_id, name, description, price, quantity)
+                VALUES (:tenantId, :name, :description, :price, :quantity)
+                ON CONFLICT (tenant_id, name) DO UPDATE SET
+                    description = EXCLUDED.description,
+                    price = EXCLUDED.price,
+                    quantity = products.quantity + EXCLUDED.quantity,
+                    version = products.version + 1,
+                    updated_at = now()
+                RETURNING *, xmax = 0 AS inserted
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'UPSERT', version FROM stored
+            )
+            SELECT * FROM stored
+            """;
+
+    private static final String UPDATE_BY_ID_SQL = """
+            WITH stored AS (
+                UPDATE products SET name = :name, description = :description, price = :price,
+                    quantity = :quantity, version = version + 1, updated_at = now()
+                WHERE id = :id AND tenant_id = :tenantId
+                RETURNING *
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'UPSERT', version FROM stored
+            )
+            SELECT * FROM stored
+            """;
+
+    private static final String RESERVE_STOCK_SQL = """
+            WITH stored AS (
+                UPDATE products SET quantity = quantity - :quantity, version = version + 1, updated_at = now()
+                WHERE id = :id AND tenant_id = :tenantId AND quantity >= :quantity
+                RETURNING *
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'UPSERT', version FROM stored
+            )
+            SELECT * FROM stored
+            """;
+
+    // Matches nothing rather than failing with "integer out of range" when the
+    // quantity column would overflow
+    private static final String RELEASE_STOCK_SQL = """
+            WITH stored AS (
+                UPDATE products SET quantity = quantity + :quantity, version = version + 1, updated_at = now()
+                WHERE id = :id AND tenant_id = :tenantId AND quantity <= 2147483647 - :quantity
+                RETURNING *
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'UPSERT', version FROM stored
+            )
+            SELECT * FROM stored
+            """;
+
+    private static final String DELETE_SQL = """
+            WITH removed AS (
+                DELETE FROM products
+                WHERE id = :id AND tenant_id = :tenantId AND version = COALESCE(:version, version)
+                RETURNING tenant_id, id, version
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'DELETE', version FROM removed
+            )
+            SELECT count(*) FROM removed
+            """;
+
+    private static final String DELETE_ALL_BY_ID_SQL = """
+            WITH removed AS (
+                DELETE FROM products WHERE id IN (:ids) AND tenant_id = :tenantId
+                RETURNING tenant_id, id, version
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'DELETE', version FROM removed
+            )
+            SELECT id FROM removed
+            """;
+
+    private static final String DELETE_ALL_SQL = """
+            WITH removed AS (
+                DELETE FROM products WHERE tenant_id = :tenantId
+                RETURNING tenant_id, id, version
+            )
+            INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+            SELECT tenant_id, id, 'DELETE', version FROM removed
+            """;
+
+    private final JdbcClient jdbcClient;
+    private final TransactionTemplate transactionTemplate;
+    private final Scheduler scheduler;
+
+    public JdbcProductPersistenceAdapter(JdbcClient jdbcClient, DataSource dataSource, Scheduler jdbcScheduler) {
+        this.jdbcClient = jdbcClient;
+        // Own transaction manager: the application's transaction manager is the R2DBC one
+        this.transactionTemplate = new TransactionTemplate(new JdbcTransactionManager(dataSource));
+        this.scheduler = jdbcScheduler;
+    }
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return call(tenantId -> product.getVersion() == null
+                ? insert(product, tenantId)
+                : updateVersioned(product, tenantId));
+    }
+
+    @Override
+    public Mono<Product> upsertByName(Product product) {
+        return call(tenantId -> write(UPSERT_BY_NAME_SQL, product, tenantId));
+    }
+
+    @Override
+    public Flux<UpsertedProduct> upsertAllByName(List<Product> products) {
+        return callMany(tenantId -> writeAll(UPSERT_BY_NAME_SQL, products, tenantId, (rs, rowNum) ->
+                new UpsertedProduct(toProduct(rs, rowNum), rs.getBoolean("inserted"))));
+    }
+
+    @Override
+    public Flux<Product> updateAll(List<Product> products) {
+        return callMany(tenantId -> writeAll(UPDATE_BY_ID_SQL, products, tenantId));
+    }
+
+    @Override
+    public Flux<Long> deleteAllById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return callMany(tenantId -> jdbcClient.sql(DELETE_ALL_BY_ID_SQL)
+                .param("ids", ids)
+                .param("tenantId", tenantId)
+                .query(Long.class)
+                .list());
+    }
+
+    @Override
+    public Mono<Product> reserveStock(Long id, int quantity) {
+        return call(tenantId -> changeStock(RESERVE_STOCK_SQL, id, quantity, tenantId));
+    }
+
+    @Override
+    public Mono<Product> releaseStock(Long id, int quantity) {
+        return call(tenantId -> changeStock(RELEASE_STOCK_SQL, id, quantity, tenantId));
+    }
+
+    /**
+     * Streams the table one keyset page at a time, each read by a short query
+     * on demand, instead of holding a connection and transaction open for a
+     * server-side cursor while the client consumes the stream.
+     */
+    @Override
+    public Flux<Product> findAll() {
+        return findPageList(0L, STREAM_PAGE_SIZE)
+                .expand(page -> page.size() < STREAM_PAGE_SIZE
+                        ? Mono.empty()
+                        : findPageList(page.get(page.size() - 1).getId(), STREAM_PAGE_SIZE))
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Flux<Product> findPage(long afterId, int limit) {
+        return findPageList(afterId, limit).flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Mono<Product> findById(Long id) {
+        return call(tenantId -> jdbcClient.sql(FIND_BY_ID_SQL)
+                .param("id", id)
+                .param("tenantId", tenantId)
+                .query(JdbcProductPersistenceAdapter::toProduct)
+                .optional()
+                .orElse(null));
+    }
+
+    @Override
+    public Flux<Product> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return callMany(tenantId -> jdbcClient.sql(FIND_ALL_BY_ID_SQL)
+                .param("ids", ids)
+                .param("tenantId", tenantId)
+                .query(JdbcProductPersistenceAdapter::toProduct)
+                .list());
+    }
+
+    @Override
+    public Mono<Product> findByName(String name) {
+        return call(tenantId -> jdbcClient.sql(FIND_BY_NAME_SQL)
+                .param("tenantId", tenantId)
+                .param("name", name)
+                .query(JdbcProductPersistenceAdapter::toProduct)
+                .optional()
+                .orElse(null));
+    }
+
+    @Override
+    public Flux<Product> searchByName(String term, SearchMode mode, int limit) {
+        String literal = escapeLike(term.toLowerCase(Locale.ROOT));
+        boolean prefix = mode == SearchMode.PREFIX;
+        return callMany(tenantId -> jdbcClient.sql(prefix ? SEARCH_PREFIX_SQL : SEARCH_CONTAINS_SQL)
+                .param("tenantId", tenantId)
+                .param("pattern", prefix ? literal + "%" : "%" + literal + "%")
+                .param("limit", limit)
+                .query(JdbcProductPersistenceAdapter::toProduct)
+                .list());
+    }
+
+    @Override
+    public Mono<InventoryStats> computeStats(int lowStockThreshold, int lowStockLimit) {
+        return call(tenantId -> jdbcClient.sql(STATS_SQL)
+                .param("tenantId", tenantId)
+                .param("threshold", lowStockThreshold)
+                .param("limit", lowStockLimit)
+                .query(rs -> {
+                    InventoryStats stats = null;
+                    List<Product> lowStock = new ArrayList<>();
+                    while (rs.next()) {
+                        if (stats == null) {
+                            stats = new InventoryStats(
+                                    rs.getLong("count"),
+                                    rs.getLong("total_quantity"),
+                                    rs.getBigDecimal("total_value"),
+                                    lowStockThreshold,
+                                    rs.getLong("low_stock_count"),
+                                    lowStock,
+                                    Instant.now());
+                        }
+                        if (rs.getObject("id") != null) {
+                            lowStock.add(toProduct(rs, lowStock.size()));
+                        }
+                    }
+                    return stats;
+                }));
+    }
+
+    @Override
+    public Mono<Void> delete(Product product) {
+        return call(tenantId -> {
+            long deleted = jdbcClient.sql(DELETE_SQL)
+                    .param("id", product.getId())
+                    .param("tenantId", tenantId)
+                    .param("version", product.getVersion(), Types.BIGINT)
+                    .query(Long.class)
+                    .single();
+            if (deleted == 0 && product.getVersion() != null) {
+                throw conflict(product);
+            }
+            return deleted;
+        }).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return call(tenantId -> jdbcClient.sql(DELETE_ALL_SQL)
+                .param("tenantId", tenantId)
+                .update()).then();
+    }
+
+    private Product insert(Product product, String tenantId) {
+        return write(INSERT_SQL, product, tenantId);
+    }
+
+    private Product updateVersioned(Product product, String tenantId) {
+        Product stored = jdbcClient.sql(UPDATE_VERSIONED_SQL)
+                .paramSource(params(product, tenantId))
+                .query(JdbcProductPersistenceAdapter::toProduct)
+                .optional()
+                .orElse(null);
+        if (stored == null) {
+            throw conflict(product);
+        }
+        return stored;
+    }
+
+    private Product write(String sql, Product product, String tenantId) {
+        return write(sql, product, tenantId, JdbcProductPersistenceAdapter::toProduct);
+    }
+
+    private <T> T write(String sql, Product product, String tenantId, RowMapper<T> rowMapper) {
+        return jdbcClient.sql(sql)
+                .paramSource(params(product, tenantId))
+                .query(rowMapper)
+                .optional()
+                .orElse(null);
+    }
+
+    /**
+     * Run one statement per product on one connection in a single transaction.
+     *
+     * @return the stored products, in input order, skipping those the statement matched nothing for
+     */
+    private List<Product> writeAll(String sql, List<Product> products, String tenantId) {
+        return writeAll(sql, products, tenantId, JdbcProductPersistenceAdapter::toProduct);
+    }
+
+    private <T> List<T> writeAll(String sql, List<Product> products, String tenantId, RowMapper<T> rowMapper) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        return transactionTemplate.execute(status -> {
+            List<T> stored = new ArrayList<>(products.size());
+            for (Product product : products) {
+                T result = write(sql, product, tenantId, rowMapper);
+                if (result != null) {
+                    stored.add(result);
+                }
+            }
+            return stored;
+        });
+    }
+
+    private Product changeStock(String sql, Long id, int quantity, String tenantId) {
+        return jdbcClient.sql(sql)
+                .param("id", id)
+                .param("tenantId", tenantId)
+                .param("quantity", quantity)
+                .query(JdbcProductPersistenceAdapter::toProduct)
+                .optional()
+                .orElse(null);
+    }
+
+    private Mono<List<Product>> findPageList(long afterId, int limit) {
+        return call(tenantId -> jdbcClient.sql(FIND_PAGE_SQL)
+                .param("tenantId", tenantId)
+                .param("afterId", afterId)
+                .param("limit", limit)
+                .query(JdbcProductPersistenceAdapter::toProduct)
+                .list());
+    }
+
+    /**
+     * Run blocking work on the JDBC scheduler; a null result completes empty.
+     * The work gets the ID of the tenant in the subscriber context.
+     */
+    private <T> Mono<T> call(Function<String, T> work) {
+        return Mono.deferContextual(context -> {
+                    String tenantId = Tenant.of(context).id();
+                    return Mono.fromCallable(() -> work.apply(tenantId));
+                })
+                .subscribeOn(scheduler);
+    }
+
+    private <T> Flux<T> callMany(Function<String, List<T>> work) {
+        return call(work).flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Parameters of a product statement: :name, :description, :price, :quantity,
+     * :id and :version of the product, and :tenantId.
+     */
+    private static SqlParameterSource params(Product product, String tenantId) {
+        return new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("id", product.getId(), Types.BIGINT)
+                .addValue("name", product.getName())
+                .addValue("description", product.getDescription(), Types.VARCHAR)
+                .addValue("price", product.getPrice())
+                .addValue("quantity", product.getQuantity())
+                .addValue("version", product.getVersion(), Types.BIGINT);
+    }
+
+    private static OptimisticLockingFailureException conflict(Product product) {
+        return new OptimisticLockingFailureException("Failed to write product with id '" + product.getId()
+                + "' (version '" + product.getVersion() + "'); was it updated or deleted concurrently?");
+    }
+
+    private static Product toProduct(ResultSet rs, int rowNum) throws SQLException {
+        Product product = new Product();
+        product.setId(rs.getLong("id"));
+        product.setName(rs.getString("name"));
+        product.setDescription(rs.getString("description"));
+        product.setPrice(rs.getBigDecimal("price"));
+        product.setQuantity(rs.getInt("quantity"));
+        product.setVersion(rs.getLong("version"));
+        product.setUpdatedAt(rs.getObject("updated_at", OffsetDateTime.class).toInstant());
+        return product;
+    }
+
+    /**
+     * Escape LIKE wildcards so the search term is matched literally.
+     */
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -28,6 +28,8 @@ public class ProductMapper {
         entity.setDescription(product.getDescription());
         entity.setPrice(product.getPrice());
         entity.setQuantity(product.getQuantity());
+        entity.setVersion(product.getVersion());
+        entity.setUpdatedAt(product.getUpdatedAt());
         return entity;
     }
 
@@ -48,6 +50,8 @@ public class ProductMapper {
         product.setDescription(entity.getDescription());
         product.setPrice(entity.getPrice());
         product.setQuantity(entity.getQuantity());
+        product.setVersion(entity.getVersion());
+        product.setUpdatedAt(entity.getUpdatedAt());
         return product;
     }
 }
@@ -0,0 +1,32 @@
+package com.mrin.gvm.adapter.out.persistence.mapper;
+
+import com.mrin.gvm.domain.model.Product;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.function.BiFunction;
+
+/**
+ * Maps a {@code products} row straight to the domain model.
+ * Used on the read path instead of the generic entity converter, so each row
+ * costs one Product allocation instead of an entity plus a copy of it.
+ */
+@Component
+public class ProductRowMapper implements BiFunction<Row, RowMetadata, Product> {
+
+    @Override
+    public Product apply(Row row, RowMetadata metadata) {
+        Product product = new Product();
+        product.setId(row.get("id", Long.class));
+        product.setName(row.get("name", String.class));
+        product.setDescription(row.get("description", String.class));
+        product.setPrice(row.get("price", BigDecimal.class));
+        product.setQuantity(row.get("quantity", Integer.class));
+        product.setVersion(row.get("version", Long.class));
+        product.setUpdatedAt(row.get("updated_at", Instant.class));
+        return product;
+    }
+}
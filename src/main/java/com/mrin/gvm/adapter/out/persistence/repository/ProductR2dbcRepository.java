@@ -1,31 +1,73 @@
 package com.mrin.gvm.adapter.out.persistence.repository;
 
 import com.mrin.gvm.adapter.out.persistence.entity.ProductEntity;
-import org.springframework.data.repository.reactive.ReactiveCrudRepository;
-import org.springframework.stereotype.Repository;
-import reactor.core.publisher.Flux;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.r2dbc.repository.Query;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+
 /**
  * Spring Data R2DBC repository for ProductEntity.
  * This is the actual database access implementation.
+ * It only exposes statements that cannot cross tenants: inserts take the
+ * tenant from the entity, and updates and deletes match it along with the
+ * ID, so a product of one tenant cannot be written by another even when its
+ * ID is known. Reads are issued by the adapter, which scopes them itself.
  */
-@Repository
-public interface ProductR2dbcRepository extends ReactiveCrudRepository<ProductEntity, Long> {
+public interface ProductR2dbcRepository extends Repository<ProductEntity, Long> {
+
+    /**
+     * Insert a new product into the tenant of the entity.
+     *
+     * @param entity the product, without ID
+     * @return mono of the stored product with its generated ID
+     */
+    Mono<ProductEntity> save(ProductEntity entity);
 
     /**
-     * Find products by name containing the given string (case-insensitive).
+     * Overwrite a product if it still has the given version, as Spring Data
+     * does for {@code @Version} entities, but only within the tenant.
      *
-     * @param name the name to search for
-     * @return flux of matching products
+     * @param id       the product ID
+     * @param tenantId the tenant the product belongs to
+     * @param version  the version the caller read
+     * @return mono of the updated product, empty if it does not exist, belongs
+     * to another tenant or has been changed since
      */
-    Flux<ProductEntity> findByNameContainingIgnoreCase(String name);
+    @Query("""
+            WITH stored AS (
+                UPDATE products SET name = :name, description = :description, price = :price,
+                    quantity = :quantity, version = version + 1, updated_at = now()
+                WHERE id = :id AND tenant_id = :tenantId AND version = :version
+                RETURNING *
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'UPSERT', version FROM stored
+            )
+            SELECT * FROM stored
+            """)
+    Mono<ProductEntity> updateVersioned(Long id, String tenantId, Long version, String name,
+                                        String description, BigDecimal price, Integer quantity);
 
     /**
-     * Find product by exact name.
+     * Delete a product within the tenant, if it still has the given version.
      *
-     * @param name the name to search for
-     * @return mono of the product if found
+     * @param id       the product ID
+     * @param tenantId the tenant the product belongs to
+     * @param version  the version the caller read, null to delete any version
+     * @return mono of the number of deleted products, 0 or 1
      */
-    Mono<ProductEntity> findByName(String name);
+    @Query("""
+            WITH removed AS (
+                DELETE FROM products
+                WHERE id = :id AND tenant_id = :tenantId AND version = COALESCE(:version, version)
+                RETURNING tenant_id, id, version
+            ), logged AS (
+                INSERT INTO product_changes (tenant_id, product_id, change_type, version)
+                SELECT tenant_id, id, 'DELETE', version FROM removed
+            )
+            SELECT count(*) FROM removed
+            """)
+    Mono<Long> deleteVersioned(Long id, String tenantId, Long version);
 }
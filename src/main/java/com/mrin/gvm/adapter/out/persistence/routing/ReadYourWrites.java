@@ -0,0 +1,148 @@
+package com.mrin.gvm.adapter.out.persistence.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Decides which reads may go to a replica. Products this instance has written
+ * are read from the primary for the configured stickiness window, so that a
+ * client sees its own writes even while the replicas lag behind; so are all
+ * products after they were all deleted. Everything else is marked for a
+ * replica with {@link ReplicaRoutingConnectionFactory#onReplica}. Without
+ * replicas, nothing is tracked or marked.
+ * Only writes through this instance are known here.
+ */
+public class ReadYourWrites {
+
+    static final String ROUTED_METRIC = "products.replicas.routed";
+
+    private final boolean enabled;
+    private final long stickinessNanos;
+    private final Ticker ticker;
+    private final Cache<Long, Boolean> written;
+    private final Counter toReplica;
+    private final Counter toPrimary;
+
+    private volatile long allWrittenAtNanos;
+    private volatile boolean allWritten;
+
+    public ReadYourWrites(ReplicaProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    ReadYourWrites(ReplicaProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.enabled = !properties.getUrls().isEmpty();
+        this.stickinessNanos = properties.getStickiness().toNanos();
+        this.ticker = ticker;
+        this.written = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedWrites())
+                .expireAfterWrite(properties.getStickiness())
+                .ticker(ticker)
+                .build();
+        this.toReplica = routed(meterRegistry, "replica");
+        this.toPrimary = routed(meterRegistry, "primary");
+    }
+
+    /**
+     * Route a read that is not about particular products, such as a page or a search.
+     */
+    public Function<Context, Context> read() {
+        return read(List.of());
+    }
+
+    /**
+     * Route a read of a single product.
+     */
+    public Function<Context, Context> read(Long id) {
+        return read(id == null ? List.of() : List.of(id));
+    }
+
+    /**
+     * Route a read of the given products; it goes to the primary if any of them is sticky.
+     */
+    public Function<Context, Context> read(Collection<Long> ids) {
+        return context -> {
+            if (!enabled) {
+                return context;
+            }
+            if (allSticky() || ids.stream().anyMatch(id -> written.getIfPresent(id) != null)) {
+                toPrimary.increment();
+                return context;
+            }
+            toReplica.increment();
+            return ReplicaRoutingConnectionFactory.onReplica(context);
+        };
+    }
+
+    /**
+     * Route a read of a product looked up by something other than its ID, such
+     * as its name, so the product is only known from the result. The read goes
+     * to a replica, and again to the primary if the replica's answer may
+     * predate a write of this instance: it found a recently written product,
+     * or it found none while recent writes may have created it.
+     *
+     * @param query the read, subscribed to once or twice
+     * @param idOf  the ID of a product the read found
+     */
+    public <T> Mono<T> read(Mono<T> query, Function<T, Long> idOf) {
+        return Mono.defer(() -> {
+            if (!enabled) {
+                return query;
+            }
+            if (allSticky()) {
+                toPrimary.increment();
+                return query;
+            }
+            toReplica.increment();
+            return query.contextWrite(ReplicaRoutingConnectionFactory::onReplica)
+                    .filter(found -> written.getIfPresent(idOf.apply(found)) == null)
+                    .switchIfEmpty(Mono.defer(() -> {
+                        if (written.estimatedSize() == 0) {
+                            return Mono.empty();
+                        }
+                        toPrimary.increment();
+                        return query;
+                    }));
+        });
+    }
+
+    /**
+     * Note a write of a product, or a failed attempt that showed the read
+     * version to be out of date, so its next reads see the primary.
+     */
+    public void written(Long id) {
+        if (enabled && id != null) {
+            written.put(id, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Note a write that may have touched every product.
+     */
+    public void writtenAll() {
+        if (enabled) {
+            allWrittenAtNanos = ticker.read();
+            allWritten = true;
+        }
+    }
+
+    private boolean allSticky() {
+        return allWritten && ticker.read() - allWrittenAtNanos < stickinessNanos;
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target) {
+        return Counter.builder(ROUTED_METRIC)
+                .description("Reads sent to a replica or, to read recent writes, to the primary")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
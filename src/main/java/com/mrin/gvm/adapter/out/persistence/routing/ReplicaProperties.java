@@ -0,0 +1,47 @@
+package com.mrin.gvm.adapter.out.persistence.routing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for sending reads to read replicas of the database.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.persistence.replicas")
+public class ReplicaProperties {
+
+    /**
+     * R2DBC URLs of read replicas of the database at {@code spring.r2dbc.url}.
+     * Reads are spread over them in turn, each with its own pool sized like
+     * the primary's. When empty, all statements go to the primary.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * User for the replicas; defaults to {@code spring.r2dbc.username}.
+     */
+    private String username;
+
+    /**
+     * Password for the replicas; defaults to {@code spring.r2dbc.password}.
+     */
+    private String password;
+
+    /**
+     * How long reads of a product go to the primary after this instance has
+     * written it, so a client reads its own writes despite replication lag.
+     * Deleting all products makes every read stick to the primary. Writes
+     * through other instances are not tracked.
+     */
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    /**
+     * Maximum number of recently written products remembered for stickiness.
+     * Beyond it, some are read from replicas before their window is over.
+     */
+    private long maxTrackedWrites = 100_000;
+}
@@ -0,0 +1,88 @@
+package com.mrin.gvm.adapter.out.persistence.routing;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection factory that hands out replica connections to reads marked with
+ * {@link #onReplica} in their subscriber context, taking the replicas in
+ * turn, and primary connections to everything else. Unmarked statements, such
+ * as writes, transactions, schema initialization and the change feed, thus
+ * keep using the primary.
+ * <p>
+ * Unwraps to the primary, so the pool metrics and health checks that look
+ * through wrappers find the primary pool under the original bean name.
+ * Disposing it shuts down every pool.
+ */
+public class ReplicaRoutingConnectionFactory extends AbstractRoutingConnectionFactory
+        implements Wrapped<ConnectionFactory>, Disposable {
+
+    private static final Object REPLICA_READ = ReplicaRoutingConnectionFactory.class.getName() + ".replica";
+
+    private final ConnectionFactory primary;
+    private final List<ConnectionFactory> replicas;
+    private final List<String> replicaNames;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary  connection factory for writes and unmarked reads
+     * @param replicas replica connection factories by name, in the order they are used
+     */
+    public ReplicaRoutingConnectionFactory(ConnectionFactory primary, Map<String, ConnectionFactory> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas.values());
+        this.replicaNames = new ArrayList<>(replicas.keySet());
+        setDefaultTargetConnectionFactory(primary);
+        setTargetConnectionFactories(new LinkedHashMap<>(replicas));
+        afterPropertiesSet();
+    }
+
+    /**
+     * Mark the reads of a subscriber context for a replica.
+     */
+    public static Context onReplica(Context context) {
+        return context.put(REPLICA_READ, Boolean.TRUE);
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> {
+            if (replicaNames.isEmpty() || !context.hasKey(REPLICA_READ)) {
+                return Mono.empty();
+            }
+            return Mono.just(replicaNames.get(Math.floorMod(next.getAndIncrement(), replicaNames.size())));
+        });
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return primary;
+    }
+
+    @Override
+    public void dispose() {
+        dispose(primary);
+        replicas.forEach(ReplicaRoutingConnectionFactory::dispose);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return primary instanceof Disposable disposable && disposable.isDisposed();
+    }
+
+    private static void dispose(ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+}
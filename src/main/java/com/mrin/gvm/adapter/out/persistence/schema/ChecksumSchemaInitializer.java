@@ -0,0 +1,79 @@
+package com.mrin.gvm.adapter.out.persistence.schema;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.autoconfigure.sql.init.SqlR2dbcScriptDatabaseInitializer;
+import org.springframework.core.io.Resource;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * The {@code spring.sql.init} script runner, extended to remember what it has
+ * applied: with {@link SchemaInitProperties#isSkipUnchanged()} set, scripts
+ * whose SHA-256 checksum is already recorded in {@code schema_checksums} are
+ * not run again. Any edit to a script changes its checksum, so it runs on the
+ * next start as before.
+ */
+public class ChecksumSchemaInitializer extends SqlR2dbcScriptDatabaseInitializer {
+
+    private static final String FIND_SQL = "SELECT checksum FROM schema_checksums WHERE checksum = :checksum";
+
+    private static final String RECORD_SQL =
+            "INSERT INTO schema_checksums (checksum) VALUES (:checksum) ON CONFLICT DO NOTHING";
+
+    private final DatabaseClient databaseClient;
+    private final SchemaInitProperties properties;
+
+    public ChecksumSchemaInitializer(ConnectionFactory connectionFactory,
+                                     SqlInitializationProperties sqlProperties,
+                                     SchemaInitProperties properties) {
+        super(connectionFactory, sqlProperties);
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.properties = properties;
+    }
+
+    @Override
+    protected void runScripts(Scripts scripts) {
+        if (!properties.isSkipUnchanged()) {
+            super.runScripts(scripts);
+            return;
+        }
+        String checksum = checksum(scripts);
+        // Like the script runner, this blocks: startup has to wait for the schema
+        boolean applied = Boolean.TRUE.equals(databaseClient.sql(FIND_SQL)
+                .bind("checksum", checksum)
+                .map(row -> true)
+                .first()
+                // A new database has no checksum table yet
+                .onErrorReturn(false)
+                .defaultIfEmpty(false)
+                .block());
+        if (applied) {
+            return;
+        }
+        super.runScripts(scripts);
+        databaseClient.sql(RECORD_SQL)
+                .bind("checksum", checksum)
+                .then()
+                .block();
+    }
+
+    private static String checksum(Scripts scripts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Resource script : scripts) {
+                digest.update(script.getContentAsByteArray());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
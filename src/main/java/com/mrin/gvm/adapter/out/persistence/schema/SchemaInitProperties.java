@@ -0,0 +1,19 @@
+package com.mrin.gvm.adapter.out.persistence.schema;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for running the schema scripts at startup.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.persistence.schema")
+public class SchemaInitProperties {
+
+    /**
+     * Whether scripts already applied to the database, by checksum, are skipped.
+     * Turns a restart against an unchanged schema into a single lookup instead
+     * of re-running every statement.
+     */
+    private boolean skipUnchanged = false;
+}
@@ -0,0 +1,78 @@
+package com.mrin.gvm.adapter.out.persistence.stats;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.mrin.gvm.adapter.out.persistence.ForwardingProductPersistencePort;
+import com.mrin.gvm.domain.model.InventoryStats;
+import com.mrin.gvm.domain.model.Tenant;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves inventory statistics from memory, so that their aggregate query runs
+ * at most once per refresh interval rather than once per request.
+ * <p>
+ * Statistics older than the refresh interval are still served while one
+ * recomputation runs in the background, so requests do not wait for the
+ * query once the first figures are in; if it fails, the previous figures stay
+ * until they reach the maximum age. Writes do not invalidate the statistics:
+ * under a steady write load that would recompute them for nearly every
+ * request. They therefore trail writes by up to the refresh interval.
+ * Statistics are kept per {@link Tenant} and threshold, and computed in that
+ * tenant's context. Each entry lists the most low-stock products any caller
+ * may ask for, and callers get the first ones they asked for, so the limit
+ * does not multiply the entries.
+ */
+public class CachedStatsProductPersistencePort extends ForwardingProductPersistencePort {
+
+    static final String CACHE_NAME = "product-stats";
+
+    /**
+     * Distinct tenant and threshold combinations kept; clients normally use one or two per tenant.
+     */
+    private static final int MAX_ENTRIES = 1024;
+
+    private record StatsKey(Tenant tenant, int lowStockThreshold) {
+    }
+
+    private final AsyncLoadingCache<StatsKey, InventoryStats> stats;
+
+    public CachedStatsProductPersistencePort(ProductPersistencePort delegate,
+                                             ProductStatsProperties properties,
+                                             MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    CachedStatsProductPersistencePort(ProductPersistencePort delegate,
+                                      ProductStatsProperties properties,
+                                      MeterRegistry meterRegistry,
+                                      Ticker ticker) {
+        super(delegate);
+        this.stats = Caffeine.newBuilder()
+                .maximumSize(MAX_ENTRIES)
+                .refreshAfterWrite(properties.getRefreshInterval())
+                .expireAfterWrite(properties.getMaxAge())
+                .ticker(ticker)
+                // The loader only subscribes to the query, so it need not be handed to another thread
+                .executor(Runnable::run)
+                .recordStats()
+                // Loads and refreshes run outside any request, so the key carries the tenant
+                .buildAsync((key, executor) -> delegate
+                        .computeStats(key.lowStockThreshold(), InventoryStats.MAX_LOW_STOCK_ITEMS)
+                        .contextWrite(context -> context.put(Tenant.class, key.tenant()))
+                        .toFuture());
+        CaffeineCacheMetrics.monitor(meterRegistry, stats.synchronous(), CACHE_NAME);
+    }
+
+    @Override
+    public Mono<InventoryStats> computeStats(int lowStockThreshold, int lowStockLimit) {
+        // The shared future must survive one subscriber cancelling, so cancellation is
+        // not propagated to it. Callers get a copy so the cached instance stays untouched.
+        return Mono.deferContextual(context -> Mono.fromFuture(() -> stats.get(
+                        new StatsKey(Tenant.of(context), lowStockThreshold)), true))
+                .map(cached -> cached.copy(lowStockLimit));
+    }
+}
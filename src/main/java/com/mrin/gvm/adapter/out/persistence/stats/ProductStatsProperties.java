@@ -0,0 +1,26 @@
+package com.mrin.gvm.adapter.out.persistence.stats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the cached inventory statistics.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.persistence.stats")
+public class ProductStatsProperties {
+
+    /**
+     * How old statistics may get before a request triggers their recomputation
+     * in the background; until it completes, the previous figures are served.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(1);
+
+    /**
+     * How old statistics may get at all. Older ones, e.g. after the service sat
+     * idle, are not served; the request waits for fresh figures instead.
+     */
+    private Duration maxAge = Duration.ofSeconds(30);
+}
@@ -0,0 +1,43 @@
+package com.mrin.gvm.application.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the product change feed.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.changes")
+public class ProductChangeProperties {
+
+    /**
+     * How long a subscriber that has caught up waits before checking for new changes.
+     * Every subscriber polls on its own, so this times the subscriber count is
+     * the query rate of idle feeds.
+     */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /**
+     * Maximum number of changes read per query.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long changes are kept. Consumers that stay away longer are refused
+     * with 410 Gone and must re-read the catalog before resuming from the
+     * head of the feed.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * How often changes older than the retention period are deleted.
+     */
+    private Duration pruneInterval = Duration.ofHours(1);
+
+    /**
+     * Interval between keep-alive comments on idle event streams.
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+}
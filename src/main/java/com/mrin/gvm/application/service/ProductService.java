@@ -1,12 +1,30 @@
 package com.mrin.gvm.application.service;
 
+import com.mrin.gvm.domain.model.BulkItemResult;
+import com.mrin.gvm.domain.model.InventoryStats;
 import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.ProductPage;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.model.UpsertedProduct;
 import com.mrin.gvm.domain.port.in.ProductUseCase;
 import com.mrin.gvm.domain.port.out.ProductPersistencePort;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * Application service implementing Product use cases.
@@ -14,34 +32,82 @@ import reactor.core.publisher.Mono;
  * It depends only on domain ports, not on specific implementations.
  */
 @Service
-@RequiredArgsConstructor
 public class ProductService implements ProductUseCase {
 
+    /**
+     * Upper bound for a single page so one request can never read the whole table.
+     */
+    static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Upper bound for search results so one search can never stream the whole table.
+     */
+    static final int MAX_SEARCH_RESULTS = 100;
+
+    /**
+     * Shortest term of a substring search. Shorter terms contain no trigram, so
+     * the trigram index cannot narrow them down and every name would be scanned.
+     */
+    static final int MIN_CONTAINS_TERM_LENGTH = 3;
+
+    /**
+     * Items written per batch (one connection, one transaction) by the bulk operations.
+     */
+    static final int BULK_CHUNK_SIZE = 500;
+
+    /**
+     * Retries of a read-modify-write that lost a version race before the conflict
+     * is reported to the caller.
+     */
+    static final int MAX_CONFLICT_RETRIES = 5;
+
+    static final Duration CONFLICT_BACKOFF = Duration.ofMillis(5);
+
+    static final Duration MAX_CONFLICT_BACKOFF = Duration.ofMillis(100);
+
+    static final String CONFLICTS_METRIC = "products.version.conflicts";
+
     private final ProductPersistencePort persistencePort;
+    private final Counter conflictsRetried;
+    private final Counter conflictsExhausted;
+    private final Retry onVersionConflict;
+
+    /**
+     * Moves on whenever a write ends, however it ends, so nothing derived from
+     * an earlier read is taken for current afterwards.
+     */
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    public ProductService(ProductPersistencePort persistencePort, MeterRegistry meterRegistry) {
+        this.persistencePort = persistencePort;
+        this.conflictsRetried = Counter.builder(CONFLICTS_METRIC)
+                .description("Optimistic locking conflicts on product writes")
+                .tag("outcome", "retried")
+                .register(meterRegistry);
+        this.conflictsExhausted = Counter.builder(CONFLICTS_METRIC)
+                .description("Optimistic locking conflicts on product writes")
+                .tag("outcome", "exhausted")
+                .register(meterRegistry);
+        // Jittered exponential backoff spreads out writers that collided on the same row
+        this.onVersionConflict = Retry.backoff(MAX_CONFLICT_RETRIES, CONFLICT_BACKOFF)
+                .maxBackoff(MAX_CONFLICT_BACKOFF)
+                .jitter(0.5)
+                .filter(OptimisticLockingFailureException.class::isInstance)
+                .doBeforeRetry(signal -> conflictsRetried.increment())
+                .onRetryExhaustedThrow((spec, signal) -> {
+                    conflictsExhausted.increment();
+                    return signal.failure();
+                });
+    }
 
     @Override
     public Mono<Product> createProduct(Product product) {
         // Validate domain rules
         product.validate();
 
-        return persistencePort.save(product)
-                .onErrorResume(error -> {
-                    // Handle duplicate key violation (race condition)
-                    if (error.getMessage() != null &&
-                            (error.getMessage().contains("duplicate key") ||
-                                    error.getMessage().contains("unique constraint"))) {
-                        // Retry by fetching and updating the existing product
-                        return persistencePort.findByName(product.getName())
-                                .flatMap(existingProduct -> {
-                                    existingProduct.setDescription(product.getDescription());
-                                    existingProduct.setPrice(product.getPrice());
-                                    existingProduct.addQuantity(product.getQuantity());
-                                    return persistencePort.save(existingProduct);
-                                });
-                    }
-                    // For other errors, propagate them
-                    return Mono.error(error);
-                });
+        // Creating an existing name merges into that product (adds the quantity) in one
+        // atomic statement, so concurrent creates never surface a duplicate-key error
+        return changingCatalog(persistencePort.upsertByName(product));
     }
 
     @Override
@@ -49,6 +115,23 @@ public class ProductService implements ProductUseCase {
         return persistencePort.findAll();
     }
 
+    @Override
+    public Mono<ProductPage> getProductsPage(Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long after = afterId == null ? 0L : afterId;
+
+        // Read one extra row to learn whether a next page exists without a count query
+        return persistencePort.findPage(after, pageSize + 1)
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() <= pageSize) {
+                        return new ProductPage(rows, null);
+                    }
+                    List<Product> items = rows.subList(0, pageSize);
+                    return new ProductPage(items, items.get(pageSize - 1).getId());
+                });
+    }
+
     @Override
     public Mono<Product> getProductById(Long id) {
         return persistencePort.findById(id)
@@ -60,30 +143,245 @@ public class ProductService implements ProductUseCase {
         // Validate domain rules
         productDetails.validate();
 
-        return getProductById(id)
-                .flatMap(product -> {
-                    product.setName(productDetails.getName());
-                    product.setDescription(productDetails.getDescription());
-                    product.setPrice(productDetails.getPrice());
-                    product.setQuantity(productDetails.getQuantity());
-                    return persistencePort.save(product);
-                });
+        // The save only succeeds if the row still has the version that was read;
+        // on a conflict the whole read-modify-write runs again on fresh data
+        return changingCatalog(Mono.defer(() -> getProductById(id)
+                        .flatMap(product -> {
+                            product.setName(productDetails.getName());
+                            product.setDescription(productDetails.getDescription());
+                            product.setPrice(productDetails.getPrice());
+                            product.setQuantity(productDetails.getQuantity());
+                            return persistencePort.save(product);
+                        }))
+                .retryWhen(onVersionConflict));
+    }
+
+    @Override
+    public Mono<Product> updateProduct(Long id, Product productDetails, long expectedVersion) {
+        // Validate domain rules
+        productDetails.validate();
+
+        Product update = new Product(id, productDetails.getName(), productDetails.getDescription(),
+                productDetails.getPrice(), productDetails.getQuantity(), expectedVersion);
+
+        // The versioned save matches nothing if the product is missing or has moved on;
+        // only then is a read needed to tell the two apart
+        return changingCatalog(persistencePort.save(update)
+                .onErrorResume(OptimisticLockingFailureException.class, e -> getProductById(id)
+                        .flatMap(current -> Mono.error(new VersionMismatchException(
+                                "Product " + id + " is at version " + current.getVersion()
+                                        + ", not " + expectedVersion)))));
+    }
+
+    @Override
+    public Mono<Product> reserveStock(Long id, int quantity) {
+        requirePositive(quantity);
+
+        // One conditional UPDATE; only when it matches nothing is a second read
+        // needed to tell a missing product from insufficient stock
+        return changingCatalog(persistencePort.reserveStock(id, quantity)
+                .switchIfEmpty(Mono.defer(() -> getProductById(id)
+                        .flatMap(product -> Mono.error(new InsufficientStockException(
+                                "Insufficient stock for product " + id + ": requested " + quantity
+                                        + ", available " + product.getQuantity()))))));
+    }
+
+    @Override
+    public Mono<Product> releaseStock(Long id, int quantity) {
+        requirePositive(quantity);
+
+        // As for reserving, a second read is only needed when the UPDATE matches nothing:
+        // the product is missing, or the returned units would overflow its stock
+        return changingCatalog(persistencePort.releaseStock(id, quantity)
+                .switchIfEmpty(Mono.defer(() -> getProductById(id)
+                        .flatMap(product -> Mono.error(new IllegalArgumentException(
+                                "Cannot release " + quantity + " units to product " + id + ": stock of "
+                                        + product.getQuantity() + " would exceed " + Integer.MAX_VALUE))))));
     }
 
     @Override
     public Mono<Void> deleteProduct(Long id) {
-        return getProductById(id)
-                .flatMap(persistencePort::delete);
+        return changingCatalog(Mono.defer(() -> getProductById(id)
+                        .flatMap(persistencePort::delete))
+                .retryWhen(onVersionConflict));
     }
 
     @Override
-    public Flux<Product> searchProductsByName(String name) {
-        return persistencePort.findByNameContainingIgnoreCase(name);
+    public Flux<Product> searchProductsByName(String name, SearchMode mode, int limit) {
+        if (name == null || name.isBlank()) {
+            return Flux.empty();
+        }
+        if (mode == SearchMode.CONTAINS && name.trim().length() < MIN_CONTAINS_TERM_LENGTH) {
+            return Flux.error(new IllegalArgumentException("Substring search needs at least "
+                    + MIN_CONTAINS_TERM_LENGTH + " characters; use mode=prefix for shorter terms"));
+        }
+        return persistencePort.searchByName(name.trim(), mode,
+                Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+    }
+
+    @Override
+    public Mono<InventoryStats> getInventoryStats(int lowStockThreshold, int lowStockLimit) {
+        return persistencePort.computeStats(Math.max(0, lowStockThreshold),
+                Math.max(0, Math.min(lowStockLimit, InventoryStats.MAX_LOW_STOCK_ITEMS)));
     }
 
     @Override
     public Mono<Void> deleteAllProducts() {
-        return persistencePort.deleteAll();
+        return changingCatalog(persistencePort.deleteAll());
+    }
+
+    @Override
+    public Flux<BulkItemResult> bulkCreateProducts(Flux<Product> products) {
+        return changingCatalog(products.index()
+                .buffer(BULK_CHUNK_SIZE)
+                .concatMap(this::createChunk));
+    }
+
+    @Override
+    public Flux<BulkItemResult> bulkUpdateProducts(Flux<Product> products) {
+        return changingCatalog(products.index()
+                .buffer(BULK_CHUNK_SIZE)
+                .concatMap(this::updateChunk));
+    }
+
+    @Override
+    public Flux<BulkItemResult> bulkDeleteProducts(Flux<Long> ids) {
+        return changingCatalog(ids.index()
+                .buffer(BULK_CHUNK_SIZE)
+                .concatMap(this::deleteChunk));
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * Move the catalog version on once the write ends, before its outcome
+     * reaches the caller.
+     */
+    private <T> Mono<T> changingCatalog(Mono<T> write) {
+        return write.doOnTerminate(catalogVersion::incrementAndGet)
+                .doOnCancel(catalogVersion::incrementAndGet);
+    }
+
+    /**
+     * Move the catalog version on with every item result of a bulk write, as
+     * its chunks are committed one by one, and once more when it ends.
+     */
+    private <T> Flux<T> changingCatalog(Flux<T> write) {
+        return write.doOnNext(item -> catalogVersion.incrementAndGet())
+                .doOnTerminate(catalogVersion::incrementAndGet)
+                .doOnCancel(catalogVersion::incrementAndGet);
+    }
+
+    private Flux<BulkItemResult> createChunk(List<Tuple2<Long, Product>> chunk) {
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        List<Tuple2<Long, Product>> valid = validItems(chunk, results, false);
+
+        return persistencePort.upsertAllByName(valid.stream().map(Tuple2::getT2).toList())
+                .collectList()
+                .map(stored -> {
+                    for (int i = 0; i < valid.size(); i++) {
+                        UpsertedProduct upserted = stored.get(i);
+                        results.add(BulkItemResult.success(valid.get(i).getT1(), upserted.product().getId(),
+                                upserted.created() ? BulkItemResult.Status.CREATED : BulkItemResult.Status.UPDATED));
+                    }
+                    return results;
+                })
+                .onErrorResume(error -> Mono.just(failAll(valid, results, error)))
+                .flatMapIterable(ProductService::inSubmissionOrder);
+    }
+
+    private Flux<BulkItemResult> updateChunk(List<Tuple2<Long, Product>> chunk) {
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        List<Tuple2<Long, Product>> valid = validItems(chunk, results, true);
+
+        return persistencePort.updateAll(valid.stream().map(Tuple2::getT2).toList())
+                .map(Product::getId)
+                .collect(Collectors.toSet())
+                .map(updatedIds -> {
+                    for (Tuple2<Long, Product> item : valid) {
+                        Long id = item.getT2().getId();
+                        results.add(updatedIds.contains(id)
+                                ? BulkItemResult.success(item.getT1(), id, BulkItemResult.Status.UPDATED)
+                                : BulkItemResult.failure(item.getT1(), id, BulkItemResult.Status.NOT_FOUND,
+                                        "Product not found with id: " + id));
+                    }
+                    return results;
+                })
+                .onErrorResume(error -> Mono.just(failAll(valid, results, error)))
+                .flatMapIterable(ProductService::inSubmissionOrder);
+    }
+
+    private Flux<BulkItemResult> deleteChunk(List<Tuple2<Long, Long>> chunk) {
+        List<Long> ids = chunk.stream().map(Tuple2::getT2).toList();
+
+        return persistencePort.deleteAllById(ids)
+                .collect(Collectors.toCollection(HashSet::new))
+                .map(deletedIds -> chunk.stream()
+                        .map(item -> deletedIds.contains(item.getT2())
+                                ? BulkItemResult.success(item.getT1(), item.getT2(), BulkItemResult.Status.DELETED)
+                                : BulkItemResult.failure(item.getT1(), item.getT2(), BulkItemResult.Status.NOT_FOUND,
+                                        "Product not found with id: " + item.getT2()))
+                        .toList())
+                .onErrorResume(error -> Mono.just(chunk.stream()
+                        .map(item -> BulkItemResult.failure(item.getT1(), item.getT2(),
+                                BulkItemResult.Status.FAILED, error.getMessage()))
+                        .toList()))
+                .flatMapIterable(results -> results);
+    }
+
+    /**
+     * Validate every item of a chunk, recording an INVALID result for each rejected one.
+     *
+     * @return the items that passed validation
+     */
+    private static List<Tuple2<Long, Product>> validItems(List<Tuple2<Long, Product>> chunk,
+                                                          List<BulkItemResult> results,
+                                                          boolean requireId) {
+        List<Tuple2<Long, Product>> valid = new ArrayList<>(chunk.size());
+        for (Tuple2<Long, Product> item : chunk) {
+            Product product = item.getT2();
+            try {
+                if (requireId && product.getId() == null) {
+                    throw new IllegalArgumentException("Product id is required");
+                }
+                product.validate();
+                valid.add(item);
+            } catch (IllegalArgumentException e) {
+                results.add(BulkItemResult.failure(item.getT1(), product.getId(),
+                        BulkItemResult.Status.INVALID, e.getMessage()));
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * The chunk's transaction was rolled back, so none of its valid items were written.
+     */
+    private static List<BulkItemResult> failAll(List<Tuple2<Long, Product>> valid,
+                                                List<BulkItemResult> results,
+                                                Throwable error) {
+        Set<Long> reported = results.stream().map(BulkItemResult::getIndex).collect(Collectors.toSet());
+        for (Tuple2<Long, Product> item : valid) {
+            if (!reported.contains(item.getT1())) {
+                results.add(BulkItemResult.failure(item.getT1(), item.getT2().getId(),
+                        BulkItemResult.Status.FAILED, error.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private static void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than 0");
+        }
+    }
+
+    private static List<BulkItemResult> inSubmissionOrder(List<BulkItemResult> results) {
+        results.sort(Comparator.comparingLong(BulkItemResult::getIndex));
+        return results;
     }
 
     /**
@@ -94,4 +392,22 @@ public class ProductService implements ProductUseCase {
             super(message);
         }
     }
+
+    /**
+     * Custom exception for a conditional write against a version that is no longer current.
+     */
+    public static class VersionMismatchException extends RuntimeException {
+        public VersionMismatchException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Custom exception for a reservation larger than the available stock.
+     */
+    public static class InsufficientStockException extends RuntimeException {
+        public InsufficientStockException(String message) {
+            super(message);
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package com.mrin.gvm.config;
+
+import com.mrin.gvm.application.service.ProductChangeProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the change feed settings and the scheduled pruning of old changes.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@EnableConfigurationProperties(ProductChangeProperties.class)
+public class ChangeFeedConfig {
+}
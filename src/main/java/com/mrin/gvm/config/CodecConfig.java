@@ -0,0 +1,46 @@
+package com.mrin.gvm.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mrin.gvm.adapter.in.web.codec.BinaryMediaTypes;
+import com.mrin.gvm.adapter.in.web.codec.CollectingJackson2CborDecoder;
+import com.mrin.gvm.adapter.in.web.codec.StreamingJackson2CborEncoder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary formats next to JSON, chosen by the request's Accept and
+ * Content-Type headers: Smile ({@code application/x-jackson-smile}) and CBOR
+ * ({@code application/cbor}). Both map objects with the same Jackson settings
+ * as the JSON codecs, built from Spring Boot's {@link Jackson2ObjectMapperBuilder};
+ * the native image needs no further hints, as the formats bind the same
+ * types the JSON codecs do.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CodecConfig {
+
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(ObjectMapper objectMapper,
+                                                 ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        // The builder bean is a prototype, so each format gets its own. The
+        // codecs are given their media types, as they would default to JSON's
+        ObjectMapper smileMapper = builders.getObject().factory(new SmileFactory()).build();
+        ObjectMapper cborMapper = builders.getObject().factory(new CBORFactory()).build();
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, BinaryMediaTypes.APPLICATION_SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, BinaryMediaTypes.APPLICATION_SMILE));
+            // Custom writers are asked before the default ones, so the JSON encoder is
+            // registered again ahead of CBOR to stay the answer for Accept: */*
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2JsonEncoder(objectMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new StreamingJackson2CborEncoder(cborMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new CollectingJackson2CborDecoder(cborMapper));
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.mrin.gvm.config;
+
+import com.mrin.gvm.adapter.in.web.limit.ConcurrencyLimitFilter;
+import com.mrin.gvm.adapter.in.web.limit.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Admission control of the product API. The filter is always registered and
+ * checks {@code app.limiter.enabled} per request, so the limit can be switched
+ * off in the native image too, where conditions are fixed at build time.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new ConcurrencyLimitFilter(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.mrin.gvm.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Infrastructure of the blocking JDBC adapter, active with the {@code jdbc}
+ * profile. R2DBC stays configured alongside it for the change feed, so Spring
+ * Boot's DataSource auto-configuration backs off and the Hikari pool is
+ * declared here from the usual {@code spring.datasource.*} properties.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("jdbc")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class JdbcPersistenceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Scheduler the adapter runs its blocking calls on.
+     * With {@code spring.threads.virtual.enabled} on Java 21+ every call gets
+     * its own virtual thread, which unmounts from its carrier while it waits
+     * for a connection or for the database. Otherwise it falls back to a
+     * bounded elastic pool with one platform thread per pooled connection, as
+     * more threads would only block waiting for one.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(Environment environment, HikariDataSource dataSource) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("jdbc-");
+            executor.setVirtualThreads(true);
+            return Schedulers.fromExecutor(executor);
+        }
+        return Schedulers.newBoundedElastic(dataSource.getMaximumPoolSize(),
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "jdbc");
+    }
+}
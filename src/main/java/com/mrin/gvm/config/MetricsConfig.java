@@ -0,0 +1,45 @@
+package com.mrin.gvm.config;
+
+import com.mrin.gvm.application.service.ProductService;
+import com.mrin.gvm.domain.port.in.ProductUseCase;
+import com.mrin.gvm.metrics.MeteredProductUseCase;
+import com.mrin.gvm.metrics.TimedConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Instrumentation of the use cases and of the R2DBC connection pool.
+ * The persistence port is instrumented in {@link PersistenceConfig}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    @Primary
+    public ProductUseCase productUseCase(ProductService productService, MeterRegistry meterRegistry) {
+        return new MeteredProductUseCase(productService, meterRegistry);
+    }
+
+    /**
+     * Wraps every ConnectionFactory bean to time connection acquisition.
+     * Static so the post-processor is registered without initializing this configuration.
+     */
+    @Bean
+    public static BeanPostProcessor timedConnectionFactoryPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory connectionFactory
+                        && !(bean instanceof TimedConnectionFactory)) {
+                    return new TimedConnectionFactory(connectionFactory, meterRegistry.getObject(), beanName);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.mrin.gvm.config;
+
+import com.mrin.gvm.adapter.in.web.page.ProductPageCache;
+import com.mrin.gvm.adapter.in.web.page.ProductPageCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+
+/**
+ * Serialized product list pages. The cache is always created and checks
+ * {@code app.page-cache.enabled} per request, so it can be switched off in the
+ * native image too, where conditions are fixed at build time.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ProductPageCacheProperties.class)
+public class PageCacheConfig {
+
+    @Bean
+    public ProductPageCache productPageCache(ProductPageCacheProperties properties,
+                                             ServerCodecConfigurer serverCodecConfigurer,
+                                             RequestedContentTypeResolver webFluxContentTypeResolver,
+                                             MeterRegistry meterRegistry) {
+        return new ProductPageCache(properties, serverCodecConfigurer, webFluxContentTypeResolver, meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.mrin.gvm.config;
+
+import com.mrin.gvm.adapter.out.persistence.cache.CachingProductPersistenceAdapter;
+import com.mrin.gvm.adapter.out.persistence.cache.ProductCacheProperties;
+import com.mrin.gvm.adapter.out.persistence.coalescing.CoalescingProductPersistencePort;
+import com.mrin.gvm.adapter.out.persistence.coalescing.ProductCoalescingProperties;
+import com.mrin.gvm.adapter.out.persistence.fallback.FallbackProductPersistencePort;
+import com.mrin.gvm.adapter.out.persistence.fallback.ProductFallbackProperties;
+import com.mrin.gvm.adapter.out.persistence.stats.CachedStatsProductPersistencePort;
+import com.mrin.gvm.adapter.out.persistence.stats.ProductStatsProperties;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import com.mrin.gvm.metrics.MeteredProductPersistencePort;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Assembles the ProductPersistencePort used by the application services.
+ * The adapter that talks to the database, qualified {@code productStore}, is
+ * the R2DBC one by default and the JDBC one with the {@code jdbc} profile.
+ * It is wrapped by optional decorators, outermost first:
+ * <ol>
+ *     <li>fallback to last-known-good reads while the database is unavailable</li>
+ *     <li>read-through cache</li>
+ *     <li>coalescing of concurrent cache misses into batched lookups</li>
+ *     <li>inventory statistics served from memory, always applied</li>
+ *     <li>metrics, so only calls that reach the database are timed</li>
+ * </ol>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({ProductCacheProperties.class, ProductCoalescingProperties.class,
+        ProductFallbackProperties.class, ProductStatsProperties.class})
+public class PersistenceConfig {
+
+    @Bean
+    @Primary
+    public ProductPersistencePort productPersistencePort(
+            @Qualifier("productStore") ProductPersistencePort adapter,
+            ProductCacheProperties cacheProperties,
+            ProductCoalescingProperties coalescingProperties,
+            ProductFallbackProperties fallbackProperties,
+            ProductStatsProperties statsProperties,
+            MeterRegistry meterRegistry) {
+        ProductPersistencePort port = new MeteredProductPersistencePort(adapter, meterRegistry);
+        port = new CachedStatsProductPersistencePort(port, statsProperties, meterRegistry);
+        if (coalescingProperties.isEnabled()) {
+            port = new CoalescingProductPersistencePort(port, coalescingProperties, meterRegistry);
+        }
+        if (cacheProperties.isEnabled()) {
+            port = new CachingProductPersistenceAdapter(port, cacheProperties, meterRegistry);
+        }
+        if (fallbackProperties.isEnabled()) {
+            port = new FallbackProductPersistencePort(port, fallbackProperties, meterRegistry);
+        }
+        return port;
+    }
+}
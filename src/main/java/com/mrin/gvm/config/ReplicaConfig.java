@@ -0,0 +1,125 @@
+package com.mrin.gvm.config;
+
+import com.mrin.gvm.adapter.out.persistence.routing.ReadYourWrites;
+import com.mrin.gvm.adapter.out.persistence.routing.ReplicaProperties;
+import com.mrin.gvm.adapter.out.persistence.routing.ReplicaRoutingConnectionFactory;
+import com.mrin.gvm.metrics.TimedConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read/write splitting over read replicas. When {@code app.persistence.replicas.urls}
+ * is set, the R2DBC connection factory is replaced by a
+ * {@link ReplicaRoutingConnectionFactory} over the primary pool and one pool
+ * per replica. The list is checked when the factory is created rather than by
+ * a condition, so replicas can be configured for the native image too, where
+ * conditions are fixed at build time.
+ * <p>
+ * Read-your-writes stickiness ({@link ReadYourWrites}) is per instance: it
+ * knows only the writes made through this instance, so clients spread over
+ * several instances without session affinity may read stale replica data for
+ * up to the replication lag.
+ * <p>
+ * Every replica pool reports Spring Boot's {@code r2dbc.pool.*} gauges and
+ * the {@code r2dbc.pool.acquire} timer under the name {@code replica-<n>}.
+ * The primary pool keeps reporting its gauges under the name of the
+ * connection factory bean, and the acquire timer of that name covers
+ * connections from every pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaConfig {
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaProperties properties, MeterRegistry meterRegistry) {
+        return new ReadYourWrites(properties, meterRegistry);
+    }
+
+    /**
+     * Static so the post-processor is registered without initializing this configuration.
+     */
+    @Bean
+    public static BeanPostProcessor replicaRoutingPostProcessor(ObjectProvider<ReplicaProperties> replicaProperties,
+                                                                ObjectProvider<R2dbcProperties> r2dbcProperties,
+                                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaRoutingPostProcessor(replicaProperties, r2dbcProperties, meterRegistry);
+    }
+
+    /**
+     * Wraps before initialization, so the routing factory is in place before
+     * any post-processor wraps the bean after it, such as the one timing
+     * connection acquisition.
+     */
+    private record ReplicaRoutingPostProcessor(ObjectProvider<ReplicaProperties> replicaProperties,
+                                               ObjectProvider<R2dbcProperties> r2dbcProperties,
+                                               ObjectProvider<MeterRegistry> meterRegistry)
+            implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            if (!(bean instanceof ConnectionFactory primary) || bean instanceof ReplicaRoutingConnectionFactory) {
+                return bean;
+            }
+            ReplicaProperties replicas = replicaProperties.getObject();
+            List<String> urls = replicas.getUrls();
+            if (urls.isEmpty()) {
+                return bean;
+            }
+            R2dbcProperties r2dbc = r2dbcProperties.getObject();
+            MeterRegistry registry = meterRegistry.getObject();
+            Map<String, ConnectionFactory> targets = new LinkedHashMap<>();
+            for (int i = 0; i < urls.size(); i++) {
+                String name = "replica-" + i;
+                ConnectionFactory replica = ConnectionFactoryBuilder.withUrl(urls.get(i))
+                        .username(replicas.getUsername() != null ? replicas.getUsername() : r2dbc.getUsername())
+                        .password(replicas.getPassword() != null ? replicas.getPassword() : r2dbc.getPassword())
+                        .build();
+                if (r2dbc.getPool().isEnabled()) {
+                    ConnectionPool pool = pool(replica, r2dbc.getPool(), name);
+                    new ConnectionPoolMetrics(pool, name, Tags.empty()).bindTo(registry);
+                    replica = pool;
+                }
+                targets.put(name, new TimedConnectionFactory(replica, registry, name));
+            }
+            return new ReplicaRoutingConnectionFactory(primary, targets);
+        }
+
+        /**
+         * A pool with the same settings as the primary's.
+         */
+        private static ConnectionPool pool(ConnectionFactory connectionFactory, R2dbcProperties.Pool settings,
+                                           String name) {
+            ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(connectionFactory)
+                    .name(name);
+            PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+            map.from(settings.getInitialSize()).to(builder::initialSize);
+            map.from(settings.getMaxSize()).to(builder::maxSize);
+            map.from(settings.getMinIdle()).to(builder::minIdle);
+            map.from(settings.getMaxIdleTime()).to(builder::maxIdleTime);
+            map.from(settings.getMaxLifeTime()).to(builder::maxLifeTime);
+            map.from(settings.getMaxAcquireTime()).to(builder::maxAcquireTime);
+            map.from(settings.getAcquireRetry()).to(builder::acquireRetry);
+            map.from(settings.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+            map.from(settings.getMaxValidationTime()).to(builder::maxValidationTime);
+            map.from(settings.getValidationQuery()).to(builder::validationQuery);
+            map.from(settings.getValidationDepth()).to(builder::validationDepth);
+            return new ConnectionPool(builder.build());
+        }
+    }
+}
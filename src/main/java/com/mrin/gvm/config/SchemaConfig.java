@@ -0,0 +1,27 @@
+package com.mrin.gvm.config;
+
+import com.mrin.gvm.adapter.out.persistence.schema.ChecksumSchemaInitializer;
+import com.mrin.gvm.adapter.out.persistence.schema.SchemaInitProperties;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.autoconfigure.sql.init.SqlR2dbcScriptDatabaseInitializer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces Spring Boot's schema initializer with one that can skip unchanged
+ * scripts. Always declared, and switched by a property at runtime, so a
+ * native image built without the fast-start profile can still use it.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({SqlInitializationProperties.class, SchemaInitProperties.class})
+public class SchemaConfig {
+
+    @Bean
+    public SqlR2dbcScriptDatabaseInitializer schemaInitializer(ConnectionFactory connectionFactory,
+                                                              SqlInitializationProperties sqlProperties,
+                                                              SchemaInitProperties schemaProperties) {
+        return new ChecksumSchemaInitializer(connectionFactory, sqlProperties, schemaProperties);
+    }
+}
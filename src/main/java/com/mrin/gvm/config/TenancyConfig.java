@@ -0,0 +1,21 @@
+package com.mrin.gvm.config;
+
+import com.mrin.gvm.adapter.in.web.tenant.TenantFilter;
+import com.mrin.gvm.adapter.in.web.tenant.TenantProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tenant resolution for the product API. The filter is always registered, so
+ * every request carries a tenant into the persistence layer.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TenantProperties.class)
+public class TenancyConfig {
+
+    @Bean
+    public TenantFilter tenantFilter(TenantProperties properties) {
+        return new TenantFilter(properties);
+    }
+}
@@ -0,0 +1,41 @@
+package com.mrin.gvm.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk request.
+ * Results are reported in the order the items were submitted, so
+ * {@code index} identifies the item within the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+
+    private long index;
+    private Long id;
+    private Status status;
+    private String error;
+
+    /**
+     * Per-item status of a bulk operation.
+     */
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        INVALID,
+        FAILED
+    }
+
+    public static BulkItemResult success(long index, Long id, Status status) {
+        return new BulkItemResult(index, id, status, null);
+    }
+
+    public static BulkItemResult failure(long index, Long id, Status status, String error) {
+        return new BulkItemResult(index, id, status, error);
+    }
+}
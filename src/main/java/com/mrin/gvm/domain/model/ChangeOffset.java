@@ -0,0 +1,59 @@
+package com.mrin.gvm.domain.model;
+
+/**
+ * Position in the product change feed.
+ * Changes are ordered by the ID of the database transaction that made them,
+ * then by their sequence within the feed. A consumer that stores the offset of
+ * the last change it processed can resume right after it.
+ *
+ * @param transaction the transaction ID of the change
+ * @param sequence    the sequence number of the change
+ */
+public record ChangeOffset(long transaction, long sequence) implements Comparable<ChangeOffset> {
+
+    /**
+     * Offset before the first change, to replay all retained changes.
+     */
+    public static final ChangeOffset START = new ChangeOffset(0, 0);
+
+    /**
+     * Parse an offset from its token form.
+     *
+     * @param token a token produced by {@link #toString()}, or "0" for {@link #START}
+     * @return the offset
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ChangeOffset parse(String token) {
+        String value = token.trim();
+        if (value.equals("0")) {
+            return START;
+        }
+        int dot = value.indexOf('.');
+        try {
+            if (dot > 0) {
+                return new ChangeOffset(Long.parseLong(value.substring(0, dot)),
+                        Long.parseLong(value.substring(dot + 1)));
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid change offset: " + token);
+    }
+
+    /**
+     * Order offsets as the feed does, by transaction, then sequence.
+     */
+    @Override
+    public int compareTo(ChangeOffset other) {
+        int byTransaction = Long.compare(transaction, other.transaction);
+        return byTransaction != 0 ? byTransaction : Long.compare(sequence, other.sequence);
+    }
+
+    /**
+     * Token form of the offset, {@code <transaction>.<sequence>}.
+     */
+    @Override
+    public String toString() {
+        return transaction + "." + sequence;
+    }
+}
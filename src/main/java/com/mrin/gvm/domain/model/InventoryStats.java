@@ -0,0 +1,55 @@
+package com.mrin.gvm.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Aggregate figures of the whole inventory, as of {@code computedAt}.
+ * The value of a product is its price times its quantity; products are low on
+ * stock when their quantity is below {@code lowStockThreshold}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryStats {
+
+    /**
+     * Upper bound for the low-stock products listed with the statistics.
+     */
+    public static final int MAX_LOW_STOCK_ITEMS = 100;
+
+    private long count;
+    private long totalQuantity;
+    private BigDecimal totalValue;
+    private int lowStockThreshold;
+    private long lowStockCount;
+
+    /**
+     * The products lowest on stock, by ascending quantity; at most a bounded
+     * number of the {@code lowStockCount} products below the threshold.
+     */
+    private List<Product> lowStock;
+
+    private Instant computedAt;
+
+    /**
+     * Create a detached copy, including the low-stock products, so a shared
+     * instance (e.g. one held by a cache) is never mutated by callers.
+     */
+    public InventoryStats copy() {
+        return copy(lowStock.size());
+    }
+
+    /**
+     * Create a detached copy listing at most the given number of low-stock products.
+     */
+    public InventoryStats copy(int lowStockLimit) {
+        return new InventoryStats(count, totalQuantity, totalValue, lowStockThreshold, lowStockCount,
+                lowStock.stream().limit(lowStockLimit).map(Product::copy).toList(), computedAt);
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 /**
  * Domain entity representing a product in the inventory system.
@@ -21,6 +22,32 @@ public class Product {
     private BigDecimal price;
     private Integer quantity;
 
+    /**
+     * Optimistic concurrency version, incremented on every write.
+     * Null for a product that has not been stored yet.
+     */
+    private Long version;
+
+    /**
+     * Time of the last write, set by the database.
+     * Null for a product that has not been stored yet.
+     */
+    private Instant updatedAt;
+
+    /**
+     * Create a product without a version, e.g. from a request body.
+     */
+    public Product(Long id, String name, String description, BigDecimal price, Integer quantity) {
+        this(id, name, description, price, quantity, null, null);
+    }
+
+    /**
+     * Create a product with a version but no modification time.
+     */
+    public Product(Long id, String name, String description, BigDecimal price, Integer quantity, Long version) {
+        this(id, name, description, price, quantity, version, null);
+    }
+
     /**
      * Business logic: Validate product state
      */
@@ -39,6 +66,14 @@ public class Product {
         }
     }
 
+    /**
+     * Create a detached copy of this product, so a shared instance (e.g. one
+     * held by a cache) is never mutated by callers.
+     */
+    public Product copy() {
+        return new Product(id, name, description, price, quantity, version, updatedAt);
+    }
+
     /**
      * Business logic: Update quantity
      */
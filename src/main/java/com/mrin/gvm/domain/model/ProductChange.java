@@ -0,0 +1,41 @@
+package com.mrin.gvm.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One write to a product, as recorded in the change feed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChange {
+
+    private ChangeOffset offset;
+    private Long productId;
+    private Type type;
+
+    /**
+     * Product version written by the change, or the last version for a delete.
+     */
+    private Long version;
+
+    private Instant changedAt;
+
+    /**
+     * Current state of the product, which may already include later changes.
+     * Null for a delete, or if the product has been deleted since.
+     */
+    private Product product;
+
+    /**
+     * Kind of write.
+     */
+    public enum Type {
+        UPSERT,
+        DELETE
+    }
+}
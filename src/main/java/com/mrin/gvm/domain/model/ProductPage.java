@@ -0,0 +1,28 @@
+package com.mrin.gvm.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A bounded, keyset-paginated slice of the product catalog.
+ * The next page starts after {@code nextAfterId}; a null value means the end of
+ * the catalog has been reached.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPage {
+
+    private List<Product> items;
+    private Long nextAfterId;
+
+    /**
+     * Whether another page follows this one.
+     */
+    public boolean hasNext() {
+        return nextAfterId != null;
+    }
+}
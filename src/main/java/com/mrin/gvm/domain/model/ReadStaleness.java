@@ -0,0 +1,35 @@
+package com.mrin.gvm.domain.model;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records whether a request was answered from a last-known-good snapshot
+ * instead of the database, and how old the oldest such snapshot was.
+ * <p>
+ * The inbound adapter puts one instance per request into the Reactor context
+ * under this class as key; persistence decorators that serve stale data look
+ * it up and {@link #record} the age of what they served.
+ */
+public class ReadStaleness {
+
+    private final AtomicLong maxAgeMillis = new AtomicLong(-1);
+
+    /**
+     * Record that data of the given age was served.
+     *
+     * @param age time since the data was read from the database
+     */
+    public void record(Duration age) {
+        maxAgeMillis.accumulateAndGet(Math.max(0, age.toMillis()), Math::max);
+    }
+
+    /**
+     * @return age of the oldest stale data served, empty if all data was fresh
+     */
+    public Optional<Duration> age() {
+        long millis = maxAgeMillis.get();
+        return millis < 0 ? Optional.empty() : Optional.of(Duration.ofMillis(millis));
+    }
+}
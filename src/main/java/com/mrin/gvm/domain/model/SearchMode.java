@@ -0,0 +1,35 @@
+package com.mrin.gvm.domain.model;
+
+import java.util.Locale;
+
+/**
+ * How a product name search term is matched.
+ */
+public enum SearchMode {
+
+    /**
+     * Names starting with the term (case-insensitive).
+     */
+    PREFIX,
+
+    /**
+     * Names containing the term anywhere (case-insensitive). Terms need at
+     * least three characters, the length of a trigram.
+     */
+    CONTAINS;
+
+    /**
+     * Parse a mode from its lower-case API value.
+     *
+     * @param value "prefix" or "contains"
+     * @return the matching mode
+     * @throws IllegalArgumentException if the value is unknown
+     */
+    public static SearchMode fromValue(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown search mode: " + value);
+        }
+    }
+}
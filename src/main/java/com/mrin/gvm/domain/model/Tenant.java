@@ -0,0 +1,30 @@
+package com.mrin.gvm.domain.model;
+
+import reactor.util.context.ContextView;
+
+/**
+ * The customer a request acts for. Every product belongs to exactly one
+ * tenant and is only visible to it; names are unique per tenant.
+ * <p>
+ * The inbound adapter puts the tenant of each request into the Reactor
+ * context under this class as key; the persistence adapters scope every
+ * statement to it, and decorators that keep data across requests key it by
+ * tenant. Work without a tenant in its context, such as scheduled jobs and
+ * clients that send none, acts for {@link #DEFAULT}.
+ *
+ * @param id the tenant ID, as stored in the tenant_id columns
+ */
+public record Tenant(String id) {
+
+    /**
+     * The tenant of single-tenant deployments and of rows written before tenants existed.
+     */
+    public static final Tenant DEFAULT = new Tenant("default");
+
+    /**
+     * @return the tenant in the given context, or {@link #DEFAULT} if there is none
+     */
+    public static Tenant of(ContextView context) {
+        return context.getOrDefault(Tenant.class, DEFAULT);
+    }
+}
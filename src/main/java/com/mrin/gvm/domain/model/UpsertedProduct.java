@@ -0,0 +1,11 @@
+package com.mrin.gvm.domain.model;
+
+/**
+ * A product stored by an upsert, and whether the upsert inserted it or merged
+ * it into an existing product of the same name.
+ *
+ * @param product the stored product
+ * @param created true if the product was inserted, false if it was merged
+ */
+public record UpsertedProduct(Product product, boolean created) {
+}
@@ -0,0 +1,26 @@
+package com.mrin.gvm.domain.port.in;
+
+import com.mrin.gvm.domain.model.ChangeOffset;
+import com.mrin.gvm.domain.model.ProductChange;
+import reactor.core.publisher.Flux;
+
+/**
+ * Input port for following product changes incrementally instead of
+ * re-reading the catalog.
+ */
+public interface ProductChangeUseCase {
+
+    /**
+     * Stream product changes, first those already recorded after the offset,
+     * then new ones as they are committed. The stream does not complete.
+     * Changes are read from the database only as fast as the subscriber
+     * requests them.
+     *
+     * @param since the offset of the last change the caller has seen, or null
+     *              to receive only changes from now on
+     * @return flux of changes in feed order; it fails with
+     * {@link com.mrin.gvm.application.service.ProductChangeService.ChangeOffsetExpiredException}
+     * if changes after the offset have been deleted
+     */
+    Flux<ProductChange> streamChanges(ChangeOffset since);
+}
@@ -1,6 +1,10 @@
 package com.mrin.gvm.domain.port.in;
 
+import com.mrin.gvm.domain.model.BulkItemResult;
+import com.mrin.gvm.domain.model.InventoryStats;
 import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.ProductPage;
+import com.mrin.gvm.domain.model.SearchMode;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -20,12 +24,22 @@ public interface ProductUseCase {
     Mono<Product> createProduct(Product product);
 
     /**
-     * Get all products.
+     * Get all products as a stream ordered by ID.
+     * Rows are pulled from the database as the subscriber requests them.
      *
      * @return flux of all products
      */
     Flux<Product> getAllProducts();
 
+    /**
+     * Get one keyset-paginated page of products ordered by ID.
+     *
+     * @param afterId the last ID of the previous page, or null for the first page
+     * @param limit   the maximum number of products to return
+     * @return mono of the page
+     */
+    Mono<ProductPage> getProductsPage(Long afterId, int limit);
+
     /**
      * Get a product by ID.
      *
@@ -36,6 +50,8 @@ public interface ProductUseCase {
 
     /**
      * Update an existing product.
+     * Concurrent writes to the same product are detected by its version and the
+     * update is retried on fresh data a bounded number of times.
      *
      * @param id             the product ID
      * @param productDetails the updated product details
@@ -43,6 +59,39 @@ public interface ProductUseCase {
      */
     Mono<Product> updateProduct(Long id, Product productDetails);
 
+    /**
+     * Update an existing product only if it is still at the version the caller
+     * last read. Runs as one versioned write without a prior read and is never
+     * retried; a caller holding an older version has to read again.
+     *
+     * @param id              the product ID
+     * @param productDetails  the updated product details
+     * @param expectedVersion the version the caller last read
+     * @return mono of the updated product; errors if the product does not exist
+     * or is at another version
+     */
+    Mono<Product> updateProduct(Long id, Product productDetails, long expectedVersion);
+
+    /**
+     * Reserve stock of a product in a single atomic step.
+     *
+     * @param id       the product ID
+     * @param quantity the number of units to reserve, greater than 0
+     * @return mono of the product with its remaining stock; errors if the product
+     * does not exist or has fewer than {@code quantity} units
+     */
+    Mono<Product> reserveStock(Long id, int quantity);
+
+    /**
+     * Release previously reserved stock of a product in a single atomic step.
+     *
+     * @param id       the product ID
+     * @param quantity the number of units to release, greater than 0
+     * @return mono of the product with its new stock; errors if the product does not exist
+     * or its stock would exceed {@link Integer#MAX_VALUE}
+     */
+    Mono<Product> releaseStock(Long id, int quantity);
+
     /**
      * Delete a product by ID.
      *
@@ -52,12 +101,26 @@ public interface ProductUseCase {
     Mono<Void> deleteProduct(Long id);
 
     /**
-     * Search products by name.
+     * Search products by name (case-insensitive).
+     *
+     * @param name  the name to search for; at least 3 characters to search for a substring
+     * @param mode  whether names must start with or contain the search text
+     * @param limit the maximum number of products to return
+     * @return flux of matching products, ordered by name for prefixes and by ID for
+     * substrings; fails with IllegalArgumentException if a substring is too short
+     */
+    Flux<Product> searchProductsByName(String name, SearchMode mode, int limit);
+
+    /**
+     * Get aggregate statistics of the whole inventory. They are maintained by
+     * a periodic aggregate query, so they may trail the latest writes by a
+     * moment, but are answered without reading the products per request.
      *
-     * @param name the name to search for
-     * @return flux of matching products
+     * @param lowStockThreshold products with a quantity below it are reported as low on stock
+     * @param lowStockLimit     the maximum number of low-stock products to list
+     * @return mono of the statistics
      */
-    Flux<Product> searchProductsByName(String name);
+    Mono<InventoryStats> getInventoryStats(int lowStockThreshold, int lowStockLimit);
 
     /**
      * Delete all products.
@@ -65,4 +128,39 @@ public interface ProductUseCase {
      * @return mono of void
      */
     Mono<Void> deleteAllProducts();
+
+    /**
+     * Create or merge many products. Items are validated one by one and written
+     * in chunks, each chunk in its own transaction.
+     *
+     * @param products the products to create
+     * @return flux with one result per submitted product, in submission order;
+     * CREATED for a new product, UPDATED for one merged into an existing name
+     */
+    Flux<BulkItemResult> bulkCreateProducts(Flux<Product> products);
+
+    /**
+     * Update many products identified by their IDs, written in chunks.
+     *
+     * @param products the products to update, each carrying its ID
+     * @return flux with one result per submitted product, in submission order
+     */
+    Flux<BulkItemResult> bulkUpdateProducts(Flux<Product> products);
+
+    /**
+     * Delete many products by ID, in chunks.
+     *
+     * @param ids the IDs of the products to delete
+     * @return flux with one result per submitted ID, in submission order
+     */
+    Flux<BulkItemResult> bulkDeleteProducts(Flux<Long> ids);
+
+    /**
+     * A number that changes whenever a write through this use case ends, so
+     * results derived from reads can be reused for as long as it stays the
+     * same. Writes by other instances do not change it.
+     *
+     * @return the current catalog version
+     */
+    long getCatalogVersion();
 }
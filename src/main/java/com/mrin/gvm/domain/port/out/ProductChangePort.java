@@ -0,0 +1,51 @@
+package com.mrin.gvm.domain.port.out;
+
+import com.mrin.gvm.domain.model.ChangeOffset;
+import com.mrin.gvm.domain.model.ProductChange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Output port for reading the product change feed.
+ * Changes are appended by the persistence port as part of each write.
+ */
+public interface ProductChangePort {
+
+    /**
+     * Find the committed changes after an offset, in feed order.
+     * Implementations must only return changes that no later-committing
+     * transaction can precede, so a consumer never skips a change.
+     *
+     * @param after the exclusive offset to start after
+     * @param limit the maximum number of changes to return
+     * @return flux of at most {@code limit} changes
+     */
+    Flux<ProductChange> findChangesAfter(ChangeOffset after, int limit);
+
+    /**
+     * Find the offset just before the changes that are not yet final, i.e. the
+     * position of a consumer that only wants changes from now on.
+     *
+     * @return mono of the offset
+     */
+    Mono<ChangeOffset> findHead();
+
+    /**
+     * Find the offset of the latest change deleted by {@link #deleteChangesBefore}.
+     * A consumer resuming from an earlier offset may have missed deleted changes.
+     *
+     * @return mono of the offset, or empty if no change has been deleted
+     */
+    Mono<ChangeOffset> findHorizon();
+
+    /**
+     * Delete changes recorded before a point in time, and move the horizon of
+     * each affected tenant up to the latest deleted change.
+     *
+     * @param cutoff the exclusive upper bound for the change time
+     * @return mono of the number of deleted changes
+     */
+    Mono<Long> deleteChangesBefore(Instant cutoff);
+}
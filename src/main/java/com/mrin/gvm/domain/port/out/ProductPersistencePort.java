@@ -1,9 +1,15 @@
 package com.mrin.gvm.domain.port.out;
 
+import com.mrin.gvm.domain.model.InventoryStats;
 import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.model.UpsertedProduct;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Output port for Product persistence.
  * Defines the contract for product data access operations.
@@ -20,12 +26,80 @@ public interface ProductPersistencePort {
     Mono<Product> save(Product product);
 
     /**
-     * Find all products.
+     * Insert a product, or merge it into the existing product with the same name
+     * by replacing its description and price and adding to its quantity.
+     * Must be a single atomic operation so concurrent creates never collide.
+     *
+     * @param product the product to insert or merge
+     * @return mono of the stored product
+     */
+    Mono<Product> upsertByName(Product product);
+
+    /**
+     * Upsert a chunk of products by name as one batch in a single transaction.
+     *
+     * @param products the products to insert or merge
+     * @return flux with the stored product for every input, in input order, and
+     * whether it was inserted or merged
+     */
+    Flux<UpsertedProduct> upsertAllByName(List<Product> products);
+
+    /**
+     * Update a chunk of existing products by ID as one batch in a single transaction.
+     *
+     * @param products the products to update, each carrying its ID
+     * @return flux of the products that existed and were updated
+     */
+    Flux<Product> updateAll(List<Product> products);
+
+    /**
+     * Delete a chunk of products by ID in a single statement.
+     *
+     * @param ids the IDs to delete
+     * @return flux of the IDs that existed and were deleted
+     */
+    Flux<Long> deleteAllById(List<Long> ids);
+
+    /**
+     * Atomically take stock from a product if it has enough.
+     * Must be a single conditional write so concurrent reservations can never
+     * oversell.
+     *
+     * @param id       the product ID
+     * @param quantity the number of units to take
+     * @return mono of the updated product, empty if the product does not exist
+     * or has fewer than {@code quantity} units
+     */
+    Mono<Product> reserveStock(Long id, int quantity);
+
+    /**
+     * Atomically return stock to a product.
+     *
+     * @param id       the product ID
+     * @param quantity the number of units to return
+     * @return mono of the updated product, empty if the product does not exist
+     * or its stock would exceed {@link Integer#MAX_VALUE}
+     */
+    Mono<Product> releaseStock(Long id, int quantity);
+
+    /**
+     * Find all products ordered by ID.
+     * Implementations must stream rows with backpressure instead of
+     * materializing the whole table.
      *
      * @return flux of all products
      */
     Flux<Product> findAll();
 
+    /**
+     * Find products with an ID greater than the given one, ordered by ID.
+     *
+     * @param afterId the exclusive lower bound for the ID
+     * @param limit   the maximum number of products to return
+     * @return flux of at most {@code limit} products
+     */
+    Flux<Product> findPage(long afterId, int limit);
+
     /**
      * Find a product by ID.
      *
@@ -34,6 +108,14 @@ public interface ProductPersistencePort {
      */
     Mono<Product> findById(Long id);
 
+    /**
+     * Find several products by ID in a single query.
+     *
+     * @param ids the product IDs, without duplicates
+     * @return flux of the products that exist, in no particular order
+     */
+    Flux<Product> findAllById(Collection<Long> ids);
+
     /**
      * Find a product by name.
      *
@@ -43,12 +125,28 @@ public interface ProductPersistencePort {
     Mono<Product> findByName(String name);
 
     /**
-     * Find products by name containing the given string (case-insensitive).
+     * Find products whose name matches the term (case-insensitive), using an index
+     * for both prefix and substring matches.
+     *
+     * @param term  the text to search for, matched literally
+     * @param mode  whether the name must start with or merely contain the term
+     * @param limit the maximum number of products to return
+     * @return flux of at most {@code limit} matching products, ordered by name for
+     * prefixes and by ID for substrings
+     */
+    Flux<Product> searchByName(String term, SearchMode mode, int limit);
+
+    /**
+     * Aggregate the whole inventory: product count, total quantity, total value
+     * and the products below a stock threshold, found through an index on the
+     * quantity. The totals still read every product, so callers should not
+     * run this per request.
      *
-     * @param name the name to search for
-     * @return flux of matching products
+     * @param lowStockThreshold products with a quantity below it are low on stock
+     * @param lowStockLimit     the maximum number of low-stock products to return
+     * @return mono of the statistics
      */
-    Flux<Product> findByNameContainingIgnoreCase(String name);
+    Mono<InventoryStats> computeStats(int lowStockThreshold, int lowStockLimit);
 
     /**
      * Delete a product.
@@ -0,0 +1,112 @@
+package com.mrin.gvm.metrics;
+
+import com.mrin.gvm.domain.model.InventoryStats;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.model.UpsertedProduct;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decorator recording a {@code products.persistence} timer for every
+ * ProductPersistencePort call (see {@link ReactiveMetrics}). Placed directly
+ * around the database adapter, so it measures database work only; cache hits
+ * never reach it.
+ */
+public class MeteredProductPersistencePort implements ProductPersistencePort {
+
+    static final String METRIC = "products.persistence";
+
+    private final ProductPersistencePort delegate;
+    private final ReactiveMetrics metrics;
+
+    public MeteredProductPersistencePort(ProductPersistencePort delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = new ReactiveMetrics(registry, METRIC, "Product persistence calls");
+    }
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return metrics.mono("save", () -> delegate.save(product));
+    }
+
+    @Override
+    public Mono<Product> upsertByName(Product product) {
+        return metrics.mono("upsertByName", () -> delegate.upsertByName(product));
+    }
+
+    @Override
+    public Flux<UpsertedProduct> upsertAllByName(List<Product> products) {
+        return metrics.flux("upsertAllByName", () -> delegate.upsertAllByName(products));
+    }
+
+    @Override
+    public Flux<Product> updateAll(List<Product> products) {
+        return metrics.flux("updateAll", () -> delegate.updateAll(products));
+    }
+
+    @Override
+    public Flux<Long> deleteAllById(List<Long> ids) {
+        return metrics.flux("deleteAllById", () -> delegate.deleteAllById(ids));
+    }
+
+    @Override
+    public Mono<Product> reserveStock(Long id, int quantity) {
+        return metrics.mono("reserveStock", () -> delegate.reserveStock(id, quantity));
+    }
+
+    @Override
+    public Mono<Product> releaseStock(Long id, int quantity) {
+        return metrics.mono("releaseStock", () -> delegate.releaseStock(id, quantity));
+    }
+
+    @Override
+    public Flux<Product> findAll() {
+        return metrics.flux("findAll", delegate::findAll);
+    }
+
+    @Override
+    public Flux<Product> findPage(long afterId, int limit) {
+        return metrics.flux("findPage", () -> delegate.findPage(afterId, limit));
+    }
+
+    @Override
+    public Mono<Product> findById(Long id) {
+        return metrics.mono("findById", () -> delegate.findById(id));
+    }
+
+    @Override
+    public Flux<Product> findAllById(Collection<Long> ids) {
+        return metrics.flux("findAllById", () -> delegate.findAllById(ids));
+    }
+
+    @Override
+    public Mono<Product> findByName(String name) {
+        return metrics.mono("findByName", () -> delegate.findByName(name));
+    }
+
+    @Override
+    public Flux<Product> searchByName(String term, SearchMode mode, int limit) {
+        return metrics.flux("searchByName", () -> delegate.searchByName(term, mode, limit));
+    }
+
+    @Override
+    public Mono<InventoryStats> computeStats(int lowStockThreshold, int lowStockLimit) {
+        return metrics.mono("computeStats", () -> delegate.computeStats(lowStockThreshold, lowStockLimit));
+    }
+
+    @Override
+    public Mono<Void> delete(Product product) {
+        return metrics.completion("delete", () -> delegate.delete(product));
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return metrics.completion("deleteAll", delegate::deleteAll);
+    }
+}
@@ -0,0 +1,109 @@
+package com.mrin.gvm.metrics;
+
+import com.mrin.gvm.domain.model.BulkItemResult;
+import com.mrin.gvm.domain.model.InventoryStats;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.ProductPage;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.port.in.ProductUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decorator recording a {@code products.usecase} timer for every ProductUseCase
+ * call (see {@link ReactiveMetrics}). A plain delegating class rather than an
+ * aspect, so it adds no proxy and needs no extra native-image hints.
+ */
+public class MeteredProductUseCase implements ProductUseCase {
+
+    static final String METRIC = "products.usecase";
+
+    private final ProductUseCase delegate;
+    private final ReactiveMetrics metrics;
+
+    public MeteredProductUseCase(ProductUseCase delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = new ReactiveMetrics(registry, METRIC, "Product use case calls");
+    }
+
+    @Override
+    public Mono<Product> createProduct(Product product) {
+        return metrics.mono("createProduct", () -> delegate.createProduct(product));
+    }
+
+    @Override
+    public Flux<Product> getAllProducts() {
+        return metrics.flux("getAllProducts", delegate::getAllProducts);
+    }
+
+    @Override
+    public Mono<ProductPage> getProductsPage(Long afterId, int limit) {
+        return metrics.mono("getProductsPage", () -> delegate.getProductsPage(afterId, limit));
+    }
+
+    @Override
+    public Mono<Product> getProductById(Long id) {
+        return metrics.mono("getProductById", () -> delegate.getProductById(id));
+    }
+
+    @Override
+    public Mono<Product> updateProduct(Long id, Product productDetails) {
+        return metrics.mono("updateProduct", () -> delegate.updateProduct(id, productDetails));
+    }
+
+    @Override
+    public Mono<Product> updateProduct(Long id, Product productDetails, long expectedVersion) {
+        return metrics.mono("updateProductIfMatch", () -> delegate.updateProduct(id, productDetails, expectedVersion));
+    }
+
+    @Override
+    public Mono<Product> reserveStock(Long id, int quantity) {
+        return metrics.mono("reserveStock", () -> delegate.reserveStock(id, quantity));
+    }
+
+    @Override
+    public Mono<Product> releaseStock(Long id, int quantity) {
+        return metrics.mono("releaseStock", () -> delegate.releaseStock(id, quantity));
+    }
+
+    @Override
+    public Mono<Void> deleteProduct(Long id) {
+        return metrics.completion("deleteProduct", () -> delegate.deleteProduct(id));
+    }
+
+    @Override
+    public Flux<Product> searchProductsByName(String name, SearchMode mode, int limit) {
+        return metrics.flux("searchProductsByName", () -> delegate.searchProductsByName(name, mode, limit));
+    }
+
+    @Override
+    public Mono<InventoryStats> getInventoryStats(int lowStockThreshold, int lowStockLimit) {
+        return metrics.mono("getInventoryStats", () -> delegate.getInventoryStats(lowStockThreshold, lowStockLimit));
+    }
+
+    @Override
+    public Mono<Void> deleteAllProducts() {
+        return metrics.completion("deleteAllProducts", delegate::deleteAllProducts);
+    }
+
+    @Override
+    public Flux<BulkItemResult> bulkCreateProducts(Flux<Product> products) {
+        return metrics.flux("bulkCreateProducts", () -> delegate.bulkCreateProducts(products));
+    }
+
+    @Override
+    public Flux<BulkItemResult> bulkUpdateProducts(Flux<Product> products) {
+        return metrics.flux("bulkUpdateProducts", () -> delegate.bulkUpdateProducts(products));
+    }
+
+    @Override
+    public Flux<BulkItemResult> bulkDeleteProducts(Flux<Long> ids) {
+        return metrics.flux("bulkDeleteProducts", () -> delegate.bulkDeleteProducts(ids));
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return delegate.getCatalogVersion();
+    }
+}
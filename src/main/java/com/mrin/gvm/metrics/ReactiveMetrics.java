@@ -0,0 +1,131 @@
+package com.mrin.gvm.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Times reactive calls from subscription to termination and counts the rows
+ * emitted by Flux results.
+ * <p>
+ * Every call is recorded in the timer {@code <name>} tagged with the method and
+ * its result: {@code success}, {@code empty}, {@code cancelled} or the simple
+ * class name of the error. Flux results also record their row count in
+ * {@code <name>.rows}. Meters are created on first use and cached, so a call
+ * costs two clock reads and two map lookups. Percentiles and histogram buckets
+ * are configured per meter name under {@code management.metrics.distribution}.
+ */
+public class ReactiveMetrics {
+
+    static final String SUCCESS = "success";
+    static final String EMPTY = "empty";
+    static final String CANCELLED = "cancelled";
+
+    private final MeterRegistry registry;
+    private final String name;
+    private final String description;
+    private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> rowCounts = new ConcurrentHashMap<>();
+
+    public ReactiveMetrics(MeterRegistry registry, String name, String description) {
+        this.registry = registry;
+        this.name = name;
+        this.description = description;
+    }
+
+    /**
+     * Time a Mono-returning call. Exceptions thrown while assembling the call
+     * are turned into error signals and recorded as well.
+     *
+     * @param method value of the method tag
+     * @param call   the call to time
+     * @return the timed Mono
+     */
+    public <T> Mono<T> mono(String method, Supplier<Mono<T>> call) {
+        return timed(method, call, EMPTY);
+    }
+
+    /**
+     * Time a call that only signals completion, recording it as a success.
+     *
+     * @param method value of the method tag
+     * @param call   the call to time
+     * @return the timed Mono
+     */
+    public Mono<Void> completion(String method, Supplier<Mono<Void>> call) {
+        return timed(method, call, SUCCESS);
+    }
+
+    /**
+     * Time a Flux-returning call and count the rows it emits.
+     *
+     * @param method value of the method tag
+     * @param call   the call to time
+     * @return the timed Flux
+     */
+    public <T> Flux<T> flux(String method, Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            // Signals are serialized per subscription, so a plain counter is enough
+            long[] rows = new long[1];
+            return assemble(call, Flux::error)
+                    .doOnNext(value -> rows[0]++)
+                    .doOnComplete(() -> record(method, rows[0] > 0 ? SUCCESS : EMPTY, start, rows[0]))
+                    .doOnError(error -> record(method, error.getClass().getSimpleName(), start, rows[0]))
+                    .doOnCancel(() -> record(method, CANCELLED, start, rows[0]));
+        });
+    }
+
+    private <T> Mono<T> timed(String method, Supplier<Mono<T>> call, String resultWithoutValue) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return assemble(call, Mono::error)
+                    .doOnSuccess(value -> record(method, value == null ? resultWithoutValue : SUCCESS, start))
+                    .doOnError(error -> record(method, error.getClass().getSimpleName(), start))
+                    .doOnCancel(() -> record(method, CANCELLED, start));
+        });
+    }
+
+    /**
+     * Assemble the call, turning an exception thrown on the way (e.g. by argument
+     * validation) into an error signal so it is recorded like any other failure.
+     */
+    private static <P> P assemble(Supplier<P> call, Function<Throwable, P> error) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return error.apply(e);
+        }
+    }
+
+    private void record(String method, String result, long start) {
+        timer(method, result).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void record(String method, String result, long start, long rows) {
+        record(method, result, start);
+        rowCounts.computeIfAbsent(method, key -> DistributionSummary.builder(name + ".rows")
+                        .description("Rows emitted per call")
+                        .baseUnit("rows")
+                        .tag("method", key)
+                        .register(registry))
+                .record(rows);
+    }
+
+    private Timer timer(String method, String result) {
+        return timers.computeIfAbsent(method, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(result, key -> Timer.builder(name)
+                        .description(description)
+                        .tag("method", method)
+                        .tag("result", key)
+                        .register(registry));
+    }
+}
@@ -0,0 +1,77 @@
+package com.mrin.gvm.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long callers wait for a connection in {@code r2dbc.pool.acquire},
+ * tagged like Spring Boot's {@code r2dbc.pool.*} gauges with the name of the
+ * connection factory bean. Waiting time grows once all pooled connections are
+ * in use, so this shows pool saturation as latency rather than as a count.
+ * <p>
+ * Implements {@link Wrapped} so the pool underneath is still found by the
+ * pool metrics and health checks, and {@link Disposable} so the pool is still
+ * shut down with the context.
+ */
+public class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable {
+
+    static final String ACQUIRE_METRIC = "r2dbc.pool.acquire";
+
+    private final ConnectionFactory delegate;
+    private final Timer acquired;
+    private final Timer failed;
+
+    public TimedConnectionFactory(ConnectionFactory delegate, MeterRegistry registry, String name) {
+        this.delegate = delegate;
+        this.acquired = acquireTimer(registry, name, "success");
+        this.failed = acquireTimer(registry, name, "error");
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.<Connection>from(delegate.create())
+                    .doOnSuccess(connection -> acquired.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(error -> failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    @Override
+    public void dispose() {
+        if (delegate instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate instanceof Disposable disposable && disposable.isDisposed();
+    }
+
+    private static Timer acquireTimer(MeterRegistry registry, String name, String result) {
+        return Timer.builder(ACQUIRE_METRIC)
+                .description("Time to acquire a connection")
+                .tag("name", name)
+                .tag("result", result)
+                .register(registry);
+    }
+}
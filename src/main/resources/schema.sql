@@ -1,9 +1,83 @@
 -- Create products table if it doesn't exist
 CREATE TABLE IF NOT EXISTS products (
     id BIGSERIAL PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
     name VARCHAR(100) NOT NULL,
     description VARCHAR(500),
     price DECIMAL(10, 2) NOT NULL,
     quantity INTEGER NOT NULL,
-    UNIQUE(name)
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
 );
+
+-- Optimistic concurrency version, for tables created before the column existed
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Last write time for HTTP Last-Modified, for tables created before the column existed
+ALTER TABLE products ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+-- Owning tenant, for tables created before the column existed. Existing rows, and rows
+-- written by instances that predate it during a rolling deploy, belong to the default tenant.
+ALTER TABLE products ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+-- Names are unique per tenant only, so tenants can share a deployment. The index is the
+-- conflict target of upserts by name (ON CONFLICT (tenant_id, name)) and replaces the global
+-- UNIQUE(name) constraint of tables created before tenants existed. Instances from before
+-- tenants upsert with ON CONFLICT (name), which fails without that constraint, so replace
+-- them all at once rather than with a rolling deploy.
+CREATE UNIQUE INDEX IF NOT EXISTS idx_products_tenant_name ON products (tenant_id, name);
+ALTER TABLE products DROP CONSTRAINT IF EXISTS products_name_key;
+
+-- Keyset pages of one tenant (id > :afterId ORDER BY id)
+CREATE INDEX IF NOT EXISTS idx_products_tenant_id ON products (tenant_id, id);
+
+-- Checksums of applied init scripts, so unchanged scripts can be skipped at startup
+-- (app.persistence.schema.skip-unchanged)
+CREATE TABLE IF NOT EXISTS schema_checksums (
+    checksum CHAR(64) PRIMARY KEY,
+    applied_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- Outbox of product writes, appended by the same statement or transaction as the write.
+-- txid orders the feed: rows of transactions older than every running one are final,
+-- whereas id order alone can change when a transaction with a lower id commits late.
+CREATE TABLE IF NOT EXISTS product_changes (
+    id BIGSERIAL PRIMARY KEY,
+    txid BIGINT NOT NULL DEFAULT txid_current(),
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
+    product_id BIGINT NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    version BIGINT,
+    changed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+ALTER TABLE product_changes ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+-- Each tenant follows its own feed in (txid, id) order
+CREATE INDEX IF NOT EXISTS idx_product_changes_tenant_txid ON product_changes (tenant_id, txid, id);
+DROP INDEX IF EXISTS idx_product_changes_txid;
+CREATE INDEX IF NOT EXISTS idx_product_changes_changed_at ON product_changes (changed_at);
+
+-- Latest pruned change of each tenant, recorded by the pruning statement itself. A consumer
+-- resuming from an offset before it would silently miss pruned changes, so it is told instead.
+CREATE TABLE IF NOT EXISTS product_change_horizons (
+    tenant_id VARCHAR(64) PRIMARY KEY,
+    txid BIGINT NOT NULL,
+    id BIGINT NOT NULL
+);
+
+-- Name search indexes
+-- Substring search (lower(name) LIKE '%term%') uses trigram matching; the tenant is
+-- checked on the matching rows, as a GIN index cannot lead with a plain column
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING GIN (lower(name) gin_trgm_ops);
+
+-- Prefix search (lower(name) LIKE 'term%'). Byte-wise "C" ordering, like text_pattern_ops,
+-- makes LIKE prefixes indexable and also serves ORDER BY, so LIMIT stops the scan early.
+-- Led by the tenant, so a search only scans that tenant's names.
+CREATE INDEX IF NOT EXISTS idx_products_tenant_name_prefix ON products (tenant_id, (lower(name) COLLATE "C"));
+DROP INDEX IF EXISTS idx_products_name_prefix;
+
+-- Inventory statistics: the low-stock list is a range scan in (quantity, id) order, and
+-- with the price included the totals can be summed from the index without the table.
+-- Both are per tenant, so the index is led by it.
+CREATE INDEX IF NOT EXISTS idx_products_tenant_quantity ON products (tenant_id, quantity, id) INCLUDE (price);
+DROP INDEX IF EXISTS idx_products_quantity;
@@ -0,0 +1,175 @@
+package com.mrin.gvm.adapter.in.web;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrin.gvm.adapter.in.web.codec.BinaryMediaTypes;
+import com.mrin.gvm.config.CodecConfig;
+import com.mrin.gvm.config.PageCacheConfig;
+import com.mrin.gvm.domain.model.BulkItemResult;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.port.in.ProductUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the binary formats ProductController negotiates next to JSON.
+ */
+@WebFluxTest(ProductController.class)
+@Import({CodecConfig.class, PageCacheConfig.class, SimpleMeterRegistry.class})
+class ProductControllerCodecTest {
+
+    private static final TypeReference<List<Product>> PRODUCT_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ProductUseCase productUseCase;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        testProduct = new Product(1L, "Test Product", "Test Description", new BigDecimal("99.99"), 10, 7L,
+                Instant.parse("2025-01-01T10:00:00Z"));
+    }
+
+    @Test
+    void getProductById_ShouldReturnSmileWhenAccepted() throws IOException {
+        // Arrange
+        when(productUseCase.getProductById(1L)).thenReturn(Mono.just(testProduct));
+
+        // Act
+        byte[] body = webTestClient.get().uri("/api/products/1")
+                .accept(BinaryMediaTypes.APPLICATION_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(BinaryMediaTypes.APPLICATION_SMILE)
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        // Assert
+        assertThat(smileMapper.readValue(body, Product.class)).isEqualTo(testProduct);
+    }
+
+    @Test
+    void getProductById_ShouldTagEachFormatSeparately() {
+        // Arrange
+        when(productUseCase.getProductById(1L)).thenReturn(Mono.just(testProduct));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/products/1")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-7-cbor\"");
+        webTestClient.get().uri("/api/products/1")
+                .accept(BinaryMediaTypes.APPLICATION_SMILE)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-7-cbor\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-7-smile\"");
+    }
+
+    @Test
+    void searchProducts_ShouldReturnOneCborArray() throws IOException {
+        // Arrange
+        Product other = testProduct.copy();
+        other.setId(2L);
+        when(productUseCase.searchProductsByName(eq("Test"), any(), anyInt()))
+                .thenReturn(Flux.just(testProduct, other));
+
+        // Act
+        byte[] body = webTestClient.get().uri("/api/products/search?name=Test")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        // Assert
+        assertThat(cborMapper.readValue(body, PRODUCT_LIST)).containsExactly(testProduct, other);
+    }
+
+    @Test
+    void searchProducts_ShouldWriteCborArrayElementByElement() {
+        // Arrange
+        when(productUseCase.searchProductsByName(eq("Test"), any(), anyInt()))
+                .thenReturn(Flux.just(testProduct, testProduct.copy()));
+
+        // Act
+        byte[] body = webTestClient.get().uri("/api/products/search?name=Test")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        // Assert: an indefinite-length array, so nothing is collected before writing
+        assertThat(body[0]).isEqualTo((byte) 0x9F);
+        assertThat(body[body.length - 1]).isEqualTo((byte) 0xFF);
+    }
+
+    @Test
+    void searchProducts_ShouldAnswerJsonWhenAnyFormatIsAccepted() {
+        // Arrange
+        when(productUseCase.searchProductsByName(eq("Test"), any(), anyInt())).thenReturn(Flux.just(testProduct));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/products/search?name=Test")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("Test Product");
+    }
+
+    @Test
+    void bulkCreateProducts_ShouldReadCborArray() throws IOException {
+        // Arrange
+        when(productUseCase.bulkCreateProducts(any())).thenAnswer(invocation -> {
+            Flux<Product> products = invocation.getArgument(0);
+            return products.index().map(item ->
+                    BulkItemResult.success(item.getT1(), item.getT2().getId(), BulkItemResult.Status.CREATED));
+        });
+        Product other = testProduct.copy();
+        other.setId(2L);
+
+        // Act & Assert
+        webTestClient.post().uri("/api/products/bulk")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(cborMapper.writeValueAsBytes(List.of(testProduct, other)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].id").isEqualTo(2);
+    }
+}
@@ -0,0 +1,158 @@
+package com.mrin.gvm.adapter.in.web;
+
+import com.mrin.gvm.application.service.ProductService;
+import com.mrin.gvm.config.PageCacheConfig;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.ProductPage;
+import com.mrin.gvm.domain.port.in.ProductUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the conditional request handling of ProductController.
+ */
+@WebFluxTest(ProductController.class)
+@Import({PageCacheConfig.class, SimpleMeterRegistry.class})
+class ProductControllerConditionalTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ProductUseCase productUseCase;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        testProduct = new Product(1L, "Test Product", "Test Description", new BigDecimal("99.99"), 10, 7L,
+                Instant.parse("2025-01-01T10:00:00.123456Z"));
+    }
+
+    @Test
+    void getProductById_ShouldReturnETagAndLastModified() {
+        // Arrange
+        when(productUseCase.getProductById(1L)).thenReturn(Mono.just(testProduct));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/products/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-7\"")
+                .expectHeader().valueEquals(HttpHeaders.LAST_MODIFIED, "Wed, 01 Jan 2025 10:00:00 GMT")
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .expectBody().jsonPath("$.name").isEqualTo("Test Product");
+    }
+
+    @Test
+    void getProductById_ShouldReturnNotModifiedForCurrentETag() {
+        // Arrange
+        when(productUseCase.getProductById(1L)).thenReturn(Mono.just(testProduct));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/products/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-7\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void getProducts_ShouldValidatePagesByETagOnly() {
+        // Arrange
+        when(productUseCase.getProductsPage(null, 100))
+                .thenReturn(Mono.just(new ProductPage(List.of(testProduct), null)));
+
+        // Act & Assert: a product deleted from the page leaves its newest write time unchanged
+        String etag = webTestClient.get().uri("/api/products")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 01 Jan 2025 10:00:00 GMT")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LAST_MODIFIED)
+                .returnResult(String.class).getResponseHeaders().getETag();
+        webTestClient.get().uri("/api/products")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void updateProduct_ShouldPassIfMatchVersionToUseCase() {
+        // Arrange
+        Product updated = new Product(1L, "Test Product", "Changed", new BigDecimal("99.99"), 10, 8L);
+        when(productUseCase.updateProduct(eq(1L), any(Product.class), eq(7L))).thenReturn(Mono.just(updated));
+
+        // Act & Assert
+        webTestClient.put().uri("/api/products/1")
+                .header(HttpHeaders.IF_MATCH, "\"1-7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testProduct)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-8\"");
+
+        verify(productUseCase, never()).updateProduct(anyLong(), any(Product.class));
+    }
+
+    @Test
+    void updateProduct_ShouldAcceptIfMatchOfAnotherFormat() {
+        // Arrange
+        Product updated = new Product(1L, "Test Product", "Changed", new BigDecimal("99.99"), 10, 8L);
+        when(productUseCase.updateProduct(eq(1L), any(Product.class), eq(7L))).thenReturn(Mono.just(updated));
+
+        // Act & Assert
+        webTestClient.put().uri("/api/products/1")
+                .header(HttpHeaders.IF_MATCH, "\"1-7-cbor\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testProduct)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-8\"");
+    }
+
+    @Test
+    void updateProduct_ShouldReturnPreconditionFailedForStaleVersion() {
+        // Arrange
+        when(productUseCase.updateProduct(eq(1L), any(Product.class), eq(6L)))
+                .thenReturn(Mono.error(new ProductService.VersionMismatchException("stale")));
+
+        // Act & Assert
+        webTestClient.put().uri("/api/products/1")
+                .header(HttpHeaders.IF_MATCH, "\"1-6\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testProduct)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void updateProduct_ShouldRejectETagOfAnotherProductWithoutWriting() {
+        // Act & Assert
+        webTestClient.put().uri("/api/products/1")
+                .header(HttpHeaders.IF_MATCH, "\"2-7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testProduct)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        verifyNoInteractions(productUseCase);
+    }
+}
@@ -0,0 +1,153 @@
+package com.mrin.gvm.adapter.in.web;
+
+import com.mrin.gvm.config.PageCacheConfig;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.ProductPage;
+import com.mrin.gvm.domain.model.ReadStaleness;
+import com.mrin.gvm.domain.port.in.ProductUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for serving product list pages from their serialized bytes.
+ */
+@WebFluxTest(controllers = ProductController.class, properties = "app.page-cache.gzip-min-size=0B")
+@Import({PageCacheConfig.class, SimpleMeterRegistry.class})
+class ProductControllerPageCacheTest {
+
+    /**
+     * The cache outlives each test, so every test reads its own catalog version.
+     */
+    private static final AtomicLong CATALOG_VERSIONS = new AtomicLong();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private ProductUseCase productUseCase;
+
+    private ProductPage page;
+
+    @BeforeEach
+    void setUp() {
+        Product product = new Product(1L, "Test Product", "Test Description", new BigDecimal("99.99"), 10, 7L,
+                Instant.parse("2025-01-01T10:00:00Z"));
+        page = new ProductPage(List.of(product), null);
+        when(productUseCase.getCatalogVersion()).thenReturn(CATALOG_VERSIONS.incrementAndGet());
+    }
+
+    @Test
+    void getProducts_ShouldEncodePageOncePerCatalogVersion() {
+        // Arrange
+        when(productUseCase.getProductsPage(null, 100)).thenReturn(Mono.just(page));
+        double cachedBefore = bytes("cache");
+
+        // Act
+        String first = getPage();
+        String second = getPage();
+        when(productUseCase.getCatalogVersion()).thenReturn(CATALOG_VERSIONS.incrementAndGet());
+        String afterWrite = getPage();
+
+        // Assert
+        assertThat(first).contains("\"name\":\"Test Product\"").isEqualTo(second).isEqualTo(afterWrite);
+        verify(productUseCase, times(2)).getProductsPage(null, 100);
+        assertThat(bytes("cache") - cachedBefore).isEqualTo(first.length());
+    }
+
+    @Test
+    void getProducts_ShouldServeGzipCopyWhenAccepted() throws IOException {
+        // Arrange
+        when(productUseCase.getProductsPage(null, 100)).thenReturn(Mono.just(page));
+
+        // Act
+        byte[] body = webTestClient.get().uri("/api/products")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        // Assert
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(getPage());
+        }
+    }
+
+    @Test
+    void getProducts_ShouldTagGzipCopySeparately() {
+        // Arrange
+        when(productUseCase.getProductsPage(null, 100)).thenReturn(Mono.just(page));
+        String identityTag = webTestClient.get().uri("/api/products")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getETag();
+
+        // Act & Assert: the identity tag does not validate the compressed bytes
+        webTestClient.get().uri("/api/products")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, identityTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG,
+                        identityTag.substring(0, identityTag.length() - 1) + "-gzip\"");
+    }
+
+    @Test
+    void getProducts_ShouldServeStalePageOnlyOnce() {
+        // Arrange
+        when(productUseCase.getProductsPage(null, 100)).thenReturn(Mono.deferContextual(context -> {
+            context.get(ReadStaleness.class).record(Duration.ofSeconds(3));
+            return Mono.just(page);
+        }));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/products")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.AGE, "3")
+                .expectHeader().exists(HttpHeaders.WARNING);
+        getPage();
+
+        verify(productUseCase, times(2)).getProductsPage(null, 100);
+    }
+
+    private String getPage() {
+        return webTestClient.get().uri("/api/products")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+                .expectBody(String.class).returnResult().getResponseBody();
+    }
+
+    private double bytes(String source) {
+        return meterRegistry.get("products.pages.bytes").tag("source", source).tag("encoding", "identity")
+                .counter().count();
+    }
+}
@@ -0,0 +1,152 @@
+package com.mrin.gvm.adapter.in.web;
+
+import com.mrin.gvm.config.PageCacheConfig;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.ProductPage;
+import com.mrin.gvm.domain.port.in.ProductUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the cursor pagination of the product list.
+ */
+@WebFluxTest(ProductController.class)
+@Import({PageCacheConfig.class, SimpleMeterRegistry.class})
+class ProductControllerPaginationTest {
+
+    /**
+     * The page cache outlives each test, so every test reads its own catalog version.
+     */
+    private static final AtomicLong CATALOG_VERSIONS = new AtomicLong();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ProductUseCase productUseCase;
+
+    @BeforeEach
+    void setUp() {
+        when(productUseCase.getCatalogVersion()).thenReturn(CATALOG_VERSIONS.incrementAndGet());
+    }
+
+    @Test
+    void getProducts_WithoutCursor_ShouldReturnFirstPageAndNextCursor() {
+        // Arrange
+        when(productUseCase.getProductsPage(null, 2))
+                .thenReturn(Mono.just(new ProductPage(List.of(product(1L), product(2L)), 2L)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/products?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(ProductController.NEXT_CURSOR_HEADER)
+                .expectBody().jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    void getProducts_WithNextCursor_ShouldContinueAfterLastProduct() {
+        // Arrange
+        when(productUseCase.getProductsPage(null, 2))
+                .thenReturn(Mono.just(new ProductPage(List.of(product(1L), product(2L)), 2L)));
+        when(productUseCase.getProductsPage(2L, 2))
+                .thenReturn(Mono.just(new ProductPage(List.of(product(3L), product(4L)), 4L)));
+        String cursor = webTestClient.get().uri("/api/products?limit=2")
+                .exchange()
+                .returnResult(Product.class)
+                .getResponseHeaders().getFirst(ProductController.NEXT_CURSOR_HEADER);
+
+        // Act & Assert
+        webTestClient.get().uri("/api/products?limit=2&cursor={cursor}", cursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(ProductController.NEXT_CURSOR_HEADER)
+                .expectBody().jsonPath("$[0].id").isEqualTo(3);
+
+        verify(productUseCase).getProductsPage(2L, 2);
+    }
+
+    @Test
+    void getProducts_OnLastPage_ShouldReturnNoCursor() {
+        // Arrange
+        when(productUseCase.getProductsPage(null, 100))
+                .thenReturn(Mono.just(new ProductPage(List.of(product(1L)), null)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/products")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(ProductController.NEXT_CURSOR_HEADER)
+                .expectBody().jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    void getProducts_WithMalformedCursor_ShouldReturnBadRequest() {
+        // Act & Assert
+        webTestClient.get().uri("/api/products?cursor=not-a-cursor!")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(productUseCase, never()).getProductsPage(any(), anyInt());
+    }
+
+    @Test
+    void getProducts_WithCursorNotHoldingAnId_ShouldReturnBadRequest() {
+        // Arrange: valid Base64 of "abc"
+        String cursor = "YWJj";
+
+        // Act & Assert
+        webTestClient.get().uri("/api/products?cursor={cursor}", cursor)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(productUseCase, never()).getProductsPage(any(), anyInt());
+    }
+
+    @Test
+    void getProducts_WithNonNumericLimit_ShouldReturnBadRequest() {
+        // Act & Assert
+        webTestClient.get().uri("/api/products?limit=many")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(productUseCase, never()).getProductsPage(any(), anyInt());
+    }
+
+    @Test
+    void getProducts_ShouldPassLimitToUseCaseForCapping() {
+        // Arrange
+        when(productUseCase.getProductsPage(null, 5000))
+                .thenReturn(Mono.just(new ProductPage(List.of(product(1L)), null)));
+
+        // Act
+        List<Product> products = webTestClient.get().uri("/api/products?limit=5000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Product.class)
+                .returnResult().getResponseBody();
+
+        // Assert
+        assertThat(products).hasSize(1);
+        verify(productUseCase).getProductsPage(null, 5000);
+    }
+
+    private static Product product(Long id) {
+        return new Product(id, "Product " + id, null, new BigDecimal("9.99"), 10, 1L);
+    }
+}
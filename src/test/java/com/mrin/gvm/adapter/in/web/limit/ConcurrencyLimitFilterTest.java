@@ -0,0 +1,184 @@
+package com.mrin.gvm.adapter.in.web.limit;
+
+import com.mrin.gvm.domain.model.Tenant;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ConcurrencyLimitFilter.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+    private Sinks.Empty<Void> pending;
+    private WebFilterChain pendingChain;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(4);
+        properties.setMaxLimit(4);
+        properties.setBatchShare(0.25);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+        // Requests that stay in flight until the sink completes
+        pending = Sinks.empty();
+        pendingChain = exchange -> pending.asMono();
+    }
+
+    @Test
+    void filter_ShouldRejectRequestsBeyondLimitWithRetryAfter() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            filter.filter(exchange(MockServerHttpRequest.get("/api/products/" + i)), pendingChain).subscribe();
+        }
+        MockServerWebExchange rejected = exchange(MockServerHttpRequest.get("/api/products/5"));
+
+        // Act
+        filter.filter(rejected, pendingChain).block();
+
+        // Assert
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(meterRegistry.get(ConcurrencyLimitFilter.REJECTED_METRIC).tag("priority", "single")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void filter_ShouldLimitBatchRequestsToTheirShare() {
+        // Arrange
+        filter.filter(exchange(MockServerHttpRequest.post("/api/products/bulk")), pendingChain).subscribe();
+        MockServerWebExchange deleteAll = exchange(MockServerHttpRequest.delete("/api/products"));
+        MockServerWebExchange read = exchange(MockServerHttpRequest.get("/api/products/1"));
+
+        // Act
+        filter.filter(deleteAll, pendingChain).block();
+        Disposable admitted = filter.filter(read, pendingChain).subscribe();
+
+        // Assert
+        assertThat(deleteAll.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(read.getResponse().getStatusCode()).isNull();
+        assertThat(filter.getLimit().getInFlight()).isEqualTo(2);
+        assertThat(meterRegistry.get(ConcurrencyLimitFilter.REJECTED_METRIC).tag("priority", "batch")
+                .counter().count()).isEqualTo(1);
+        admitted.dispose();
+    }
+
+    @Test
+    void filter_ShouldRejectTenantBeyondItsShareWithTooManyRequests() {
+        // Arrange
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(4);
+        properties.setMaxLimit(4);
+        properties.setTenantShare(0.5);
+        filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+        Tenant noisy = new Tenant("noisy");
+        for (int i = 0; i < 2; i++) {
+            filter.filter(exchange(MockServerHttpRequest.get("/api/products/" + i)), pendingChain)
+                    .contextWrite(context -> context.put(Tenant.class, noisy))
+                    .subscribe();
+        }
+        MockServerWebExchange rejected = exchange(MockServerHttpRequest.get("/api/products/3"));
+        MockServerWebExchange other = exchange(MockServerHttpRequest.get("/api/products/4"));
+
+        // Act
+        filter.filter(rejected, pendingChain).contextWrite(context -> context.put(Tenant.class, noisy)).block();
+        Disposable admitted = filter.filter(other, pendingChain).subscribe();
+
+        // Assert
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(other.getResponse().getStatusCode()).isNull();
+        assertThat(filter.getInFlight(noisy)).isEqualTo(2);
+        assertThat(filter.getLimit().getInFlight()).isEqualTo(3);
+        assertThat(meterRegistry.get(ConcurrencyLimitFilter.QUOTA_REJECTED_METRIC).tag("priority", "single")
+                .counter().count()).isEqualTo(1);
+        admitted.dispose();
+    }
+
+    @Test
+    void filter_ShouldReleaseOnCompletionAndCancellation() {
+        // Arrange
+        Disposable cancelled = filter.filter(exchange(MockServerHttpRequest.get("/api/products/1")), pendingChain)
+                .subscribe();
+        filter.filter(exchange(MockServerHttpRequest.get("/api/products/2")), pendingChain).subscribe();
+
+        // Act
+        cancelled.dispose();
+        pending.tryEmitEmpty();
+
+        // Assert
+        assertThat(filter.getLimit().getInFlight()).isZero();
+    }
+
+    @Test
+    void filter_ShouldLowerLimitWhileDownstreamFails() {
+        // Arrange
+        filter = new ConcurrencyLimitFilter(new ConcurrencyLimitProperties(), meterRegistry);
+        WebFilterChain failing = exchange -> Mono.error(new TransientDataAccessResourceException("Connection refused"));
+
+        // Act: failures are fast, so as latency samples they would look healthy
+        for (int i = 0; i < 10; i++) {
+            filter.filter(exchange(MockServerHttpRequest.get("/api/products/1")), failing)
+                    .onErrorComplete()
+                    .block();
+        }
+
+        // Assert
+        assertThat(filter.getLimit().getLimit()).isLessThan(50).isGreaterThanOrEqualTo(10);
+        assertThat(filter.getLimit().getInFlight()).isZero();
+    }
+
+    @Test
+    void filter_ShouldNotLowerLimitForClientErrors() {
+        // Arrange
+        filter = new ConcurrencyLimitFilter(new ConcurrencyLimitProperties(), meterRegistry);
+        WebFilterChain notFound = exchange -> Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            filter.filter(exchange(MockServerHttpRequest.get("/api/products/1")), notFound)
+                    .onErrorComplete()
+                    .block();
+        }
+
+        // Assert
+        assertThat(filter.getLimit().getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    void filter_ShouldNotLimitStreams() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            filter.filter(exchange(MockServerHttpRequest.get("/api/products/" + i)), pendingChain).subscribe();
+        }
+        MockServerWebExchange changes = exchange(MockServerHttpRequest.get("/api/products/changes"));
+
+        // Act
+        filter.filter(changes, exchange -> Mono.empty()).block();
+
+        // Assert
+        assertThat(changes.getResponse().getStatusCode()).isNull();
+        assertThat(filter.getLimit().getInFlight()).isEqualTo(4);
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,118 @@
+package com.mrin.gvm.adapter.in.web.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for GradientConcurrencyLimit.
+ */
+class GradientConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private ConcurrencyLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(100);
+        properties.setMinLimit(10);
+        properties.setMaxLimit(500);
+    }
+
+    @Test
+    void tryAcquire_ShouldRejectOnceShareOfLimitIsInFlight() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties);
+
+        // Act
+        for (int i = 0; i < 25; i++) {
+            assertThat(limit.tryAcquire(0.25)).isTrue();
+        }
+
+        // Assert
+        assertThat(limit.tryAcquire(0.25)).isFalse();
+        assertThat(limit.tryAcquire(1.0)).isTrue();
+        assertThat(limit.getInFlight()).isEqualTo(26);
+    }
+
+    @Test
+    void release_ShouldGrowLimitWhileLatencyIsSteadyUnderLoad() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties);
+
+        // Act
+        runAtLimit(limit, FAST, 200);
+
+        // Assert
+        assertThat(limit.getLimit()).isGreaterThan(100);
+    }
+
+    @Test
+    void release_ShouldShrinkLimitWhenLatencyRises() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties);
+        runAtLimit(limit, FAST, 50);
+        int steady = limit.getLimit();
+
+        // Act
+        runAtLimit(limit, SLOW, 20);
+
+        // Assert
+        assertThat(limit.getLimit()).isLessThan(steady / 2);
+        assertThat(limit.getLimit()).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    void release_ShouldKeepLimitWhenMostlyIdle() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire(1.0);
+            limit.release(i % 2 == 0 ? FAST : SLOW);
+        }
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(100);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void releaseDropped_ShouldShrinkLimitDownToMinimum() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties);
+
+        // Act
+        limit.tryAcquire(1.0);
+        limit.releaseDropped();
+        int afterOne = limit.getLimit();
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire(1.0);
+            limit.releaseDropped();
+        }
+
+        // Assert
+        assertThat(afterOne).isEqualTo(90);
+        assertThat(limit.getLimit()).isEqualTo(10);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    /**
+     * Keep the limit fully used and complete one request per sample with the given latency.
+     */
+    private static void runAtLimit(GradientConcurrencyLimit limit, long latencyNanos, int samples) {
+        for (int i = 0; i < samples; i++) {
+            while (limit.tryAcquire(1.0)) {
+                // fill up to the current limit
+            }
+            limit.release(latencyNanos);
+        }
+    }
+}
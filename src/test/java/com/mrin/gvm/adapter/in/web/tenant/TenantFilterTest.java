@@ -0,0 +1,80 @@
+package com.mrin.gvm.adapter.in.web.tenant;
+
+import com.mrin.gvm.domain.model.Tenant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TenantFilter.
+ */
+class TenantFilterTest {
+
+    private TenantProperties properties;
+    private TenantFilter filter;
+    private AtomicReference<Tenant> seen;
+    private WebFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TenantProperties();
+        filter = new TenantFilter(properties);
+        seen = new AtomicReference<>();
+        // Records the tenant the rest of the request runs with
+        chain = exchange -> Mono.deferContextual(context -> {
+            seen.set(Tenant.of(context));
+            return Mono.empty();
+        });
+    }
+
+    @Test
+    void filter_ShouldPutTenantFromHeaderIntoContext() {
+        // Act
+        filter.filter(exchange(MockServerHttpRequest.get("/api/products/1").header("X-Tenant-Id", "acme")), chain)
+                .block();
+
+        // Assert
+        assertThat(seen.get()).isEqualTo(new Tenant("acme"));
+    }
+
+    @Test
+    void filter_ShouldUseDefaultTenantWithoutHeader() {
+        // Act
+        filter.filter(exchange(MockServerHttpRequest.get("/api/products")), chain).block();
+
+        // Assert
+        assertThat(seen.get()).isEqualTo(Tenant.DEFAULT);
+    }
+
+    @Test
+    void filter_ShouldRejectMalformedOrMissingTenant() {
+        // Arrange
+        properties.setRequired(true);
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/products")
+                        .header("X-Tenant-Id", "../acme")), chain))
+                .expectErrorSatisfies(error -> assertThat(((ResponseStatusException) error).getStatusCode())
+                        .isEqualTo(HttpStatus.BAD_REQUEST))
+                .verify();
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/products")), chain))
+                .expectErrorSatisfies(error -> assertThat(((ResponseStatusException) error).getStatusCode())
+                        .isEqualTo(HttpStatus.BAD_REQUEST))
+                .verify();
+        assertThat(seen.get()).isNull();
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,119 @@
+package com.mrin.gvm.adapter.in.web.transfer;
+
+import com.mrin.gvm.domain.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ProductCatalogCodec.
+ */
+class ProductCatalogCodecTest {
+
+    private final ProductCatalogCodec codec = new ProductCatalogCodec(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void encode_ShouldWriteOneJsonObjectPerLine() {
+        // Arrange
+        Flux<Product> products = Flux.range(1, ProductCatalogCodec.ROWS_PER_BUFFER + 1)
+                .map(i -> new Product((long) i, "Product " + i, null, new BigDecimal("9.99"), i, 0L));
+
+        // Act
+        String body = encode(products, CatalogFormat.NDJSON);
+
+        // Assert
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(ProductCatalogCodec.ROWS_PER_BUFFER + 1);
+        assertThat(lines[0]).startsWith("{\"id\":1,").endsWith("}");
+        assertThat(body).endsWith("}\n");
+    }
+
+    @Test
+    void encodeCsv_ShouldRoundTripThroughDecode() {
+        // Arrange
+        Product tricky = new Product(1L, "Widget, \"Deluxe\"", "line one\nline two", new BigDecimal("1234.50"), 3, 2L);
+        Product plain = new Product(2L, "Gadget", null, new BigDecimal("5"), 0, 0L);
+
+        // Act
+        String csv = encode(Flux.just(tricky, plain), CatalogFormat.CSV);
+        Flux<Product> decoded = codec.decodeCsv(Flux.fromIterable(Arrays.asList(csv.split("\n"))));
+
+        // Assert
+        assertThat(csv).startsWith("id,name,description,price,quantity\n");
+        StepVerifier.create(decoded)
+                .assertNext(product -> {
+                    assertThat(product.getId()).isNull();
+                    assertThat(product.getName()).isEqualTo("Widget, \"Deluxe\"");
+                    assertThat(product.getDescription()).isEqualTo("line one\nline two");
+                    assertThat(product.getPrice()).isEqualByComparingTo("1234.50");
+                    assertThat(product.getQuantity()).isEqualTo(3);
+                })
+                .assertNext(product -> {
+                    assertThat(product.getName()).isEqualTo("Gadget");
+                    assertThat(product.getDescription()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void decodeCsv_ShouldMatchColumnsByHeaderName() {
+        // Arrange
+        Flux<String> lines = Flux.just("quantity,price,name", "", "7,2.50,Bolt");
+
+        // Act & Assert
+        StepVerifier.create(codec.decodeCsv(lines))
+                .assertNext(product -> {
+                    assertThat(product.getName()).isEqualTo("Bolt");
+                    assertThat(product.getPrice()).isEqualByComparingTo("2.50");
+                    assertThat(product.getQuantity()).isEqualTo(7);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void decodeCsv_ShouldRejectMalformedRecordWithItsLine() {
+        // Arrange
+        List<String> lines = List.of("name,price,quantity", "Bolt,2.50,7", "Nut,cheap,1");
+
+        // Act & Assert
+        StepVerifier.create(codec.decodeCsv(Flux.fromIterable(lines)))
+                .expectNextCount(1)
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining("line 3"))
+                .verify();
+    }
+
+    @Test
+    void decodeCsv_ShouldRejectUnterminatedQuote() {
+        // Arrange
+        Flux<String> lines = Flux.just("name,price,quantity", "\"Bolt,2.50,7");
+
+        // Act & Assert
+        StepVerifier.create(codec.decodeCsv(lines))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    private String encode(Flux<Product> products, CatalogFormat format) {
+        return codec.encode(products, format, DefaultDataBufferFactory.sharedInstance)
+                .map(buffer -> {
+                    String text = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .collect(StringBuilder::new, StringBuilder::append)
+                .map(StringBuilder::toString)
+                .block();
+    }
+}
@@ -0,0 +1,370 @@
+package com.mrin.gvm.adapter.out.persistence;
+
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.model.Tenant;
+import com.mrin.gvm.domain.model.UpsertedProduct;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests that every persistence adapter must pass, run against PostgreSQL (see
+ * {@link TestDatabase}). Subclasses select the adapter by profile.
+ */
+public abstract class AbstractProductPersistenceAdapterTest {
+
+    @Autowired
+    @Qualifier("productStore")
+    protected ProductPersistencePort adapter;
+
+    private Tenant tenant;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        tenant = new Tenant("test-" + UUID.randomUUID());
+    }
+
+    @Test
+    void searchByName_WithPrefix_ShouldReturnMatchesOrderedByName() {
+        // Arrange
+        insert(tenant, "Widget B", "widget a", "Gadget", "Mini Widget");
+
+        // Act
+        List<String> names = names(adapter.searchByName("WIDGET", SearchMode.PREFIX, 10), tenant);
+
+        // Assert
+        assertThat(names).containsExactly("widget a", "Widget B");
+    }
+
+    @Test
+    void searchByName_WithSubstring_ShouldReturnMatchesOrderedById() {
+        // Arrange
+        insert(tenant, "Widget B", "Gadget", "Mini Widget", "widget a");
+
+        // Act
+        List<String> names = names(adapter.searchByName("widget", SearchMode.CONTAINS, 10), tenant);
+
+        // Assert
+        assertThat(names).containsExactly("Widget B", "Mini Widget", "widget a");
+    }
+
+    @Test
+    void searchByName_ShouldStopAtLimit() {
+        // Arrange
+        insert(tenant, "Widget 1", "Widget 2", "Widget 3");
+
+        // Act
+        List<String> prefix = names(adapter.searchByName("widget", SearchMode.PREFIX, 2), tenant);
+        List<String> contains = names(adapter.searchByName("dget", SearchMode.CONTAINS, 2), tenant);
+
+        // Assert
+        assertThat(prefix).containsExactly("Widget 1", "Widget 2");
+        assertThat(contains).containsExactly("Widget 1", "Widget 2");
+    }
+
+    @Test
+    void searchByName_ShouldMatchLikeWildcardsLiterally() {
+        // Arrange
+        insert(tenant, "100% cotton", "100 cotton", "a_b", "axb");
+
+        // Act
+        List<String> percent = names(adapter.searchByName("0% c", SearchMode.CONTAINS, 10), tenant);
+        List<String> underscore = names(adapter.searchByName("a_", SearchMode.PREFIX, 10), tenant);
+
+        // Assert
+        assertThat(percent).containsExactly("100% cotton");
+        assertThat(underscore).containsExactly("a_b");
+    }
+
+    @Test
+    void searchByName_ShouldOnlySearchOwnTenant() {
+        // Arrange
+        Tenant other = new Tenant("test-" + UUID.randomUUID());
+        insert(other, "Widget of another tenant");
+        insert(tenant, "Widget");
+
+        // Act
+        List<String> prefix = names(adapter.searchByName("widget", SearchMode.PREFIX, 10), tenant);
+        List<String> contains = names(adapter.searchByName("idget", SearchMode.CONTAINS, 10), tenant);
+
+        // Assert
+        assertThat(prefix).containsExactly("Widget");
+        assertThat(contains).containsExactly("Widget");
+    }
+
+    @Test
+    void reserveStock_ShouldTakeUnitsAndReturnWholeRow() {
+        // Arrange
+        Product stored = insert(tenant, "Widget", 10);
+
+        // Act
+        Product reserved = in(adapter.reserveStock(stored.getId(), 4), tenant).block();
+
+        // Assert
+        assertThat(reserved.getQuantity()).isEqualTo(6);
+        assertThat(reserved.getName()).isEqualTo("Widget");
+        assertThat(reserved.getVersion()).isEqualTo(stored.getVersion() + 1);
+        assertThat(reserved.getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    void reserveStock_WithTooLittleStock_ShouldChangeNothing() {
+        // Arrange
+        Product stored = insert(tenant, "Widget", 3);
+
+        // Act
+        Product reserved = in(adapter.reserveStock(stored.getId(), 4), tenant).block();
+
+        // Assert
+        assertThat(reserved).isNull();
+        assertThat(in(adapter.findById(stored.getId()), tenant).block().getQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    void releaseStock_ShouldReturnUnits() {
+        // Arrange
+        Product stored = insert(tenant, "Widget", 10);
+
+        // Act
+        Product released = in(adapter.releaseStock(stored.getId(), 5), tenant).block();
+
+        // Assert
+        assertThat(released.getQuantity()).isEqualTo(15);
+        assertThat(released.getVersion()).isEqualTo(stored.getVersion() + 1);
+    }
+
+    @Test
+    void releaseStock_WhenStockWouldOverflow_ShouldChangeNothing() {
+        // Arrange
+        Product stored = insert(tenant, "Widget", Integer.MAX_VALUE - 2);
+
+        // Act
+        Product released = in(adapter.releaseStock(stored.getId(), 3), tenant).block();
+        Product filled = in(adapter.releaseStock(stored.getId(), 2), tenant).block();
+
+        // Assert
+        assertThat(released).isNull();
+        assertThat(filled.getQuantity()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void upsertAllByName_ShouldTellInsertedFromMergedProducts() {
+        // Arrange
+        Product existing = insert(tenant, "Existing", 5);
+
+        // Act
+        List<UpsertedProduct> upserted = adapter.upsertAllByName(List.of(
+                        new Product(null, "New", null, new BigDecimal("1.00"), 1),
+                        new Product(null, "Existing", null, new BigDecimal("2.00"), 3)))
+                .contextWrite(context -> context.put(Tenant.class, tenant))
+                .collectList()
+                .block();
+
+        // Assert
+        assertThat(upserted).extracting(UpsertedProduct::created).containsExactly(true, false);
+        assertThat(upserted.get(1).product().getId()).isEqualTo(existing.getId());
+        assertThat(upserted.get(1).product().getQuantity()).isEqualTo(8);
+    }
+
+    @Test
+    void findPage_ShouldReturnProductsAfterIdInIdOrder() {
+        // Arrange
+        insert(tenant, "A", "B", "C", "D");
+
+        // Act
+        List<Product> all = in(adapter.findPage(0L, 10).collectList(), tenant).block();
+        List<Product> page = in(adapter.findPage(all.get(1).getId(), 2).collectList(), tenant).block();
+
+        // Assert
+        assertThat(all).extracting(Product::getName).containsExactly("A", "B", "C", "D");
+        assertThat(page).extracting(Product::getName).containsExactly("C", "D");
+    }
+
+    @Test
+    void upsertByName_WithNameOfAnotherTenant_ShouldCreateSeparateProduct() {
+        // Arrange
+        Product foreign = insert(tenant, "Widget", 10);
+        Tenant other = new Tenant("test-" + UUID.randomUUID());
+
+        // Act
+        Product own = in(adapter.upsertByName(new Product(null, "Widget", null, new BigDecimal("1.00"), 3)), other)
+                .block();
+
+        // Assert
+        assertThat(own.getId()).isNotEqualTo(foreign.getId());
+        assertThat(own.getQuantity()).isEqualTo(3);
+        assertThat(in(adapter.findByName("Widget"), other).block().getId()).isEqualTo(own.getId());
+        assertUnchanged(foreign);
+    }
+
+    @Test
+    void save_WithNameOfAnotherTenant_ShouldRenameProduct() {
+        // Arrange
+        Product foreign = insert(tenant, "Widget", 10);
+        Tenant other = new Tenant("test-" + UUID.randomUUID());
+        Product own = insert(other, "Gadget", 5);
+
+        // Act
+        Product renamed = in(adapter.save(new Product(own.getId(), "Widget", null, own.getPrice(), 5,
+                own.getVersion())), other).block();
+
+        // Assert
+        assertThat(renamed.getName()).isEqualTo("Widget");
+        assertUnchanged(foreign);
+    }
+
+    @Test
+    void findById_ShouldNotFindProductOfAnotherTenant() {
+        // Arrange
+        Product stored = insert(tenant, "Widget", 10);
+        Tenant other = new Tenant("test-" + UUID.randomUUID());
+
+        // Act
+        Product own = in(adapter.findById(stored.getId()), tenant).block();
+        Product foreign = in(adapter.findById(stored.getId()), other).block();
+
+        // Assert
+        assertThat(own.getName()).isEqualTo("Widget");
+        assertThat(foreign).isNull();
+    }
+
+    @Test
+    void findAllById_ShouldSkipProductsOfAnotherTenant() {
+        // Arrange
+        Product stored = insert(tenant, "Widget", 10);
+        Tenant other = new Tenant("test-" + UUID.randomUUID());
+        Product foreign = insert(other, "Gadget", 10);
+
+        // Act
+        List<String> names = names(adapter.findAllById(List.of(stored.getId(), foreign.getId())), other);
+
+        // Assert
+        assertThat(names).containsExactly("Gadget");
+    }
+
+    @Test
+    void findByName_ShouldNotFindProductOfAnotherTenant() {
+        // Arrange
+        insert(tenant, "Widget", 10);
+        Tenant other = new Tenant("test-" + UUID.randomUUID());
+
+        // Act
+        Product foreign = in(adapter.findByName("Widget"), other).block();
+
+        // Assert
+        assertThat(foreign).isNull();
+    }
+
+    @Test
+    void findPage_ShouldOnlyReturnOwnTenant() {
+        // Arrange
+        insert(tenant, "A", "B");
+        Tenant other = new Tenant("test-" + UUID.randomUUID());
+        insert(other, "C");
+
+        // Act
+        List<String> names = names(adapter.findPage(0L, 10), other);
+
+        // Assert
+        assertThat(names).containsExactly("C");
+    }
+
+    @Test
+    void save_ShouldNotUpdateProductOfAnotherTenant() {
+        // Arrange
+        Product stored = insert(tenant, "Widget", 10);
+        Tenant other = new Tenant("test-" + UUID.randomUUID());
+        Product overwrite = new Product(stored.getId(), "Taken", null, new BigDecimal("1.00"), 0,
+                stored.getVersion());
+
+        // Act & Assert
+        assertThatThrownBy(() -> in(adapter.save(overwrite), other).block())
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(adapter.updateAll(List.of(overwrite))
+                .contextWrite(context -> context.put(Tenant.class, other))
+                .collectList()
+                .block()).isEmpty();
+        assertUnchanged(stored);
+    }
+
+    @Test
+    void delete_ShouldNotDeleteProductOfAnotherTenant() {
+        // Arrange
+        Product stored = insert(tenant, "Widget", 10);
+        Tenant other = new Tenant("test-" + UUID.randomUUID());
+
+        // Act & Assert
+        assertThatThrownBy(() -> in(adapter.delete(stored), other).block())
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(adapter.deleteAllById(List.of(stored.getId()))
+                .contextWrite(context -> context.put(Tenant.class, other))
+                .collectList()
+                .block()).isEmpty();
+        in(adapter.deleteAll(), other).block();
+        assertUnchanged(stored);
+    }
+
+    @Test
+    void reserveStock_ShouldNotChangeStockOfAnotherTenant() {
+        // Arrange
+        Product stored = insert(tenant, "Widget", 10);
+        Tenant other = new Tenant("test-" + UUID.randomUUID());
+
+        // Act
+        Product reserved = in(adapter.reserveStock(stored.getId(), 4), other).block();
+        Product released = in(adapter.releaseStock(stored.getId(), 4), other).block();
+
+        // Assert
+        assertThat(reserved).isNull();
+        assertThat(released).isNull();
+        assertUnchanged(stored);
+    }
+
+    private void assertUnchanged(Product stored) {
+        Product current = in(adapter.findById(stored.getId()), tenant).block();
+        assertThat(current.getName()).isEqualTo(stored.getName());
+        assertThat(current.getQuantity()).isEqualTo(stored.getQuantity());
+        assertThat(current.getVersion()).isEqualTo(stored.getVersion());
+    }
+
+    private Product insert(Tenant owner, String name, int quantity) {
+        return in(adapter.save(new Product(null, name, null, new BigDecimal("9.99"), quantity)), owner).block();
+    }
+
+    private void insert(Tenant owner, String... names) {
+        for (String name : names) {
+            insert(owner, name, 10);
+        }
+    }
+
+    private static List<String> names(Flux<Product> products, Tenant owner) {
+        return products.map(Product::getName)
+                .contextWrite(context -> context.put(Tenant.class, owner))
+                .collectList()
+                .block();
+    }
+
+    private static <T> Mono<T> in(Mono<T> mono, Tenant owner) {
+        return mono.contextWrite(context -> context.put(Tenant.class, owner));
+    }
+}
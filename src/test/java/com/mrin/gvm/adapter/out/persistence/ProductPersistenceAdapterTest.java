@@ -0,0 +1,18 @@
+package com.mrin.gvm.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of the R2DBC adapter against PostgreSQL.
+ */
+@SpringBootTest
+class ProductPersistenceAdapterTest extends AbstractProductPersistenceAdapterTest {
+
+    @Test
+    void productStore_ShouldBeR2dbcAdapter() {
+        assertThat(adapter).isInstanceOf(ProductPersistenceAdapter.class);
+    }
+}
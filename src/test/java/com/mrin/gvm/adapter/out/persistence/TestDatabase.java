@@ -0,0 +1,74 @@
+package com.mrin.gvm.adapter.out.persistence;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * PostgreSQL for the persistence adapter tests. An embedded server is started
+ * once per test JVM; {@code -Dtest.r2dbc.url} (with {@code test.r2dbc.username}
+ * and {@code test.r2dbc.password}) points the tests at an existing database
+ * instead, e.g. where the embedded server cannot run. Each test works in a
+ * tenant of its own, so tests share the database without cleaning up.
+ */
+public final class TestDatabase {
+
+    private static final String USERNAME = System.getProperty("test.r2dbc.username", "postgres");
+    private static final String PASSWORD = System.getProperty("test.r2dbc.password", "postgres");
+
+    private static EmbeddedPostgres postgres;
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Point the R2DBC and JDBC connection settings at the test database.
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        String url = r2dbcUrl();
+        registry.add("spring.r2dbc.url", () -> url);
+        registry.add("spring.r2dbc.username", () -> USERNAME);
+        registry.add("spring.r2dbc.password", () -> PASSWORD);
+        registry.add("spring.datasource.url", () -> url.replaceFirst("^r2dbc:", "jdbc:"));
+        registry.add("spring.datasource.username", () -> USERNAME);
+        registry.add("spring.datasource.password", () -> PASSWORD);
+    }
+
+    /**
+     * Connections to the test database for tests without an application context.
+     */
+    public static ConnectionFactory connectionFactory() {
+        return ConnectionFactories.get(ConnectionFactoryOptions.parse(r2dbcUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, USERNAME)
+                .option(ConnectionFactoryOptions.PASSWORD, PASSWORD)
+                .build());
+    }
+
+    private static String r2dbcUrl() {
+        String url = System.getProperty("test.r2dbc.url");
+        return url != null ? url : "r2dbc:postgresql://localhost:" + embedded().getPort() + "/postgres";
+    }
+
+    private static synchronized EmbeddedPostgres embedded() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // The JVM is exiting anyway
+                }
+            }));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,137 @@
+package com.mrin.gvm.adapter.out.persistence.cache;
+
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.Tenant;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CachingProductPersistenceAdapter.
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingProductPersistenceAdapterTest {
+
+    @Mock
+    private ProductPersistencePort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingProductPersistenceAdapter adapter;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new CachingProductPersistenceAdapter(delegate, new ProductCacheProperties(), meterRegistry);
+        testProduct = new Product(1L, "Test Product", "Test Description", new BigDecimal("99.99"), 10);
+    }
+
+    @Test
+    void findById_ShouldHitDatabaseOnceForRepeatedReads() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Mono.just(testProduct));
+
+        // Act & Assert
+        StepVerifier.create(adapter.findById(1L)).expectNext(testProduct).verifyComplete();
+        StepVerifier.create(adapter.findById(1L)).expectNext(testProduct).verifyComplete();
+
+        verify(delegate, times(1)).findById(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void findById_ShouldShareOneLoadBetweenConcurrentMisses() {
+        // Arrange
+        Sinks.One<Product> pending = Sinks.one();
+        when(delegate.findById(1L)).thenReturn(pending.asMono());
+
+        // Act
+        Mono<Product> first = adapter.findById(1L);
+        Mono<Product> second = adapter.findById(1L);
+        StepVerifier.FirstStep<Product> firstVerifier = StepVerifier.create(first);
+        StepVerifier.FirstStep<Product> secondVerifier = StepVerifier.create(second);
+        pending.tryEmitValue(testProduct);
+
+        // Assert
+        firstVerifier.expectNext(testProduct).verifyComplete();
+        secondVerifier.expectNext(testProduct).verifyComplete();
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void findById_ShouldKeepEntriesPerTenantAndLoadInTheirContext() {
+        // Arrange
+        Tenant acme = new Tenant("acme");
+        Tenant other = new Tenant("other");
+        when(delegate.findById(1L)).thenReturn(Mono.deferContextual(context ->
+                Tenant.of(context).equals(acme) ? Mono.just(testProduct) : Mono.empty()));
+
+        // Act & Assert
+        StepVerifier.create(adapter.findById(1L).contextWrite(context -> context.put(Tenant.class, acme)))
+                .expectNext(testProduct).verifyComplete();
+        StepVerifier.create(adapter.findById(1L).contextWrite(context -> context.put(Tenant.class, other)))
+                .verifyComplete();
+        StepVerifier.create(adapter.findById(1L).contextWrite(context -> context.put(Tenant.class, acme)))
+                .expectNext(testProduct).verifyComplete();
+
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void findById_ShouldReturnCopiesOfCachedProduct() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Mono.just(testProduct));
+
+        // Act
+        Product first = adapter.findById(1L).block();
+        first.setQuantity(0);
+
+        // Assert
+        assertThat(adapter.findById(1L).block().getQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void save_ShouldInvalidateCachedEntry() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Mono.just(testProduct));
+        when(delegate.save(any(Product.class))).thenReturn(Mono.just(testProduct));
+        adapter.findById(1L).block();
+
+        // Act
+        adapter.save(testProduct).block();
+        adapter.findById(1L).block();
+
+        // Assert
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void deleteAll_ShouldInvalidateEveryEntry() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Mono.just(testProduct));
+        when(delegate.deleteAll()).thenReturn(Mono.empty());
+        adapter.findById(1L).block();
+
+        // Act
+        adapter.deleteAll().block();
+        adapter.findById(1L).block();
+
+        // Assert
+        verify(delegate, times(2)).findById(1L);
+    }
+}
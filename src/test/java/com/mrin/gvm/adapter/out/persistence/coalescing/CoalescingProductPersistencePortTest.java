@@ -0,0 +1,136 @@
+package com.mrin.gvm.adapter.out.persistence.coalescing;
+
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CoalescingProductPersistencePort.
+ */
+@ExtendWith(MockitoExtension.class)
+class CoalescingProductPersistencePortTest {
+
+    @Mock
+    private ProductPersistencePort delegate;
+
+    private VirtualTimeScheduler scheduler;
+
+    private CoalescingProductPersistencePort port;
+
+    @BeforeEach
+    void setUp() {
+        ProductCoalescingProperties properties = new ProductCoalescingProperties();
+        properties.setWindow(Duration.ofMillis(5));
+        properties.setMaxBatchSize(3);
+        scheduler = VirtualTimeScheduler.create();
+        port = new CoalescingProductPersistencePort(delegate, properties, new SimpleMeterRegistry(), scheduler);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findById_ShouldCombineLookupsWithinWindowIntoOneQuery() {
+        // Arrange
+        when(delegate.findAllById(anyCollection())).thenReturn(Flux.just(product(1L)));
+
+        // Act
+        CompletableFuture<Product> first = port.findById(1L).toFuture();
+        CompletableFuture<Product> again = port.findById(1L).toFuture();
+        CompletableFuture<Product> missing = port.findById(2L).toFuture();
+        assertThat(first).isNotDone();
+        scheduler.advanceTimeBy(Duration.ofMillis(5));
+
+        // Assert
+        assertThat(first.join().getId()).isEqualTo(1L);
+        assertThat(again.join().getId()).isEqualTo(1L);
+        assertThat(missing.join()).isNull();
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(delegate, times(1)).findAllById(ids.capture());
+        assertThat(ids.getValue()).containsExactlyInAnyOrder(1L, 2L);
+        verify(delegate, never()).findById(anyLong());
+    }
+
+    @Test
+    void findById_ShouldGiveEachLookupOfSameIdItsOwnProduct() {
+        // Arrange
+        when(delegate.findAllById(anyCollection())).thenReturn(Flux.just(product(1L), product(2L)));
+
+        // Act
+        CompletableFuture<Product> first = port.findById(1L).toFuture();
+        CompletableFuture<Product> again = port.findById(1L).toFuture();
+        port.findById(2L).subscribe();
+        scheduler.advanceTimeBy(Duration.ofMillis(5));
+        first.join().setQuantity(0);
+
+        // Assert
+        assertThat(again.join()).isNotSameAs(first.join());
+        assertThat(again.join().getQuantity()).isEqualTo(product(1L).getQuantity());
+    }
+
+    @Test
+    void findById_ShouldSendFullBatchWithoutWaitingForWindow() {
+        // Arrange
+        when(delegate.findAllById(anyCollection())).thenReturn(Flux.just(product(1L), product(2L), product(3L)));
+
+        // Act
+        List<Product> results = Flux.merge(port.findById(1L), port.findById(2L), port.findById(3L))
+                .collectList()
+                .block(Duration.ofSeconds(1));
+
+        // Assert
+        assertThat(results).hasSize(3);
+        verify(delegate, times(1)).findAllById(anyCollection());
+    }
+
+    @Test
+    void findById_ShouldUsePlainLookupForSingleId() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Mono.just(product(1L)));
+
+        // Act
+        CompletableFuture<Product> lookup = port.findById(1L).toFuture();
+        scheduler.advanceTimeBy(Duration.ofMillis(5));
+
+        // Assert
+        assertThat(lookup.join().getId()).isEqualTo(1L);
+        verify(delegate, never()).findAllById(anyCollection());
+    }
+
+    @Test
+    void findById_ShouldFailEveryWaiterWhenBatchQueryFails() {
+        // Arrange
+        when(delegate.findAllById(anyCollection())).thenReturn(Flux.error(new IllegalStateException("db down")));
+
+        // Act
+        CompletableFuture<Product> first = port.findById(1L).toFuture();
+        CompletableFuture<Product> second = port.findById(2L).toFuture();
+        scheduler.advanceTimeBy(Duration.ofMillis(5));
+
+        // Assert
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+    }
+
+    private static Product product(Long id) {
+        return new Product(id, "Product " + id, null, new BigDecimal("9.99"), 5, 0L);
+    }
+}
@@ -0,0 +1,154 @@
+package com.mrin.gvm.adapter.out.persistence.fallback;
+
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.ReadStaleness;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FallbackProductPersistencePort.
+ */
+@ExtendWith(MockitoExtension.class)
+class FallbackProductPersistencePortTest {
+
+    @Mock
+    private ProductPersistencePort delegate;
+
+    private VirtualTimeScheduler scheduler;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private FallbackProductPersistencePort port;
+
+    @BeforeEach
+    void setUp() {
+        ProductFallbackProperties properties = new ProductFallbackProperties();
+        properties.setTimeout(Duration.ofSeconds(2));
+        properties.setFailureThreshold(2);
+        properties.setOpenDuration(Duration.ofSeconds(5));
+        scheduler = VirtualTimeScheduler.create();
+        meterRegistry = new SimpleMeterRegistry();
+        port = new FallbackProductPersistencePort(delegate, properties, meterRegistry, scheduler);
+    }
+
+    @Test
+    void findById_ShouldServeSnapshotWithItsAgeWhenDatabaseFails() {
+        // Arrange
+        when(delegate.findById(1L))
+                .thenReturn(Mono.just(product(1L)))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("db down")));
+        port.findById(1L).block();
+        scheduler.advanceTimeBy(Duration.ofSeconds(30));
+        ReadStaleness staleness = new ReadStaleness();
+
+        // Act
+        Product result = port.findById(1L)
+                .contextWrite(context -> context.put(ReadStaleness.class, staleness))
+                .block();
+
+        // Assert
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(staleness.age()).contains(Duration.ofSeconds(30));
+        assertThat(meterRegistry.get(FallbackProductPersistencePort.SERVED_METRIC).tag("method", "findById")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void findPage_ShouldServeSnapshotWhenDatabaseTimesOut() {
+        // Arrange
+        when(delegate.findPage(0L, 2))
+                .thenReturn(Flux.just(product(1L), product(2L)))
+                .thenReturn(Flux.never());
+        port.findPage(0L, 2).collectList().block();
+
+        // Act
+        CompletableFuture<List<Product>> page = port.findPage(0L, 2).collectList().toFuture();
+        assertThat(page).isNotDone();
+        scheduler.advanceTimeBy(Duration.ofSeconds(2));
+
+        // Assert
+        assertThat(page.join()).extracting(Product::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void searchByName_ShouldPropagateFailureWithoutSnapshot() {
+        // Arrange
+        when(delegate.searchByName("lap", SearchMode.PREFIX, 20))
+                .thenReturn(Flux.error(new DataAccessResourceFailureException("db down")));
+
+        // Act
+        CompletableFuture<List<Product>> results =
+                port.searchByName("lap", SearchMode.PREFIX, 20).collectList().toFuture();
+
+        // Assert
+        assertThat(results).isCompletedExceptionally();
+    }
+
+    @Test
+    void findById_ShouldNotServeSnapshotOfDeletedProduct() {
+        // Arrange
+        Product product = product(1L);
+        when(delegate.findById(1L))
+                .thenReturn(Mono.just(product))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("db down")));
+        when(delegate.delete(product)).thenReturn(Mono.empty());
+        port.findById(1L).block();
+
+        // Act
+        port.delete(product).block();
+        CompletableFuture<Product> result = port.findById(1L).toFuture();
+
+        // Assert
+        assertThat(result).isCompletedExceptionally();
+    }
+
+    @Test
+    void findById_ShouldSkipDatabaseWhileCircuitIsOpenAndRevalidateAfterwards() {
+        // Arrange
+        when(delegate.findById(1L))
+                .thenReturn(Mono.just(product(1L)))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("db down")))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("db down")))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("connection closed")))
+                .thenReturn(Mono.just(product(1L)));
+        port.findById(1L).block();
+        port.findById(1L).block();
+        port.findById(1L).block();
+        assertThat(port.isCircuitOpen()).isTrue();
+
+        // Act
+        Product whileOpen = port.findById(1L).block();
+        scheduler.advanceTimeBy(Duration.ofSeconds(5));
+        Product failedRevalidation = port.findById(1L).block();
+        Product revalidated = port.findById(1L).block();
+
+        // Assert
+        assertThat(whileOpen.getId()).isEqualTo(1L);
+        assertThat(failedRevalidation.getId()).isEqualTo(1L);
+        assertThat(revalidated.getId()).isEqualTo(1L);
+        verify(delegate, times(5)).findById(1L);
+        assertThat(port.isCircuitOpen()).isFalse();
+    }
+
+    private static Product product(Long id) {
+        return new Product(id, "Product " + id, null, new BigDecimal("9.99"), 5, 0L);
+    }
+}
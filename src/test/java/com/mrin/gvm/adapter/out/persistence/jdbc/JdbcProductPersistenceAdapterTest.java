@@ -0,0 +1,22 @@
+package com.mrin.gvm.adapter.out.persistence.jdbc;
+
+import com.mrin.gvm.adapter.out.persistence.AbstractProductPersistenceAdapterTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of the JDBC adapter against PostgreSQL, on the scheduler the JVM
+ * supports: virtual threads on Java 21+, the bounded pool before.
+ */
+@SpringBootTest
+@ActiveProfiles("jdbc")
+class JdbcProductPersistenceAdapterTest extends AbstractProductPersistenceAdapterTest {
+
+    @Test
+    void productStore_ShouldBeJdbcAdapter() {
+        assertThat(adapter).isInstanceOf(JdbcProductPersistenceAdapter.class);
+    }
+}
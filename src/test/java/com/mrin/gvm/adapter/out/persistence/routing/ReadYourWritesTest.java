@@ -0,0 +1,123 @@
+package com.mrin.gvm.adapter.out.persistence.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ReadYourWrites.
+ */
+class ReadYourWritesTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReadYourWrites readYourWrites;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setUrls(List.of("r2dbc:postgresql://replica:5432/productdb"));
+        properties.setStickiness(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+        readYourWrites = new ReadYourWrites(properties, meterRegistry, nanos::get);
+    }
+
+    @Test
+    void read_ShouldKeepWrittenProductOnPrimaryUntilStickinessEnds() {
+        // Arrange
+        readYourWrites.written(1L);
+
+        // Act
+        boolean stickyRead = onReplica(readYourWrites.read(1L).apply(Context.empty()));
+        boolean otherRead = onReplica(readYourWrites.read(2L).apply(Context.empty()));
+        boolean batchRead = onReplica(readYourWrites.read(List.of(2L, 1L)).apply(Context.empty()));
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+        boolean laterRead = onReplica(readYourWrites.read(1L).apply(Context.empty()));
+
+        // Assert
+        assertThat(stickyRead).isFalse();
+        assertThat(otherRead).isTrue();
+        assertThat(batchRead).isFalse();
+        assertThat(laterRead).isTrue();
+        assertThat(meterRegistry.get(ReadYourWrites.ROUTED_METRIC).tag("target", "primary")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void read_ShouldKeepEveryReadOnPrimaryAfterAllWereWritten() {
+        // Arrange
+        readYourWrites.writtenAll();
+
+        // Act
+        boolean pageRead = onReplica(readYourWrites.read().apply(Context.empty()));
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+        boolean laterPageRead = onReplica(readYourWrites.read().apply(Context.empty()));
+
+        // Assert
+        assertThat(pageRead).isFalse();
+        assertThat(laterPageRead).isTrue();
+    }
+
+    @Test
+    void read_ShouldNotMarkAnythingWithoutReplicas() {
+        // Arrange
+        readYourWrites = new ReadYourWrites(new ReplicaProperties(), meterRegistry, nanos::get);
+
+        // Act
+        Context context = readYourWrites.read(1L).apply(Context.empty());
+
+        // Assert
+        assertThat(context.isEmpty()).isTrue();
+    }
+
+    @Test
+    void read_ShouldRereadLookupOnPrimaryWhenReplicaFoundWrittenProduct() {
+        // Arrange
+        readYourWrites.written(1L);
+        List<Boolean> targets = new ArrayList<>();
+        Mono<Long> lookup = Mono.deferContextual(context -> {
+            targets.add(onReplica(Context.of(context)));
+            return Mono.just(1L);
+        });
+
+        // Act
+        Long found = readYourWrites.read(lookup, id -> id).block();
+
+        // Assert
+        assertThat(found).isEqualTo(1L);
+        assertThat(targets).containsExactly(true, false);
+    }
+
+    @Test
+    void read_ShouldRereadMissOnPrimaryOnlyAfterRecentWrites() {
+        // Arrange
+        List<Boolean> targets = new ArrayList<>();
+        Mono<Long> lookup = Mono.deferContextual(context -> {
+            targets.add(onReplica(Context.of(context)));
+            return Mono.empty();
+        });
+
+        // Act
+        readYourWrites.read(lookup, id -> id).block();
+        readYourWrites.written(2L);
+        readYourWrites.read(lookup, id -> id).block();
+
+        // Assert
+        assertThat(targets).containsExactly(true, true, false);
+    }
+
+    private static boolean onReplica(Context context) {
+        return !context.isEmpty();
+    }
+}
@@ -0,0 +1,85 @@
+package com.mrin.gvm.adapter.out.persistence.routing;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReplicaRoutingConnectionFactory.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingConnectionFactoryTest {
+
+    @Mock
+    private ConnectionFactory primary;
+
+    @Mock
+    private ConnectionFactory firstReplica;
+
+    @Mock
+    private ConnectionFactory secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection firstReplicaConnection;
+
+    @Mock
+    private Connection secondReplicaConnection;
+
+    private ReplicaRoutingConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, ConnectionFactory> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", firstReplica);
+        replicas.put("replica-1", secondReplica);
+        connectionFactory = new ReplicaRoutingConnectionFactory(primary, replicas);
+    }
+
+    @Test
+    void create_ShouldUsePrimaryForUnmarkedStatements() {
+        // Arrange
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+
+        // Act
+        Connection connection = connectionFactory.create().block();
+
+        // Assert
+        assertThat(connection).isSameAs(primaryConnection);
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    void create_ShouldTakeReplicasInTurnForMarkedReads() {
+        // Arrange
+        doReturn(Mono.just(firstReplicaConnection)).when(firstReplica).create();
+        doReturn(Mono.just(secondReplicaConnection)).when(secondReplica).create();
+
+        // Act
+        List<Connection> connections = Stream.of(1, 2, 3)
+                .map(i -> connectionFactory.create()
+                        .contextWrite(ReplicaRoutingConnectionFactory::onReplica)
+                        .block())
+                .toList();
+
+        // Assert
+        assertThat(connections)
+                .containsExactly(firstReplicaConnection, secondReplicaConnection, firstReplicaConnection);
+        verifyNoInteractions(primary);
+    }
+}
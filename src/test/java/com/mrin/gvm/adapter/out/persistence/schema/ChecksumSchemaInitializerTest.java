@@ -0,0 +1,142 @@
+package com.mrin.gvm.adapter.out.persistence.schema;
+
+import com.mrin.gvm.adapter.out.persistence.TestDatabase;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of ChecksumSchemaInitializer against PostgreSQL. Every test runs a
+ * script of its own, so its checksum is new to the shared database.
+ */
+class ChecksumSchemaInitializerTest {
+
+    private static final String CHECKSUMS_SQL = """
+            CREATE TABLE IF NOT EXISTS schema_checksums (
+                checksum CHAR(64) PRIMARY KEY,
+                applied_at TIMESTAMPTZ NOT NULL DEFAULT now()
+            );
+            """;
+
+    @TempDir
+    private Path scripts;
+
+    private ConnectionFactory connectionFactory;
+
+    private DatabaseClient databaseClient;
+
+    private String runsTable;
+
+    private Path script;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        connectionFactory = TestDatabase.connectionFactory();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        runsTable = "schema_init_runs_" + UUID.randomUUID().toString().replace('-', '_');
+        script = scripts.resolve("schema.sql");
+        writeScript("-- version 1");
+    }
+
+    @Test
+    void initializeDatabase_OnFirstRun_ShouldApplyScriptAndRecordChecksum() {
+        // Act
+        initializer(true).initializeDatabase();
+
+        // Assert
+        assertThat(runs()).isEqualTo(1);
+        assertThat(isRecorded()).isTrue();
+    }
+
+    @Test
+    void initializeDatabase_WithUnchangedScript_ShouldSkipIt() {
+        // Arrange
+        initializer(true).initializeDatabase();
+
+        // Act
+        initializer(true).initializeDatabase();
+
+        // Assert
+        assertThat(runs()).isEqualTo(1);
+    }
+
+    @Test
+    void initializeDatabase_WithChangedScript_ShouldApplyItAgainAndRecordNewChecksum() throws IOException {
+        // Arrange
+        initializer(true).initializeDatabase();
+        writeScript("-- version 2");
+
+        // Act
+        initializer(true).initializeDatabase();
+        initializer(true).initializeDatabase();
+
+        // Assert
+        assertThat(runs()).isEqualTo(2);
+        assertThat(isRecorded()).isTrue();
+    }
+
+    @Test
+    void initializeDatabase_WhenSkippingDisabled_ShouldAlwaysApplyScript() {
+        // Arrange
+        initializer(false).initializeDatabase();
+
+        // Act
+        initializer(false).initializeDatabase();
+
+        // Assert
+        assertThat(runs()).isEqualTo(2);
+        assertThat(isRecorded()).isFalse();
+    }
+
+    private ChecksumSchemaInitializer initializer(boolean skipUnchanged) {
+        SqlInitializationProperties sqlProperties = new SqlInitializationProperties();
+        sqlProperties.setMode(DatabaseInitializationMode.ALWAYS);
+        sqlProperties.setSchemaLocations(List.of(script.toUri().toString()));
+        SchemaInitProperties properties = new SchemaInitProperties();
+        properties.setSkipUnchanged(skipUnchanged);
+        return new ChecksumSchemaInitializer(connectionFactory, sqlProperties, properties);
+    }
+
+    /**
+     * Each run of the script adds a row, tagged with its version so that
+     * every version has a checksum of its own.
+     */
+    private void writeScript(String version) throws IOException {
+        Files.writeString(script, version + "\n" + CHECKSUMS_SQL
+                + "CREATE TABLE IF NOT EXISTS " + runsTable + " (run SERIAL PRIMARY KEY);\n"
+                + "INSERT INTO " + runsTable + " DEFAULT VALUES;\n");
+    }
+
+    private long runs() {
+        return count("SELECT count(*) FROM " + runsTable);
+    }
+
+    private boolean isRecorded() {
+        String checksum;
+        try {
+            checksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(script)));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        return count("SELECT count(*) FROM schema_checksums WHERE checksum = '" + checksum + "'") == 1;
+    }
+
+    private long count(String sql) {
+        return databaseClient.sql(sql).map(row -> row.get(0, Long.class)).one().block();
+    }
+}
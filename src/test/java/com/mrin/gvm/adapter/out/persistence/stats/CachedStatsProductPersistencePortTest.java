@@ -0,0 +1,120 @@
+package com.mrin.gvm.adapter.out.persistence.stats;
+
+import com.mrin.gvm.domain.model.InventoryStats;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CachedStatsProductPersistencePort.
+ */
+@ExtendWith(MockitoExtension.class)
+class CachedStatsProductPersistencePortTest {
+
+    @Mock
+    private ProductPersistencePort delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private CachedStatsProductPersistencePort port;
+
+    @BeforeEach
+    void setUp() {
+        ProductStatsProperties properties = new ProductStatsProperties();
+        properties.setRefreshInterval(Duration.ofSeconds(1));
+        properties.setMaxAge(Duration.ofSeconds(30));
+        port = new CachedStatsProductPersistencePort(delegate, properties, new SimpleMeterRegistry(), nanos::get);
+    }
+
+    @Test
+    void computeStats_ShouldQueryOnceWithinRefreshInterval() {
+        // Arrange
+        when(delegate.computeStats(10, 100)).thenReturn(Mono.just(stats(3)));
+
+        // Act
+        port.computeStats(10, 20).block();
+        InventoryStats second = port.computeStats(10, 20).block();
+
+        // Assert
+        assertThat(second.getCount()).isEqualTo(3);
+        verify(delegate, times(1)).computeStats(10, 100);
+    }
+
+    @Test
+    void computeStats_ShouldServePreviousFiguresWhileRefreshing() {
+        // Arrange
+        when(delegate.computeStats(10, 100))
+                .thenReturn(Mono.just(stats(3)))
+                .thenReturn(Mono.never());
+        port.computeStats(10, 20).block();
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        // Act
+        InventoryStats served = port.computeStats(10, 20).block(Duration.ofSeconds(1));
+
+        // Assert
+        assertThat(served.getCount()).isEqualTo(3);
+        verify(delegate, times(2)).computeStats(10, 100);
+    }
+
+    @Test
+    void computeStats_ShouldKeepFiguresWhenRefreshFails() {
+        // Arrange
+        when(delegate.computeStats(10, 100))
+                .thenReturn(Mono.just(stats(3)))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("db down")));
+        port.computeStats(10, 20).block();
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        port.computeStats(10, 20).block();
+
+        // Act
+        InventoryStats afterFailedRefresh = port.computeStats(10, 20).block();
+
+        // Assert
+        assertThat(afterFailedRefresh.getCount()).isEqualTo(3);
+        verify(delegate, atLeast(2)).computeStats(10, 100);
+    }
+
+    @Test
+    void computeStats_ShouldServeEveryLimitFromOneQuery() {
+        // Arrange
+        InventoryStats loaded = stats(3);
+        loaded.setLowStock(List.of(product(1L), product(2L), product(3L)));
+        when(delegate.computeStats(10, 100)).thenReturn(Mono.just(loaded));
+
+        // Act
+        InventoryStats two = port.computeStats(10, 2).block();
+        InventoryStats all = port.computeStats(10, 50).block();
+
+        // Assert
+        assertThat(two.getLowStock()).extracting(Product::getId).containsExactly(1L, 2L);
+        assertThat(all.getLowStock()).hasSize(3);
+        verify(delegate, times(1)).computeStats(anyInt(), anyInt());
+    }
+
+    private static Product product(Long id) {
+        return new Product(id, "Product " + id, null, new BigDecimal("9.99"), 1, 0L);
+    }
+
+    private static InventoryStats stats(long count) {
+        return new InventoryStats(count, count * 5, new BigDecimal("9.99").multiply(BigDecimal.valueOf(count * 5)),
+                10, 0, List.of(), Instant.now());
+    }
+}
@@ -0,0 +1,127 @@
+package com.mrin.gvm.application.service;
+
+import com.mrin.gvm.domain.model.ChangeOffset;
+import com.mrin.gvm.domain.model.ProductChange;
+import com.mrin.gvm.domain.port.out.ProductChangePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductChangeService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductChangeServiceTest {
+
+    @Mock
+    private ProductChangePort changePort;
+
+    private VirtualTimeScheduler scheduler;
+
+    private ProductChangeService changeService;
+
+    @BeforeEach
+    void setUp() {
+        ProductChangeProperties properties = new ProductChangeProperties();
+        properties.setBatchSize(2);
+        properties.setPollInterval(Duration.ofSeconds(1));
+        scheduler = VirtualTimeScheduler.create();
+        changeService = new ProductChangeService(changePort, properties, scheduler);
+    }
+
+    @Test
+    void streamChanges_ShouldReadFullPagesBackToBackAndResumeAfterLastOffset() {
+        // Arrange
+        when(changePort.findChangesAfter(any(ChangeOffset.class), eq(2)))
+                .thenReturn(Flux.just(change(5, 1), change(5, 2)))
+                .thenReturn(Flux.just(change(7, 3)))
+                .thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> changeService.streamChanges(ChangeOffset.START), () -> scheduler, 10)
+                .expectNextCount(3)
+                .expectNoEvent(Duration.ofMillis(999))
+                .thenAwait(Duration.ofMillis(1))
+                .thenCancel()
+                .verify();
+
+        verify(changePort).findChangesAfter(ChangeOffset.START, 2);
+        verify(changePort).findChangesAfter(new ChangeOffset(5, 2), 2);
+        verify(changePort).findChangesAfter(new ChangeOffset(7, 3), 2);
+    }
+
+    @Test
+    void streamChanges_ShouldStartAtHeadWithoutOffset() {
+        // Arrange
+        ChangeOffset head = new ChangeOffset(41, Long.MAX_VALUE);
+        when(changePort.findHead()).thenReturn(Mono.just(head));
+        when(changePort.findChangesAfter(head, 2)).thenReturn(Flux.just(change(42, 9)));
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> changeService.streamChanges(null), () -> scheduler, 1)
+                .expectNextMatches(change -> change.getOffset().equals(new ChangeOffset(42, 9)))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void streamChanges_ShouldNotPollAheadOfSubscriberDemand() {
+        // Arrange
+        when(changePort.findChangesAfter(any(ChangeOffset.class), anyInt()))
+                .thenReturn(Flux.just(change(1, 1), change(1, 2)));
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> changeService.streamChanges(ChangeOffset.START), () -> scheduler, 1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        verify(changePort, atMost(2)).findChangesAfter(any(ChangeOffset.class), anyInt());
+    }
+
+    @Test
+    void streamChanges_ShouldRefuseOffsetBeforePrunedChanges() {
+        // Arrange
+        when(changePort.findHorizon()).thenReturn(Mono.just(new ChangeOffset(9, 4)));
+
+        // Act & Assert
+        StepVerifier.create(changeService.streamChanges(new ChangeOffset(9, 3)))
+                .expectError(ProductChangeService.ChangeOffsetExpiredException.class)
+                .verify();
+
+        verify(changePort, never()).findChangesAfter(any(ChangeOffset.class), anyInt());
+    }
+
+    @Test
+    void streamChanges_ShouldResumeFromOffsetAtHorizon() {
+        // Arrange
+        ChangeOffset horizon = new ChangeOffset(9, 4);
+        when(changePort.findHorizon()).thenReturn(Mono.just(horizon));
+        when(changePort.findChangesAfter(horizon, 2)).thenReturn(Flux.just(change(10, 5)));
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> changeService.streamChanges(horizon), () -> scheduler, 1)
+                .expectNextMatches(change -> change.getOffset().equals(new ChangeOffset(10, 5)))
+                .thenCancel()
+                .verify();
+    }
+
+    private static ProductChange change(long transaction, long sequence) {
+        return new ProductChange(new ChangeOffset(transaction, sequence), sequence, ProductChange.Type.UPSERT,
+                1L, Instant.EPOCH, null);
+    }
+}
@@ -0,0 +1,119 @@
+package com.mrin.gvm.application.service;
+
+import com.mrin.gvm.domain.model.BulkItemResult;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.UpsertedProduct;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the bulk operations of ProductService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductServiceBulkTest {
+
+    @Mock
+    private ProductPersistencePort persistencePort;
+
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductService(persistencePort, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void bulkCreateProducts_ShouldReportInvalidItemsWithoutWritingThem() {
+        // Arrange
+        Product valid = new Product(null, "Valid Product", null, new BigDecimal("9.99"), 5);
+        Product invalid = new Product(null, "", null, new BigDecimal("9.99"), 5);
+        when(persistencePort.upsertAllByName(List.of(valid)))
+                .thenReturn(Flux.just(new UpsertedProduct(
+                        new Product(7L, "Valid Product", null, new BigDecimal("9.99"), 5), true)));
+
+        // Act & Assert
+        StepVerifier.create(productService.bulkCreateProducts(Flux.just(invalid, valid)))
+                .expectNextMatches(result -> result.getIndex() == 0
+                        && result.getStatus() == BulkItemResult.Status.INVALID)
+                .expectNextMatches(result -> result.getIndex() == 1
+                        && result.getStatus() == BulkItemResult.Status.CREATED
+                        && result.getId() == 7L)
+                .verifyComplete();
+
+        verify(persistencePort, times(1)).upsertAllByName(anyList());
+    }
+
+    @Test
+    void bulkCreateProducts_ShouldReportMergedItemsAsUpdated() {
+        // Arrange
+        Product fresh = new Product(null, "New Product", null, new BigDecimal("9.99"), 5);
+        Product existing = new Product(null, "Existing Product", null, new BigDecimal("9.99"), 5);
+        when(persistencePort.upsertAllByName(List.of(fresh, existing))).thenReturn(Flux.just(
+                new UpsertedProduct(new Product(8L, "New Product", null, new BigDecimal("9.99"), 5), true),
+                new UpsertedProduct(new Product(3L, "Existing Product", null, new BigDecimal("9.99"), 12), false)));
+
+        // Act & Assert
+        StepVerifier.create(productService.bulkCreateProducts(Flux.just(fresh, existing)))
+                .expectNextMatches(result -> result.getIndex() == 0
+                        && result.getStatus() == BulkItemResult.Status.CREATED
+                        && result.getId() == 8L)
+                .expectNextMatches(result -> result.getIndex() == 1
+                        && result.getStatus() == BulkItemResult.Status.UPDATED
+                        && result.getId() == 3L)
+                .verifyComplete();
+    }
+
+    @Test
+    void bulkCreateProducts_ShouldFailWholeChunkWhenBatchFails() {
+        // Arrange
+        Product product = new Product(null, "Valid Product", null, new BigDecimal("9.99"), 5);
+        when(persistencePort.upsertAllByName(anyList())).thenReturn(Flux.error(new IllegalStateException("boom")));
+
+        // Act & Assert
+        StepVerifier.create(productService.bulkCreateProducts(Flux.just(product)))
+                .expectNextMatches(result -> result.getStatus() == BulkItemResult.Status.FAILED
+                        && "boom".equals(result.getError()))
+                .verifyComplete();
+    }
+
+    @Test
+    void bulkUpdateProducts_ShouldReportMissingProductsAsNotFound() {
+        // Arrange
+        Product existing = new Product(1L, "Existing", null, new BigDecimal("9.99"), 5);
+        Product missing = new Product(2L, "Missing", null, new BigDecimal("9.99"), 5);
+        when(persistencePort.updateAll(List.of(existing, missing))).thenReturn(Flux.just(existing));
+
+        // Act & Assert
+        StepVerifier.create(productService.bulkUpdateProducts(Flux.just(existing, missing)))
+                .expectNextMatches(result -> result.getStatus() == BulkItemResult.Status.UPDATED)
+                .expectNextMatches(result -> result.getStatus() == BulkItemResult.Status.NOT_FOUND)
+                .verifyComplete();
+    }
+
+    @Test
+    void bulkDeleteProducts_ShouldReportDeletedAndMissingIds() {
+        // Arrange
+        when(persistencePort.deleteAllById(List.of(1L, 2L))).thenReturn(Flux.just(2L));
+
+        // Act & Assert
+        StepVerifier.create(productService.bulkDeleteProducts(Flux.just(1L, 2L)))
+                .expectNextMatches(result -> result.getId() == 1L
+                        && result.getStatus() == BulkItemResult.Status.NOT_FOUND)
+                .expectNextMatches(result -> result.getId() == 2L
+                        && result.getStatus() == BulkItemResult.Status.DELETED)
+                .verifyComplete();
+    }
+}
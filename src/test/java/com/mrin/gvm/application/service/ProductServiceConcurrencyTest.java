@@ -0,0 +1,125 @@
+package com.mrin.gvm.application.service;
+
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the version conflict handling of ProductService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductServiceConcurrencyTest {
+
+    @Mock
+    private ProductPersistencePort persistencePort;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProductService productService;
+
+    private Product details;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productService = new ProductService(persistencePort, meterRegistry);
+        details = new Product(null, "Updated Product", "Updated", new BigDecimal("19.99"), 7);
+    }
+
+    @Test
+    void updateProduct_ShouldRereadAndRetryAfterVersionConflict() {
+        // Arrange
+        when(persistencePort.findById(1L))
+                .thenReturn(Mono.fromSupplier(() -> stored(3L)))
+                .thenReturn(Mono.fromSupplier(() -> stored(4L)));
+        when(persistencePort.save(any(Product.class)))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("stale")))
+                .thenAnswer(invocation -> Mono.just(invocation.<Product>getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(productService.updateProduct(1L, details))
+                .assertNext(updated -> {
+                    assertThat(updated.getVersion()).isEqualTo(4L);
+                    assertThat(updated.getQuantity()).isEqualTo(7);
+                })
+                .verifyComplete();
+
+        verify(persistencePort, times(2)).findById(1L);
+        assertThat(conflicts("retried")).isEqualTo(1.0);
+        assertThat(conflicts("exhausted")).isZero();
+    }
+
+    @Test
+    void updateProduct_ShouldGiveUpAfterBoundedRetries() {
+        // Arrange
+        when(persistencePort.findById(1L)).thenReturn(Mono.fromSupplier(() -> stored(3L)));
+        when(persistencePort.save(any(Product.class)))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("stale")));
+
+        // Act & Assert
+        StepVerifier.create(productService.updateProduct(1L, details))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+
+        verify(persistencePort, times(ProductService.MAX_CONFLICT_RETRIES + 1)).save(any(Product.class));
+        assertThat(conflicts("retried")).isEqualTo(ProductService.MAX_CONFLICT_RETRIES);
+        assertThat(conflicts("exhausted")).isEqualTo(1.0);
+    }
+
+    @Test
+    void updateProductWithExpectedVersion_ShouldWriteOnceWithoutReading() {
+        // Arrange
+        when(persistencePort.save(any(Product.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.<Product>getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(productService.updateProduct(1L, details, 3L))
+                .assertNext(updated -> {
+                    assertThat(updated.getId()).isEqualTo(1L);
+                    assertThat(updated.getVersion()).isEqualTo(3L);
+                    assertThat(updated.getName()).isEqualTo("Updated Product");
+                })
+                .verifyComplete();
+
+        verify(persistencePort, never()).findById(anyLong());
+    }
+
+    @Test
+    void updateProductWithExpectedVersion_ShouldRejectStaleVersionWithoutRetry() {
+        // Arrange
+        when(persistencePort.save(any(Product.class)))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("stale")));
+        when(persistencePort.findById(1L)).thenReturn(Mono.fromSupplier(() -> stored(4L)));
+
+        // Act & Assert
+        StepVerifier.create(productService.updateProduct(1L, details, 3L))
+                .expectError(ProductService.VersionMismatchException.class)
+                .verify();
+
+        verify(persistencePort, times(1)).save(any(Product.class));
+        assertThat(conflicts("retried")).isZero();
+    }
+
+    private Product stored(long version) {
+        return new Product(1L, "Product", "Stored", new BigDecimal("9.99"), 5, version);
+    }
+
+    private double conflicts(String outcome) {
+        return meterRegistry.get(ProductService.CONFLICTS_METRIC).tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,106 @@
+package com.mrin.gvm.application.service;
+
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the keyset pagination of ProductService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductServicePageTest {
+
+    @Mock
+    private ProductPersistencePort persistencePort;
+
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductService(persistencePort, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getProductsPage_WithoutCursor_ShouldStartAtBeginningAndPointToNextPage() {
+        // Arrange: one row more than the page holds
+        when(persistencePort.findPage(0L, 3)).thenReturn(products(1, 3));
+
+        // Act & Assert
+        StepVerifier.create(productService.getProductsPage(null, 2))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting(Product::getId).containsExactly(1L, 2L);
+                    assertThat(page.getNextAfterId()).isEqualTo(2L);
+                    assertThat(page.hasNext()).isTrue();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getProductsPage_WithCursor_ShouldContinueAfterIt() {
+        // Arrange
+        when(persistencePort.findPage(2L, 3)).thenReturn(products(3, 5));
+
+        // Act & Assert
+        StepVerifier.create(productService.getProductsPage(2L, 2))
+                .assertNext(page -> assertThat(page.getItems()).extracting(Product::getId).containsExactly(3L, 4L))
+                .verifyComplete();
+    }
+
+    @Test
+    void getProductsPage_OnLastPage_ShouldHaveNoCursor() {
+        // Arrange: no extra row, so nothing follows
+        when(persistencePort.findPage(4L, 3)).thenReturn(products(5, 6));
+
+        // Act & Assert
+        StepVerifier.create(productService.getProductsPage(4L, 2))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting(Product::getId).containsExactly(5L, 6L);
+                    assertThat(page.getNextAfterId()).isNull();
+                    assertThat(page.hasNext()).isFalse();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getProductsPage_WithLimitAboveMaximum_ShouldReadMaximumPage() {
+        // Arrange
+        when(persistencePort.findPage(0L, ProductService.MAX_PAGE_SIZE + 1)).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(productService.getProductsPage(null, 1_000_000))
+                .assertNext(page -> assertThat(page.getItems()).isEmpty())
+                .verifyComplete();
+    }
+
+    @Test
+    void getProductsPage_WithLimitBelowOne_ShouldReadSingleProductPage() {
+        // Arrange
+        when(persistencePort.findPage(0L, 2)).thenReturn(products(1, 2));
+
+        // Act & Assert
+        StepVerifier.create(productService.getProductsPage(null, -5))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting(Product::getId).containsExactly(1L);
+                    assertThat(page.getNextAfterId()).isEqualTo(1L);
+                })
+                .verifyComplete();
+    }
+
+    private static Flux<Product> products(long firstId, long lastId) {
+        return Flux.fromStream(LongStream.rangeClosed(firstId, lastId)
+                .mapToObj(id -> new Product(id, "Product " + id, null, new BigDecimal("9.99"), 10, 1L)));
+    }
+}
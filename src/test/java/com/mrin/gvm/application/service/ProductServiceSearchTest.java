@@ -0,0 +1,76 @@
+package com.mrin.gvm.application.service;
+
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the name search use case of ProductService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductServiceSearchTest {
+
+    @Mock
+    private ProductPersistencePort persistencePort;
+
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductService(persistencePort, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void searchProductsByName_WithShortSubstring_ShouldFailWithoutQuery() {
+        // Act & Assert
+        StepVerifier.create(productService.searchProductsByName(" ab ", SearchMode.CONTAINS, 10))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(persistencePort, never()).searchByName(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void searchProductsByName_WithShortPrefix_ShouldQuery() {
+        // Arrange
+        Product product = new Product(1L, "ab", null, new BigDecimal("9.99"), 1, 1L);
+        when(persistencePort.searchByName("ab", SearchMode.PREFIX, 10)).thenReturn(Flux.just(product));
+
+        // Act & Assert
+        StepVerifier.create(productService.searchProductsByName("ab", SearchMode.PREFIX, 10))
+                .expectNext(product)
+                .verifyComplete();
+    }
+
+    @Test
+    void searchProductsByName_ShouldTrimTermAndCapLimit() {
+        // Arrange
+        when(persistencePort.searchByName("abc", SearchMode.CONTAINS, ProductService.MAX_SEARCH_RESULTS))
+                .thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(productService.searchProductsByName("  abc ", SearchMode.CONTAINS, 1000))
+                .verifyComplete();
+    }
+
+    @Test
+    void searchProductsByName_WithBlankTerm_ShouldReturnNothing() {
+        // Act & Assert
+        StepVerifier.create(productService.searchProductsByName("  ", SearchMode.CONTAINS, 10))
+                .verifyComplete();
+
+        verifyNoInteractions(persistencePort);
+    }
+}
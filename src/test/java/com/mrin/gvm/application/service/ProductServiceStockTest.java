@@ -0,0 +1,133 @@
+package com.mrin.gvm.application.service;
+
+import com.mrin.gvm.application.service.ProductService.InsufficientStockException;
+import com.mrin.gvm.application.service.ProductService.ProductNotFoundException;
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the stock reservation use cases of ProductService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductServiceStockTest {
+
+    @Mock
+    private ProductPersistencePort persistencePort;
+
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductService(persistencePort, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void reserveStock_WhenEnoughStock_ShouldReturnProductInOneWrite() {
+        // Arrange
+        Product reserved = new Product(1L, "Product", null, new BigDecimal("9.99"), 7, 2L);
+        when(persistencePort.reserveStock(1L, 3)).thenReturn(Mono.just(reserved));
+
+        // Act & Assert
+        StepVerifier.create(productService.reserveStock(1L, 3))
+                .expectNext(reserved)
+                .verifyComplete();
+
+        verify(persistencePort, never()).findById(anyLong());
+    }
+
+    @Test
+    void reserveStock_WhenStockTooLow_ShouldFailWithInsufficientStock() {
+        // Arrange
+        when(persistencePort.reserveStock(1L, 3)).thenReturn(Mono.empty());
+        when(persistencePort.findById(1L))
+                .thenReturn(Mono.just(new Product(1L, "Product", null, new BigDecimal("9.99"), 2, 1L)));
+
+        // Act & Assert
+        StepVerifier.create(productService.reserveStock(1L, 3))
+                .expectError(InsufficientStockException.class)
+                .verify();
+    }
+
+    @Test
+    void reserveStock_WhenProductMissing_ShouldFailWithNotFound() {
+        // Arrange
+        when(persistencePort.reserveStock(99L, 3)).thenReturn(Mono.empty());
+        when(persistencePort.findById(99L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(productService.reserveStock(99L, 3))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void reserveStock_ShouldMoveCatalogVersionOnWhetherOrNotItSucceeds() {
+        // Arrange
+        Product reserved = new Product(1L, "Product", null, new BigDecimal("9.99"), 7, 2L);
+        when(persistencePort.reserveStock(1L, 3)).thenReturn(Mono.just(reserved));
+        when(persistencePort.reserveStock(99L, 3)).thenReturn(Mono.empty());
+        when(persistencePort.findById(99L)).thenReturn(Mono.empty());
+        long before = productService.getCatalogVersion();
+
+        // Act
+        Mono<Product> reservation = productService.reserveStock(1L, 3);
+        long whileUnsubscribed = productService.getCatalogVersion();
+        reservation.block();
+        long afterSuccess = productService.getCatalogVersion();
+        StepVerifier.create(productService.reserveStock(99L, 3))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+
+        // Assert
+        assertThat(whileUnsubscribed).isEqualTo(before);
+        assertThat(afterSuccess).isGreaterThan(before);
+        assertThat(productService.getCatalogVersion()).isGreaterThan(afterSuccess);
+    }
+
+    @Test
+    void releaseStock_WithNonPositiveQuantity_ShouldBeRejected() {
+        assertThatThrownBy(() -> productService.releaseStock(1L, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(persistencePort);
+    }
+
+    @Test
+    void releaseStock_WhenProductMissing_ShouldFailWithNotFound() {
+        // Arrange
+        when(persistencePort.releaseStock(99L, 3)).thenReturn(Mono.empty());
+        when(persistencePort.findById(99L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(productService.releaseStock(99L, 3))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void releaseStock_WhenStockWouldOverflow_ShouldBeRejected() {
+        // Arrange
+        when(persistencePort.releaseStock(1L, 3)).thenReturn(Mono.empty());
+        when(persistencePort.findById(1L)).thenReturn(
+                Mono.just(new Product(1L, "Product", null, new BigDecimal("9.99"), Integer.MAX_VALUE - 1, 1L)));
+
+        // Act & Assert
+        StepVerifier.create(productService.releaseStock(1L, 3))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,56 @@
+package com.mrin.gvm.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects benchmark results and writes them as JSON to {@code target/benchmarks/<name>.json}
+ * so runs from different commits can be compared. Results are only written
+ * there, not echoed to the console, which would interleave with test output.
+ */
+public class BenchmarkReport {
+
+    private static final Path OUTPUT_DIR = Path.of("target", "benchmarks");
+
+    private final String name;
+    private final Map<String, Object> results = new LinkedHashMap<>();
+
+    public BenchmarkReport(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Record one named result.
+     *
+     * @param key   result name
+     * @param value result value (number, string or nested map)
+     * @return this report
+     */
+    public BenchmarkReport put(String key, Object value) {
+        results.put(key, value);
+        return this;
+    }
+
+    /**
+     * Write the collected results.
+     *
+     * @return path of the written file
+     */
+    public Path write() {
+        try {
+            Files.createDirectories(OUTPUT_DIR);
+            Path file = OUTPUT_DIR.resolve(name + ".json");
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), results);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
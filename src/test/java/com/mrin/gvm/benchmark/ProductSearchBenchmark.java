@@ -0,0 +1,105 @@
+package com.mrin.gvm.benchmark;
+
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.model.SearchMode;
+import com.mrin.gvm.domain.port.in.ProductUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Search latency against catalog size, for prefix and substring searches.
+ * With the name indexes in place latency should stay roughly flat as rows grow.
+ * <p>
+ * Needs a PostgreSQL database and only runs when one is given:
+ * <pre>
+ * mvn test -Dtest=ProductSearchBenchmark -Dbench.r2dbc.url=r2dbc:postgresql://localhost:5432/productdb \
+ *     -Dbench.rowCounts=1000,10000,100000
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.r2dbc.url=${bench.r2dbc.url}",
+        "spring.r2dbc.username=${bench.r2dbc.username:postgres}",
+        "spring.r2dbc.password=${bench.r2dbc.password:password}",
+        "app.persistence.cache.enabled=false"
+})
+@EnabledIfSystemProperty(named = "bench.r2dbc.url", matches = ".+")
+class ProductSearchBenchmark {
+
+    private static final int QUERIES = Integer.getInteger("bench.queries", 200);
+    private static final int LIMIT = 20;
+
+    @Autowired
+    private ProductUseCase productUseCase;
+
+    @Test
+    void searchLatencyByRowCount() {
+        BenchmarkReport report = new BenchmarkReport("search");
+        report.put("queriesPerPoint", QUERIES).put("limit", LIMIT);
+
+        productUseCase.deleteAllProducts().block();
+        int seeded = 0;
+        for (int rows : rowCounts()) {
+            seed(seeded, rows);
+            seeded = rows;
+
+            Map<String, Object> point = new LinkedHashMap<>();
+            int upper = rows;
+            point.put("prefixMs", measure(() -> productUseCase
+                    .searchProductsByName(String.format("item %05d", ThreadLocalRandom.current().nextInt(upper / 10 + 1)),
+                            SearchMode.PREFIX, LIMIT)));
+            point.put("containsMs", measure(() -> productUseCase
+                    .searchProductsByName(String.format("%04d", ThreadLocalRandom.current().nextInt(Math.min(upper, 10_000))),
+                            SearchMode.CONTAINS, LIMIT)));
+            report.put("rows_" + rows, point);
+        }
+
+        System.out.println("Results written to " + report.write());
+    }
+
+    private void seed(int from, int to) {
+        productUseCase.bulkCreateProducts(Flux.range(from, to - from)
+                        .map(i -> new Product(null, String.format("Item %06d", i), "Seeded by benchmark",
+                                new BigDecimal("9.99"), 1)))
+                .blockLast();
+    }
+
+    private static Map<String, Double> measure(Supplier<Flux<Product>> query) {
+        // Warm up the statement cache and plans before measuring
+        for (int i = 0; i < 20; i++) {
+            query.get().blockLast();
+        }
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            query.get().blockLast();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        Map<String, Double> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(nanos[QUERIES / 2]));
+        latency.put("p95", millis(nanos[(int) (QUERIES * 0.95) - 1]));
+        latency.put("max", millis(nanos[QUERIES - 1]));
+        return latency;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static int[] rowCounts() {
+        return Arrays.stream(System.getProperty("bench.rowCounts", "1000,10000,100000").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim()))
+                .sorted()
+                .toArray();
+    }
+}
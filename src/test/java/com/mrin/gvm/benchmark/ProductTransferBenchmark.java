@@ -0,0 +1,162 @@
+package com.mrin.gvm.benchmark;
+
+import com.mrin.gvm.domain.port.in.ProductUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Catalog export and import throughput over HTTP, for both formats.
+ * Each run also samples the heap, which should stay flat however many rows
+ * are transferred.
+ * <p>
+ * Needs a PostgreSQL database and only runs when one is given:
+ * <pre>
+ * mvn test -Dtest=ProductTransferBenchmark -Dbench.r2dbc.url=r2dbc:postgresql://localhost:5432/productdb -Dbench.rows=200000
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.r2dbc.url=${bench.r2dbc.url}",
+        "spring.r2dbc.username=${bench.r2dbc.username:postgres}",
+        "spring.r2dbc.password=${bench.r2dbc.password:password}",
+        "app.persistence.cache.enabled=false"
+})
+@EnabledIfSystemProperty(named = "bench.r2dbc.url", matches = ".+")
+class ProductTransferBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 100_000);
+    private static final int ROWS_PER_UPLOAD_BUFFER = 256;
+    private static final Duration HEAP_SAMPLE_INTERVAL = Duration.ofMillis(50);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductUseCase productUseCase;
+
+    private WebClient client;
+
+    @BeforeEach
+    void setUp() {
+        productUseCase.deleteAllProducts().block();
+        client = WebClient.builder().baseUrl("http://localhost:" + port + "/api/products").build();
+    }
+
+    @Test
+    void measureExportAndImport() {
+        BenchmarkReport report = new BenchmarkReport("transfer");
+        report.put("rows", ROWS);
+
+        report.put("importCsv", measure(() -> upload(Rows.HEADER, Rows::csv, "text/csv")));
+        report.put("exportCsv", measure(() -> download("csv")));
+        report.put("exportNdjson", measure(() -> download("ndjson")));
+        productUseCase.deleteAllProducts().block();
+        report.put("importNdjson", measure(() -> upload("", Rows::ndjson, MediaType.APPLICATION_NDJSON_VALUE)));
+
+        System.out.println("Results written to " + report.write());
+    }
+
+    private Map<String, Object> measure(Supplier<Mono<Long>> transfer) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong maxHeap = new AtomicLong();
+        Disposable sampler = Flux.interval(HEAP_SAMPLE_INTERVAL)
+                .subscribe(tick -> maxHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max));
+        long start = System.nanoTime();
+        long bytes;
+        try {
+            bytes = transfer.get().block();
+        } finally {
+            sampler.dispose();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rowsPerSec", Math.round(ROWS / seconds * 10) / 10.0);
+        result.put("mbPerSec", Math.round(bytes / seconds / (1024 * 1024) * 10) / 10.0);
+        result.put("seconds", Math.round(seconds * 100) / 100.0);
+        result.put("maxHeapUsedMb", maxHeap.get() / (1024 * 1024));
+        return result;
+    }
+
+    /**
+     * @return the number of bytes uploaded
+     */
+    private Mono<Long> upload(String header, IntFunction<String> row, String contentType) {
+        AtomicLong bytes = new AtomicLong();
+        Flux<DataBuffer> body = Flux.range(0, (ROWS + ROWS_PER_UPLOAD_BUFFER - 1) / ROWS_PER_UPLOAD_BUFFER)
+                .map(chunk -> {
+                    StringBuilder text = new StringBuilder(chunk == 0 ? header : "");
+                    int end = Math.min(ROWS, (chunk + 1) * ROWS_PER_UPLOAD_BUFFER);
+                    for (int i = chunk * ROWS_PER_UPLOAD_BUFFER; i < end; i++) {
+                        text.append(row.apply(i));
+                    }
+                    byte[] encoded = text.toString().getBytes(StandardCharsets.UTF_8);
+                    bytes.addAndGet(encoded.length);
+                    return DefaultDataBufferFactory.sharedInstance.wrap(encoded);
+                });
+        return client.post().uri("/import")
+                .contentType(MediaType.parseMediaType(contentType))
+                .body(body, DataBuffer.class)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .map(summary -> {
+                    assertThat(((Number) summary.get("written")).longValue()).isEqualTo(ROWS);
+                    return bytes.get();
+                });
+    }
+
+    /**
+     * @return the number of bytes downloaded
+     */
+    private Mono<Long> download(String format) {
+        return client.get().uri(uri -> uri.path("/export").queryParam("format", format).build())
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .map(buffer -> {
+                    long size = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return size;
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Generated upload rows with unique names, so every row is an insert.
+     */
+    private static final class Rows {
+
+        static final String HEADER = "name,description,price,quantity\n";
+
+        static String csv(int i) {
+            return "Transfer Product " + i + ",\"Imported, row " + i + "\",19.99," + (i % 100) + "\n";
+        }
+
+        static String ndjson(int i) {
+            return "{\"name\":\"Transfer Product " + i + "\",\"description\":\"Imported row " + i
+                    + "\",\"price\":19.99,\"quantity\":" + (i % 100) + "}\n";
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.mrin.gvm.benchmark;
+
+import com.mrin.gvm.domain.model.Product;
+import com.mrin.gvm.domain.port.in.ProductUseCase;
+import com.mrin.gvm.domain.port.out.ProductPersistencePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Collision-heavy create throughput: the previous exception-driven retry
+ * (insert, catch duplicate key, find by name, save again) against the single
+ * {@code INSERT ... ON CONFLICT} statement used by createProduct.
+ * <p>
+ * Needs a PostgreSQL database and only runs when one is given:
+ * <pre>
+ * mvn test -Dtest=ProductUpsertBenchmark -Dbench.r2dbc.url=r2dbc:postgresql://localhost:5432/productdb
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.r2dbc.url=${bench.r2dbc.url}",
+        "spring.r2dbc.username=${bench.r2dbc.username:postgres}",
+        "spring.r2dbc.password=${bench.r2dbc.password:password}",
+        "app.persistence.cache.enabled=false"
+})
+@EnabledIfSystemProperty(named = "bench.r2dbc.url", matches = ".+")
+class ProductUpsertBenchmark {
+
+    private static final int OPERATIONS = Integer.getInteger("bench.operations", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 64);
+    private static final int DISTINCT_NAMES = 1000;
+
+    @Autowired
+    @Qualifier("productStore")
+    private ProductPersistencePort productStore;
+
+    @Autowired
+    private ProductUseCase productUseCase;
+
+    @BeforeEach
+    void setUp() {
+        productUseCase.deleteAllProducts().block();
+    }
+
+    @Test
+    void compareCollisionHeavyCreates() {
+        BenchmarkReport report = new BenchmarkReport("upsert");
+        report.put("operations", OPERATIONS).put("concurrency", CONCURRENCY).put("distinctNames", DISTINCT_NAMES);
+
+        report.put("exceptionRetryOpsPerSec", run(i -> legacyCreate(randomProduct())));
+        productUseCase.deleteAllProducts().block();
+        report.put("upsertOpsPerSec", run(i -> productUseCase.createProduct(randomProduct())));
+
+        System.out.println("Results written to " + report.write());
+    }
+
+    private double run(IntFunction<Mono<?>> operation) {
+        long start = System.nanoTime();
+        Flux.range(0, OPERATIONS)
+                .flatMap(i -> operation.apply(i).onErrorResume(e -> Mono.empty()), CONCURRENCY)
+                .blockLast();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return Math.round(OPERATIONS / seconds * 10) / 10.0;
+    }
+
+    /**
+     * The create path as it was before the upsert: three round trips and an
+     * exception on every collision.
+     */
+    private Mono<Product> legacyCreate(Product product) {
+        return productStore.save(product)
+                .onErrorResume(error -> {
+                    if (error.getMessage() != null && error.getMessage().contains("duplicate key")) {
+                        return productStore.findByName(product.getName())
+                                .flatMap(existing -> {
+                                    existing.setDescription(product.getDescription());
+                                    existing.setPrice(product.getPrice());
+                                    existing.setQuantity(existing.getQuantity() + product.getQuantity());
+                                    return productStore.save(existing);
+                                });
+                    }
+                    return Mono.error(error);
+                });
+    }
+
+    private static Product randomProduct() {
+        int id = ThreadLocalRandom.current().nextInt(DISTINCT_NAMES);
+        return new Product(null, "Load Test Product " + id, "Created by benchmark", new BigDecimal("99.99"), 100);
+    }
+}
@@ -0,0 +1,70 @@
+package com.mrin.gvm.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the scheduler choice of JdbcPersistenceConfig. The virtual thread
+ * path only runs on a Java 21 JVM, e.g. with {@code -Pjava21}.
+ */
+class JdbcPersistenceConfigTest {
+
+    private HikariDataSource dataSource;
+
+    private Scheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        // Never connects: only its pool size is read
+        dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+        dataSource.close();
+    }
+
+    @Test
+    void jdbcScheduler_WithoutVirtualThreads_ShouldUseBoundedPlatformThreads() {
+        // Act
+        scheduler = new JdbcPersistenceConfig().jdbcScheduler(new MockEnvironment(), dataSource);
+        Thread thread = threadOf(scheduler);
+
+        // Assert
+        assertThat(thread.getName()).startsWith("jdbc-");
+        assertThat(scheduler.toString()).contains("boundedElastic").contains("maxThreads=4");
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void jdbcScheduler_WithVirtualThreadsOnJava21_ShouldUseVirtualThreads() throws Exception {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+
+        // Act
+        scheduler = new JdbcPersistenceConfig().jdbcScheduler(environment, dataSource);
+        Thread thread = threadOf(scheduler);
+
+        // Assert: Thread.isVirtual() is not part of the Java 17 API the main build compiles against
+        assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+    }
+
+    private static Thread threadOf(Scheduler scheduler) {
+        return Mono.fromCallable(Thread::currentThread)
+                .subscribeOn(scheduler)
+                .block(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,68 @@
+package com.mrin.gvm.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ReactiveMetrics.
+ */
+class ReactiveMetricsTest {
+
+    private SimpleMeterRegistry registry;
+
+    private ReactiveMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new ReactiveMetrics(registry, "test.calls", "Test calls");
+    }
+
+    @Test
+    void mono_ShouldTagSuccessAndEmptyResults() {
+        // Act
+        StepVerifier.create(metrics.mono("find", () -> Mono.just("value"))).expectNext("value").verifyComplete();
+        StepVerifier.create(metrics.mono("find", Mono::empty)).verifyComplete();
+        StepVerifier.create(metrics.completion("delete", Mono::empty)).verifyComplete();
+
+        // Assert
+        assertThat(count("find", ReactiveMetrics.SUCCESS)).isEqualTo(1);
+        assertThat(count("find", ReactiveMetrics.EMPTY)).isEqualTo(1);
+        assertThat(count("delete", ReactiveMetrics.SUCCESS)).isEqualTo(1);
+    }
+
+    @Test
+    void mono_ShouldTagErrorsThrownDuringAssemblyByType() {
+        // Act
+        StepVerifier.create(metrics.mono("create", () -> {
+                    throw new IllegalArgumentException("invalid");
+                }))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        // Assert
+        assertThat(count("create", "IllegalArgumentException")).isEqualTo(1);
+    }
+
+    @Test
+    void flux_ShouldRecordRowCounts() {
+        // Act
+        StepVerifier.create(metrics.flux("findPage", () -> Flux.range(1, 5))).expectNextCount(5).verifyComplete();
+        StepVerifier.create(metrics.flux("findPage", Flux::empty)).verifyComplete();
+
+        // Assert
+        assertThat(count("findPage", ReactiveMetrics.SUCCESS)).isEqualTo(1);
+        assertThat(count("findPage", ReactiveMetrics.EMPTY)).isEqualTo(1);
+        assertThat(registry.get("test.calls.rows").tag("method", "findPage").summary().totalAmount()).isEqualTo(5.0);
+    }
+
+    private long count(String method, String result) {
+        return registry.get("test.calls").tag("method", method).tag("result", result).timer().count();
+    }
+}
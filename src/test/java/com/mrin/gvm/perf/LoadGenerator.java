@@ -0,0 +1,337 @@
+package com.mrin.gvm.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * WebClient replay of the k6 scenario in {@code load-tests/script.js}: every
+ * virtual user loops create, get by id and list, with the same 100-600 ms
+ * think time, until the duration is up. As in k6, each create names its
+ * product "Load Test Product n", with n drawn uniformly from 0 to 999 by an
+ * unseeded random, so the catalog grows to at most 1000 products and later
+ * creates mostly merge into existing ones. With {@code harness.search} every
+ * iteration also searches the catalog by name, which adds the remaining read
+ * path to the mix, e.g. for profile-guided optimization of the native image.
+ * <p>
+ * Latencies go into HdrHistograms per operation, and the result is written as
+ * JSON to {@code report/harness_report_<type>.json}, which
+ * {@code scripts/reporting/generate_report.sh} picks up. Given the process ID
+ * of the application ({@code harness.pid}, Linux only), the peak resident set
+ * size during the run is reported as well, and {@code harness.adapter} labels
+ * the persistence adapter it runs with, so runs of the R2DBC and JDBC adapters
+ * can be compared side by side.
+ * <p>
+ * Runs standalone against an already running application (JVM jar or native
+ * binary):
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.mrin.gvm.perf.LoadGenerator \
+ *     -Dharness.url=http://localhost:8080/api/products -Dharness.type=aot-jdbc \
+ *     -Dharness.adapter=jdbc -Dharness.pid=$(pgrep -f springboot-graalvm-lambda)
+ * </pre>
+ * {@link LocalLoadHarness} boots the application in-process against an
+ * embedded PostgreSQL and drives it with this class.
+ */
+public class LoadGenerator {
+
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final String[] OPERATIONS = {"create", "getById", "list", "search"};
+    private static final Duration RSS_SAMPLE_INTERVAL = Duration.ofMillis(500);
+
+    private final String url;
+    private final int virtualUsers;
+    private final Duration duration;
+    private final boolean thinkTime;
+    private final ConnectionProvider connections;
+    private final WebClient webClient;
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final Histogram all = new ConcurrentHistogram(MAX_TRACKED_NANOS, 3);
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong peakRssKb = new AtomicLong(-1);
+    private String adapter = "unknown";
+    private String rssPid;
+    private boolean search;
+
+    public LoadGenerator(String url, int virtualUsers, Duration duration, boolean thinkTime) {
+        this.url = url;
+        this.virtualUsers = virtualUsers;
+        this.duration = duration;
+        this.thinkTime = thinkTime;
+        this.connections = ConnectionProvider.builder("load-generator")
+                .maxConnections(virtualUsers)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .build();
+        for (String operation : OPERATIONS) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_TRACKED_NANOS, 3));
+        }
+    }
+
+    /**
+     * Configure from {@code harness.*} system properties and run.
+     */
+    public static void main(String[] args) {
+        LoadGenerator generator = fromSystemProperties(
+                System.getProperty("harness.url", "http://localhost:8080/api/products"));
+        Path report = generator.run().write(System.getProperty("harness.type", "local"));
+        System.out.println("Report written to " + report);
+        System.exit(0);
+    }
+
+    /**
+     * Build a generator for the given target using {@code harness.vus} (100),
+     * {@code harness.duration} (ISO-8601, PT60S), {@code harness.thinkTime}
+     * (true), {@code harness.search} (false), {@code harness.adapter} and
+     * {@code harness.pid} system properties.
+     *
+     * @param url products endpoint of the application under test
+     * @return the configured generator
+     */
+    public static LoadGenerator fromSystemProperties(String url) {
+        LoadGenerator generator = new LoadGenerator(url,
+                Integer.getInteger("harness.vus", 100),
+                Duration.parse(System.getProperty("harness.duration", "PT60S")),
+                Boolean.parseBoolean(System.getProperty("harness.thinkTime", "true")));
+        generator.adapter = System.getProperty("harness.adapter", generator.adapter);
+        generator.rssPid = System.getProperty("harness.pid");
+        generator.search = Boolean.getBoolean("harness.search");
+        return generator;
+    }
+
+    /**
+     * Add a search by name to every iteration of the scenario.
+     *
+     * @param search whether to search
+     * @return this generator
+     */
+    public LoadGenerator search(boolean search) {
+        this.search = search;
+        return this;
+    }
+
+    /**
+     * Label the persistence adapter of the application under test in the report.
+     *
+     * @param adapter e.g. "r2dbc" or "jdbc"
+     * @return this generator
+     */
+    public LoadGenerator adapter(String adapter) {
+        this.adapter = adapter;
+        return this;
+    }
+
+    /**
+     * Sample the resident set size of a process during the run.
+     *
+     * @param pid process ID of the application, or "self" when it runs in this JVM
+     * @return this generator
+     */
+    public LoadGenerator sampleRssOf(String pid) {
+        this.rssPid = pid;
+        return this;
+    }
+
+    /**
+     * Run the scenario for the configured duration.
+     *
+     * @return collected results
+     */
+    public Result run() {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        Disposable rssSampler = rssPid == null ? Disposables.disposed()
+                : Flux.interval(Duration.ZERO, RSS_SAMPLE_INTERVAL)
+                        .subscribe(tick -> peakRssKb.accumulateAndGet(readRssKb(), Math::max));
+        try {
+            Flux.range(0, virtualUsers)
+                    .flatMap(vu -> Mono.defer(this::iteration).repeat(() -> System.nanoTime() < deadline).then(),
+                            virtualUsers)
+                    .blockLast();
+        } finally {
+            rssSampler.dispose();
+        }
+        connections.dispose();
+        return new Result(System.nanoTime() - start);
+    }
+
+    private Mono<Void> iteration() {
+        int randomId = ThreadLocalRandom.current().nextInt(1000);
+        Map<String, Object> payload = Map.of(
+                "name", "Load Test Product " + randomId,
+                "description", "Created by K6",
+                "price", 99.99,
+                "quantity", 100);
+
+        Mono<Long> create = timed("create", webClient.post().uri(url)
+                .bodyValue(payload)
+                .exchangeToMono(response -> response.statusCode() == HttpStatus.CREATED
+                        ? response.bodyToMono(JsonNode.class).map(body -> body.path("id").asLong())
+                        : response.releaseBody().then(Mono.error(new IllegalStateException(
+                                "create returned " + response.statusCode())))));
+
+        return create
+                .flatMap(id -> timed("getById", get(url + "/" + id)))
+                .onErrorResume(e -> Mono.empty())
+                .then(timed("list", get(url)).onErrorResume(e -> Mono.empty()))
+                .then(search
+                        // The bare number can be shorter than a substring search accepts
+                        ? timed("search", get(url + "/search?mode=contains&limit=20&name=Product%20" + randomId))
+                                .onErrorResume(e -> Mono.empty()).then()
+                        : Mono.empty())
+                .then(thinkTime
+                        ? Mono.delay(Duration.ofMillis(100 + ThreadLocalRandom.current().nextInt(500))).then()
+                        : Mono.empty());
+    }
+
+    /**
+     * @return the VmRSS of the sampled process in kB, or -1 if it cannot be read
+     */
+    private long readRssKb() {
+        try (Stream<String> lines = Files.lines(Path.of("/proc", rssPid, "status"))) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(-1L);
+        } catch (IOException | UncheckedIOException e) {
+            return -1;
+        }
+    }
+
+    private Mono<Boolean> get(String uri) {
+        // Taken as is, so already encoded queries are not encoded again
+        return webClient.get().uri(URI.create(uri))
+                .exchangeToMono(response -> response.statusCode().is2xxSuccessful()
+                        ? response.releaseBody().thenReturn(true)
+                        : response.releaseBody().then(Mono.error(new IllegalStateException(
+                                uri + " returned " + response.statusCode()))));
+    }
+
+    private <T> Mono<T> timed(String operation, Mono<T> request) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return request
+                    .doOnSuccess(value -> record(operation, System.nanoTime() - started, false))
+                    .doOnError(e -> record(operation, System.nanoTime() - started, true));
+        });
+    }
+
+    private void record(String operation, long nanos, boolean failed) {
+        long value = Math.min(nanos, MAX_TRACKED_NANOS);
+        histograms.get(operation).recordValue(value);
+        all.recordValue(value);
+        if (failed) {
+            failures.incrementAndGet();
+        }
+    }
+
+    /**
+     * Results of one run.
+     */
+    public class Result {
+
+        private final long elapsedNanos;
+
+        private Result(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long requests() {
+            return all.getTotalCount();
+        }
+
+        public long failures() {
+            return failures.get();
+        }
+
+        public double throughputPerSecond() {
+            return requests() / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * Report shape consumed by generate_report.sh.
+         *
+         * @param type label of the run, e.g. "jit", "aot" or "local"
+         * @return report as an ordered map
+         */
+        public Map<String, Object> toMap(String type) {
+            Map<String, Object> latencies = new LinkedHashMap<>();
+            latencies.put("all", summary(all));
+            histograms.forEach((operation, histogram) -> {
+                if (histogram.getTotalCount() > 0) {
+                    latencies.put(operation, summary(histogram));
+                }
+            });
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("type", type);
+            report.put("adapter", adapter);
+            report.put("target", url);
+            report.put("virtualUsers", virtualUsers);
+            report.put("durationSeconds", elapsedNanos / 1e9);
+            report.put("requests", requests());
+            report.put("failures", failures());
+            report.put("throughputPerSec", throughputPerSecond());
+            report.put("peakRssMb", peakRssKb.get() < 0 ? null : peakRssKb.get() / 1024.0);
+            report.put("latencyMs", latencies);
+            return report;
+        }
+
+        /**
+         * Write the report to {@code <harness.reportDir>/harness_report_<type>.json}.
+         *
+         * @param type label of the run
+         * @return path of the written file
+         */
+        public Path write(String type) {
+            Map<String, Object> report = toMap(type);
+            System.out.println(report);
+            try {
+                Path dir = Path.of(System.getProperty("harness.reportDir", "report"));
+                Files.createDirectories(dir);
+                Path file = dir.resolve("harness_report_" + type + ".json");
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+                return file;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Map<String, Object> summary(Histogram histogram) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", histogram.getTotalCount());
+            summary.put("mean", histogram.getMean() / 1e6);
+            summary.put("p50", histogram.getValueAtPercentile(50) / 1e6);
+            summary.put("p95", histogram.getValueAtPercentile(95) / 1e6);
+            summary.put("p99", histogram.getValueAtPercentile(99) / 1e6);
+            summary.put("max", histogram.getMaxValue() / 1e6);
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.mrin.gvm.perf;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application on a random port against an embedded PostgreSQL
+ * (same SQL dialect, ON CONFLICT, RETURNING and pg_trgm as production) and
+ * replays the k6 mix with {@link LoadGenerator}, so latency and throughput can
+ * be measured without the Kubernetes setup.
+ * <pre>
+ * mvn test -Dtest=LocalLoadHarness -Dharness.vus=100 -Dharness.duration=PT60S
+ * </pre>
+ * Add {@code -Dspring.profiles.active=jdbc} to measure the JDBC adapter
+ * instead of R2DBC (on Java 21+ for virtual threads). The report is labelled
+ * {@code local-<adapter>} unless {@code harness.type} is given, so one run of
+ * each leaves two reports to compare, including the peak RSS of this JVM
+ * (application and load generator together).
+ * PostgreSQL refuses to run as root; in that case, or to use a real server,
+ * point the harness at an existing database with
+ * {@code -Dharness.r2dbc.url=r2dbc:postgresql://localhost:5432/productdb}
+ * (plus {@code harness.r2dbc.username} and {@code harness.r2dbc.password});
+ * the JDBC adapter connects to the same database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LocalLoadHarness {
+
+    private static EmbeddedPostgres postgres;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("harness.r2dbc.url");
+        if (url != null) {
+            String username = System.getProperty("harness.r2dbc.username", "postgres");
+            String password = System.getProperty("harness.r2dbc.password", "password");
+            registry.add("spring.r2dbc.url", () -> url);
+            registry.add("spring.r2dbc.username", () -> username);
+            registry.add("spring.r2dbc.password", () -> password);
+            registry.add("spring.datasource.url", () -> url.replaceFirst("^r2dbc:", "jdbc:"));
+            registry.add("spring.datasource.username", () -> username);
+            registry.add("spring.datasource.password", () -> password);
+            return;
+        }
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "postgres");
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void replayK6Mix() {
+        // Virtual threads are only used on Java 21+ (-Pjava21), so the label says which path ran
+        String adapter = !environment.matchesProfiles("jdbc") ? "r2dbc"
+                : Threading.VIRTUAL.isActive(environment) ? "jdbc-virtual" : "jdbc";
+        LoadGenerator generator = LoadGenerator.fromSystemProperties("http://localhost:" + port + "/api/products")
+                .adapter(adapter)
+                .sampleRssOf("self");
+
+        LoadGenerator.Result result = generator.run();
+        Path report = result.write(System.getProperty("harness.type", "local-" + adapter));
+
+        System.out.println("Report written to " + report);
+        assertThat(result.requests()).isPositive();
+    }
+}